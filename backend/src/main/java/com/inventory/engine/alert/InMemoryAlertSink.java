@@ -0,0 +1,54 @@
+package com.inventory.engine.alert;
+
+import com.inventory.engine.dto.LowStockAlert;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keeps the most recent alerts in process, newest first. Backs
+ * {@code GET /api/inventory/alerts} and stands in for an external
+ * notification system in tests and local runs.
+ */
+@Component
+public class InMemoryAlertSink implements LowStockAlertSink {
+
+    private final int capacity;
+    private final ArrayDeque<LowStockAlert> recent;
+
+    public InMemoryAlertSink(@Value("${inventory.alerts.recent-size:100}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("inventory.alerts.recent-size must be >= 1");
+        }
+        this.capacity = capacity;
+        this.recent = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void deliver(LowStockAlert alert) {
+        if (recent.size() == capacity) {
+            recent.removeLast();
+        }
+        recent.addFirst(alert);
+    }
+
+    public synchronized List<LowStockAlert> recent(int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("limit must be between 1 and " + capacity);
+        }
+        List<LowStockAlert> alerts = new ArrayList<>(Math.min(limit, recent.size()));
+        Iterator<LowStockAlert> it = recent.iterator();
+        while (it.hasNext() && alerts.size() < limit) {
+            alerts.add(it.next());
+        }
+        return alerts;
+    }
+
+    public synchronized void clear() {
+        recent.clear();
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventory.engine.alert;
+
+import com.inventory.engine.dto.LowStockAlert;
+import com.inventory.engine.dto.LowStockTransition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/** Writes each alert to the application log. */
+@Component
+public class LoggingAlertSink implements LowStockAlertSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingAlertSink.class);
+
+    @Override
+    public void deliver(LowStockAlert alert) {
+        if (alert.getTransition() == LowStockTransition.LOW) {
+            log.warn("Low stock: {} in {} at {} (threshold {})",
+                    alert.getSku(), alert.getWarehouseId(), alert.getQuantity(), alert.getThreshold());
+        } else {
+            log.info("Stock recovered: {} in {} at {} (clear level {})",
+                    alert.getSku(), alert.getWarehouseId(), alert.getQuantity(), alert.getClearLevel());
+        }
+    }
+}
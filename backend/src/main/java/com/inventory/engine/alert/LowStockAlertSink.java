@@ -0,0 +1,13 @@
+package com.inventory.engine.alert;
+
+import com.inventory.engine.dto.LowStockAlert;
+
+/**
+ * Destination for low-stock alerts. Every bean implementing this interface
+ * receives every alert, in crossing order, on the alerter's delivery thread;
+ * a sink may block (e.g. to call a webhook) without slowing down writes.
+ */
+public interface LowStockAlertSink {
+
+    void deliver(LowStockAlert alert);
+}
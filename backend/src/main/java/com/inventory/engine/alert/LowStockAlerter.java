@@ -0,0 +1,259 @@
+package com.inventory.engine.alert;
+
+import com.inventory.engine.dto.AlertStats;
+import com.inventory.engine.dto.LowStockAlert;
+import com.inventory.engine.dto.LowStockTransition;
+import com.inventory.engine.dto.LowStockWatch;
+import com.inventory.engine.event.CatalogImportedEvent;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.SkuNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Raises an alert when a SKU's quantity falls below its low-stock threshold,
+ * and a recovery once it is back at the clear level: the threshold plus a
+ * hysteresis band, so a SKU hovering at the line does not flap.
+ *
+ * <p>Thresholds live in {@code inventory_items.low_stock_threshold}; the
+ * watched SKUs are held in memory, so checking a committed write is one map
+ * lookup and one {@link SkuWatch#observe} on the quantity the write already
+ * computed, with no query. Unwatched SKUs cost only the lookup. The table is
+ * re-read at startup, after a catalog import and periodically, to pick up
+ * thresholds set on other nodes.
+ *
+ * <p>Alerts are handed to every {@link LowStockAlertSink} on a single delivery
+ * thread, in crossing order. When the delivery queue is full, alerts are
+ * dropped and counted rather than blocking the writer.
+ */
+@Component
+public class LowStockAlerter {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlerter.class);
+
+    private static final String SET_THRESHOLD = """
+            UPDATE inventory_items SET low_stock_threshold = ?
+             WHERE sku = ?
+            RETURNING warehouse_id, quantity, version
+            """;
+
+    private static final String WATCHED = """
+            SELECT sku, warehouse_id, quantity, version, low_stock_threshold
+              FROM inventory_items
+             WHERE low_stock_threshold IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<LowStockAlertSink> sinks;
+    private final boolean enabled;
+    private final int hysteresisPercent;
+    private final int hysteresisMinUnits;
+    private final ThreadPoolExecutor delivery;
+    private final ConcurrentHashMap<String, SkuWatch> watches = new ConcurrentHashMap<>();
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder raised = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public LowStockAlerter(JdbcTemplate jdbcTemplate,
+                           List<LowStockAlertSink> sinks,
+                           @Value("${inventory.alerts.enabled:true}") boolean enabled,
+                           @Value("${inventory.alerts.hysteresis-percent:10}") int hysteresisPercent,
+                           @Value("${inventory.alerts.hysteresis-min-units:1}") int hysteresisMinUnits,
+                           @Value("${inventory.alerts.queue-capacity:1024}") int queueCapacity) {
+        if (hysteresisPercent < 0 || hysteresisMinUnits < 1) {
+            throw new IllegalArgumentException(
+                    "inventory.alerts.hysteresis-percent must be >= 0 and hysteresis-min-units >= 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.sinks = List.copyOf(sinks);
+        this.enabled = enabled;
+        this.hysteresisPercent = hysteresisPercent;
+        this.hysteresisMinUnits = hysteresisMinUnits;
+        this.delivery = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "low-stock-alerts");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, executor) -> dropped.increment());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        delivery.shutdown();
+        delivery.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        SkuWatch watch = watches.get(event.getSku());
+        if (watch == null) {
+            return;
+        }
+        checks.increment();
+        LowStockTransition transition = watch.observe(event.getVersion(), event.getQuantity());
+        if (transition != null) {
+            raise(watch, transition, event.getQuantity(), event.getVersion(), event.getTimestamp());
+        }
+    }
+
+    /** Imports change quantities without per-SKU events, so every watch is re-read. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /** Loads the watches at startup, then picks up thresholds set or cleared on other nodes. */
+    @Scheduled(fixedDelayString = "${inventory.alerts.reload-interval-ms:60000}")
+    public void scheduledReload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Low-stock threshold reload failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /** Sets {@code sku}'s threshold. A SKU already below a new threshold alerts right away. */
+    public LowStockWatch setThreshold(String sku, int threshold) {
+        checkEnabled();
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must be >= 0");
+        }
+        List<SkuWatch> updated = jdbcTemplate.query(SET_THRESHOLD, (rs, rowNum) -> new SkuWatch(sku,
+                        rs.getString("warehouse_id"), threshold, clearLevel(threshold),
+                        rs.getLong("version"), rs.getInt("quantity")),
+                threshold, sku);
+        if (updated.isEmpty()) {
+            throw new SkuNotFoundException(sku);
+        }
+        SkuWatch watch = updated.get(0);
+        watches.put(sku, watch);
+        if (watch.isLow()) {
+            raise(watch, LowStockTransition.LOW, watch.quantity(), watch.version(), Instant.now());
+        }
+        return toDto(watch);
+    }
+
+    public void clearThreshold(String sku) {
+        checkEnabled();
+        if (jdbcTemplate.query(SET_THRESHOLD, (rs, rowNum) -> sku, null, sku).isEmpty()) {
+            throw new SkuNotFoundException(sku);
+        }
+        watches.remove(sku);
+    }
+
+    /** Watched SKUs, those currently low first. */
+    public List<LowStockWatch> getWatches(boolean lowOnly) {
+        checkEnabled();
+        List<LowStockWatch> result = new ArrayList<>();
+        for (SkuWatch watch : watches.values()) {
+            if (!lowOnly || watch.isLow()) {
+                result.add(toDto(watch));
+            }
+        }
+        result.sort(Comparator.comparing((LowStockWatch w) -> !w.isLow()).thenComparing(LowStockWatch::getSku));
+        return result;
+    }
+
+    public AlertStats getStats() {
+        int low = 0;
+        for (SkuWatch watch : watches.values()) {
+            if (watch.isLow()) {
+                low++;
+            }
+        }
+        return new AlertStats(watches.size(), low, checks.sum(), raised.sum(), recovered.sum(),
+                delivered.sum(), dropped.sum());
+    }
+
+    /**
+     * Re-reads every threshold. Watches whose threshold is unchanged keep their
+     * state and see the stored quantity as one more write, so a crossing made
+     * by an import still alerts; new watches start in their current state.
+     */
+    private void reload() {
+        Set<String> seen = new HashSet<>();
+        jdbcTemplate.query(WATCHED, rs -> {
+            String sku = rs.getString("sku");
+            int threshold = rs.getInt("low_stock_threshold");
+            int quantity = rs.getInt("quantity");
+            long version = rs.getLong("version");
+            seen.add(sku);
+            SkuWatch watch = watches.get(sku);
+            if (watch != null && watch.threshold == threshold) {
+                LowStockTransition transition = watch.observe(version, quantity);
+                if (transition != null) {
+                    raise(watch, transition, quantity, version, Instant.now());
+                }
+            } else {
+                watches.put(sku, new SkuWatch(sku, rs.getString("warehouse_id"), threshold,
+                        clearLevel(threshold), version, quantity));
+            }
+        });
+        watches.keySet().retainAll(seen);
+    }
+
+    private void raise(SkuWatch watch, LowStockTransition transition, int quantity, long version, Instant at) {
+        (transition == LowStockTransition.LOW ? raised : recovered).increment();
+        LowStockAlert alert = new LowStockAlert(watch.sku, watch.warehouseId, transition, quantity,
+                watch.threshold, watch.clearLevel, version, at);
+        delivery.execute(() -> {
+            boolean accepted = true;
+            for (LowStockAlertSink sink : sinks) {
+                try {
+                    sink.deliver(alert);
+                } catch (RuntimeException e) {
+                    accepted = false;
+                    log.warn("Low-stock alert sink {} failed for {}: {}",
+                            sink.getClass().getSimpleName(), alert.getSku(), e.getMessage());
+                }
+            }
+            if (accepted) {
+                delivered.increment();
+            }
+        });
+    }
+
+    private int clearLevel(int threshold) {
+        int band = (int) Math.ceil(threshold * hysteresisPercent / 100.0);
+        return threshold + Math.max(hysteresisMinUnits, band);
+    }
+
+    private static LowStockWatch toDto(SkuWatch watch) {
+        return new LowStockWatch(watch.sku, watch.warehouseId, watch.threshold, watch.clearLevel,
+                watch.quantity(), watch.isLow());
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new IllegalArgumentException("Low-stock alerts are disabled (inventory.alerts.enabled=false)");
+        }
+    }
+}
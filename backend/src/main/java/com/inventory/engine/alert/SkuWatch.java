@@ -0,0 +1,65 @@
+package com.inventory.engine.alert;
+
+import com.inventory.engine.dto.LowStockTransition;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alert state of one watched SKU. The row version of the latest write seen
+ * and the low flag share one {@code long}, so a check is a read, two
+ * comparisons and at most one CAS. A write older than one already seen (after
+ * commit, listeners can run out of commit order) cannot undo a newer state.
+ */
+final class SkuWatch {
+
+    final String sku;
+    final String warehouseId;
+    final int threshold;
+    final int clearLevel;
+
+    /** {@code version << 1 | low}. */
+    private final AtomicLong state;
+    private volatile int quantity;
+
+    SkuWatch(String sku, String warehouseId, int threshold, int clearLevel, long version, int quantity) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.threshold = threshold;
+        this.clearLevel = clearLevel;
+        this.state = new AtomicLong(version << 1 | (quantity < threshold ? 1 : 0));
+        this.quantity = quantity;
+    }
+
+    /** The crossing caused by a write of {@code quantity} at {@code version}, if any. */
+    LowStockTransition observe(long version, int quantity) {
+        while (true) {
+            long current = state.get();
+            if (version < current >>> 1) {
+                return null;
+            }
+            boolean wasLow = (current & 1) != 0;
+            // Below the threshold to go low, back at the clear level to recover.
+            boolean low = wasLow ? quantity < clearLevel : quantity < threshold;
+            long next = version << 1 | (low ? 1 : 0);
+            if (next == current || state.compareAndSet(current, next)) {
+                this.quantity = quantity;
+                if (low == wasLow) {
+                    return null;
+                }
+                return low ? LowStockTransition.LOW : LowStockTransition.RECOVERED;
+            }
+        }
+    }
+
+    long version() {
+        return state.get() >>> 1;
+    }
+
+    boolean isLow() {
+        return (state.get() & 1) != 0;
+    }
+
+    int quantity() {
+        return quantity;
+    }
+}
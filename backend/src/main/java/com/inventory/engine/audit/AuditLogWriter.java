@@ -0,0 +1,104 @@
+package com.inventory.engine.audit;
+
+import com.inventory.engine.dto.AuditStats;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.AuditLogsRecordedEvent;
+import com.inventory.engine.repository.InventoryLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Single entry point for audit log writes from every stock write path. Must be
+ * called inside the transaction that changes the stock, so that the audit
+ * record commits or rolls back together with the change it describes.
+ * Hourly movement rollups are maintained wherever log rows are written: here
+ * in SYNC mode, and by the drain statement in OUTBOX mode. Either way an
+ * {@link AuditLogsRecordedEvent} announces the rows to in-process listeners.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final String OUTBOX_INSERT = """
+            INSERT INTO inventory_log_outbox (warehouse_id, sku, action, quantity_change,
+                                              resulting_quantity, created_at, details)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final AuditMode mode;
+    private final InventoryLogRepository logRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditOutboxDrainer drainer;
+    private final MovementRollupWriter rollupWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AuditLogWriter(@Value("${inventory.audit.mode:SYNC}") AuditMode mode,
+                          InventoryLogRepository logRepository,
+                          JdbcTemplate jdbcTemplate,
+                          AuditOutboxDrainer drainer,
+                          MovementRollupWriter rollupWriter,
+                          ApplicationEventPublisher eventPublisher) {
+        this.mode = mode;
+        this.logRepository = logRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.drainer = drainer;
+        this.rollupWriter = rollupWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void record(InventoryLog entry) {
+        record(List.of(entry));
+    }
+
+    public void record(List<InventoryLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (mode == AuditMode.SYNC) {
+            logRepository.saveAll(entries);
+            rollupWriter.record(entries);
+            eventPublisher.publishEvent(new AuditLogsRecordedEvent(entries));
+            return;
+        }
+
+        drainer.awaitCapacity();
+        jdbcTemplate.batchUpdate(OUTBOX_INSERT, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getWarehouseId());
+            ps.setString(2, entry.getSku());
+            ps.setString(3, entry.getAction());
+            ps.setInt(4, entry.getQuantityChange());
+            ps.setObject(5, entry.getResultingQuantity());
+            ps.setTimestamp(6, Timestamp.from(entry.getTimestamp()));
+            ps.setString(7, entry.getDetails());
+        });
+        int records = entries.size();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                drainer.committed(records);
+            }
+        });
+        eventPublisher.publishEvent(new AuditLogsRecordedEvent(entries));
+    }
+
+    /** Waits until every committed audit record is in inventory_logs; a no-op in SYNC mode. */
+    public void flush() {
+        if (mode == AuditMode.OUTBOX) {
+            drainer.flush();
+        }
+    }
+
+    public AuditMode getMode() { return mode; }
+
+    public AuditStats getStats() {
+        return new AuditStats(mode, drainer.getBacklog(), drainer.getMaxBacklog(),
+                drainer.getDrainedTotal(), drainer.getBackpressureRejections(),
+                drainer.getOldestPendingAgeMs(), drainer.getLastDrainAt());
+    }
+}
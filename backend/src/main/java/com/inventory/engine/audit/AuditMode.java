@@ -0,0 +1,16 @@
+package com.inventory.engine.audit;
+
+/**
+ * How {@link AuditLogWriter} persists {@code InventoryLog} rows.
+ */
+public enum AuditMode {
+
+    /** Insert the log row through JPA inside the stock transaction. */
+    SYNC,
+
+    /**
+     * Insert a narrow outbox row inside the stock transaction and let
+     * {@link AuditOutboxDrainer} move it into {@code inventory_logs} in bulk.
+     */
+    OUTBOX
+}
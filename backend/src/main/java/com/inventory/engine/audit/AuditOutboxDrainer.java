@@ -0,0 +1,250 @@
+package com.inventory.engine.audit;
+
+import com.inventory.engine.exception.AuditBackpressureException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background mover from {@code inventory_log_outbox} to {@code inventory_logs}.
+ *
+ * <p>Each drain is a single statement that deletes up to one batch of outbox
+ * rows and inserts them into the log table in the same transaction, so a record
+ * is never lost or duplicated, and no row data makes a round trip through the
+ * application. The same statement folds the batch into the hourly movement
+ * rollups. {@code SKIP LOCKED} lets several nodes drain the same outbox.
+ *
+ * <p>The drainer is woken by commits on this node and otherwise polls, which
+ * also picks up records left behind by a crash. Producers are held back once the
+ * local backlog reaches its bound; on shutdown the outbox is flushed.
+ */
+@Component
+public class AuditOutboxDrainer {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditOutboxDrainer.class);
+
+    private static final String DRAIN_SQL = """
+            WITH drained AS (
+                DELETE FROM inventory_log_outbox
+                 WHERE id IN (SELECT id FROM inventory_log_outbox
+                               ORDER BY id
+                               LIMIT ?
+                               FOR UPDATE SKIP LOCKED)
+                RETURNING id, warehouse_id, sku, action, quantity_change,
+                          resulting_quantity, created_at, details
+            ), rolled_up AS (
+                INSERT INTO stock_movement_rollups AS r (warehouse_id, sku, bucket_start, movement_count,
+                                                         units_in, units_out, net_change,
+                                                         min_resulting_quantity, max_resulting_quantity)
+                SELECT warehouse_id, sku, date_trunc('hour', created_at, 'UTC'), count(*),
+                       sum(GREATEST(quantity_change, 0)), sum(GREATEST(-quantity_change, 0)),
+                       sum(quantity_change), min(resulting_quantity), max(resulting_quantity)
+                  FROM drained
+                 GROUP BY 1, 3, 2
+                 ORDER BY 1, 3, 2
+            """ + MovementRollupWriter.MERGE_ON_CONFLICT + """
+            )
+            INSERT INTO inventory_logs (id, warehouse_id, sku, action, quantity_change,
+                                        resulting_quantity, timestamp, details)
+            SELECT nextval('inventory_logs_id_seq'), warehouse_id, sku, action, quantity_change,
+                   resulting_quantity, created_at, details
+              FROM drained
+             ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long maxBacklog;
+    private final long pollIntervalMs;
+    private final long backpressureTimeoutMs;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong drainedTotal = new AtomicLong();
+    private final AtomicLong backpressureRejections = new AtomicLong();
+    private volatile Instant lastDrainAt;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition capacityAvailable = lock.newCondition();
+    private boolean workSignalled;
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditOutboxDrainer(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.audit.batch-size:1000}") int batchSize,
+                              @Value("${inventory.audit.max-backlog:50000}") long maxBacklog,
+                              @Value("${inventory.audit.poll-interval-ms:500}") long pollIntervalMs,
+                              @Value("${inventory.audit.backpressure-timeout-ms:1000}") long backpressureTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBacklog = maxBacklog;
+        this.pollIntervalMs = pollIntervalMs;
+        this.backpressureTimeoutMs = backpressureTimeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "audit-outbox-drainer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        signalWork();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("Flushed {} audit records on shutdown", flushed);
+        }
+    }
+
+    /**
+     * Blocks while this node's backlog is at its bound, up to the configured
+     * timeout. The record itself is durable once its transaction commits; this
+     * only keeps producers from outrunning the drainer indefinitely.
+     */
+    void awaitCapacity() {
+        if (backlog.get() < maxBacklog) {
+            return;
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(backpressureTimeoutMs);
+        lock.lock();
+        try {
+            while (backlog.get() >= maxBacklog) {
+                if (remainingNanos <= 0) {
+                    backpressureRejections.incrementAndGet();
+                    throw new AuditBackpressureException(backlog.get());
+                }
+                remainingNanos = capacityAvailable.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuditBackpressureException(backlog.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Called after a transaction that wrote {@code records} outbox rows commits. */
+    void committed(int records) {
+        backlog.addAndGet(records);
+        signalWork();
+    }
+
+    /** Drains the outbox until it is empty; returns the number of records moved. */
+    public int flush() {
+        int total = 0;
+        int drained;
+        while ((drained = drainOnce()) > 0) {
+            total += drained;
+        }
+        return total;
+    }
+
+    public long getBacklog() { return backlog.get(); }
+
+    public long getMaxBacklog() { return maxBacklog; }
+
+    public long getDrainedTotal() { return drainedTotal.get(); }
+
+    public long getBackpressureRejections() { return backpressureRejections.get(); }
+
+    public Instant getLastDrainAt() { return lastDrainAt; }
+
+    public Long getOldestPendingAgeMs() {
+        List<Timestamp> oldest = jdbcTemplate.queryForList(
+                "SELECT created_at FROM inventory_log_outbox ORDER BY id LIMIT 1", Timestamp.class);
+        if (oldest.isEmpty()) {
+            return null;
+        }
+        return Math.max(0, System.currentTimeMillis() - oldest.get(0).getTime());
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drainOnce() == 0) {
+                    // Nothing left to claim: anything still counted was drained by another node.
+                    resetBacklog();
+                    awaitWork();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Audit outbox drain failed, retrying: {}", e.getMessage());
+                awaitWork();
+            }
+        }
+    }
+
+    private int drainOnce() {
+        Integer drained = transactionTemplate.execute(status -> jdbcTemplate.update(DRAIN_SQL, batchSize));
+        int moved = drained != null ? drained : 0;
+        if (moved > 0) {
+            drainedTotal.addAndGet(moved);
+            lastDrainAt = Instant.now();
+            // Records from other nodes or a previous run were never counted here.
+            backlog.updateAndGet(current -> Math.max(0, current - moved));
+            signalCapacity();
+        }
+        return moved;
+    }
+
+    private void resetBacklog() {
+        if (backlog.getAndSet(0) > 0) {
+            signalCapacity();
+        }
+    }
+
+    private void awaitWork() {
+        lock.lock();
+        try {
+            if (running && !workSignalled) {
+                workAvailable.await(pollIntervalMs, TimeUnit.MILLISECONDS);
+            }
+            workSignalled = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalWork() {
+        lock.lock();
+        try {
+            workSignalled = true;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalCapacity() {
+        lock.lock();
+        try {
+            capacityAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
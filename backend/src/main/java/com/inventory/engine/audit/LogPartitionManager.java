@@ -0,0 +1,213 @@
+package com.inventory.engine.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the time partitions of {@code inventory_logs} when the table is
+ * range-partitioned on {@code timestamp} (see {@code db/init.sql}).
+ *
+ * <p>Partitions for the current and the next {@code premake} periods are created
+ * ahead of time, so rows land in a small per-period table instead of the default
+ * partition. Partitions that ended more than {@code retention-periods} ago are
+ * detached (left in place as plain tables for archiving) or dropped. On a table
+ * that is not partitioned, e.g. a database created before partitioning was
+ * introduced, the manager does nothing.
+ *
+ * <p>Every change runs in its own transaction under an advisory lock, so several
+ * nodes can run the manager against the same database.
+ */
+@Component
+public class LogPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LogPartitionManager.class);
+
+    private static final String PARENT = "inventory_logs";
+    private static final String DEFAULT_PARTITION = "inventory_logs_default";
+    private static final String PREFIX = PARENT + "_p";
+    private static final DateTimeFormatter DAY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final PartitionInterval interval;
+    private final int premake;
+    private final int retentionPeriods;
+    private final boolean dropExpired;
+    private boolean reportedUnpartitioned;
+
+    public LogPartitionManager(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${inventory.logs.partitions.enabled:true}") boolean enabled,
+                               @Value("${inventory.logs.partitions.interval:DAY}") PartitionInterval interval,
+                               @Value("${inventory.logs.partitions.premake:7}") int premake,
+                               @Value("${inventory.logs.partitions.retention-periods:90}") int retentionPeriods,
+                               @Value("${inventory.logs.partitions.drop-expired:false}") boolean dropExpired) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.premake = Math.max(0, premake);
+        this.retentionPeriods = retentionPeriods;
+        this.dropExpired = dropExpired;
+    }
+
+    /** Runs at startup and then periodically; every step is idempotent. */
+    @Scheduled(fixedDelayString = "${inventory.logs.partitions.check-interval-ms:3600000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!isPartitioned()) {
+                if (!reportedUnpartitioned) {
+                    log.info("{} is not partitioned; partition management is inactive", PARENT);
+                    reportedUnpartitioned = true;
+                }
+                return;
+            }
+            LocalDate current = interval.floor(LocalDate.now(ZoneOffset.UTC));
+            ensurePartitions(current, interval.plus(current, premake + 1L));
+            if (retentionPeriods > 0) {
+                retireBefore(interval.plus(current, -retentionPeriods));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Log partition maintenance failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates any missing partitions covering {@code [from, to)}. Rows that
+     * already sit in the default partition for a new range are moved into it.
+     */
+    public void ensurePartitions(LocalDate from, LocalDate to) {
+        for (LocalDate start = interval.floor(from); start.isBefore(to); start = interval.plus(start, 1)) {
+            String name = PREFIX + interval.suffix(start);
+            if (!exists(name)) {
+                createPartition(name, start, interval.plus(start, 1));
+            }
+        }
+    }
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, PARENT);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private void createPartition(String name, LocalDate start, LocalDate end) {
+        String bounds = "FOR VALUES FROM ('%s') TO ('%s')".formatted(utc(start), utc(end));
+        transactionTemplate.executeWithoutResult(status -> {
+            lockPartitionDdl();
+            if (exists(name)) {
+                return;
+            }
+            if (!defaultHasRows(start, end)) {
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + PARENT + " " + bounds);
+            } else {
+                // Postgres refuses to add a partition whose range already has rows in the
+                // default partition, so build it detached, move those rows, then attach.
+                jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+                int moved = jdbcTemplate.update("""
+                        WITH moved AS (
+                            DELETE FROM %s WHERE timestamp >= ? AND timestamp < ? RETURNING *
+                        )
+                        INSERT INTO %s SELECT * FROM moved
+                        """.formatted(DEFAULT_PARTITION, name), timestamp(start), timestamp(end));
+                jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + name + " " + bounds);
+                log.info("Moved {} rows from {} into {}", moved, DEFAULT_PARTITION, name);
+            }
+            log.info("Created log partition {} [{}, {})", name, start, end);
+        });
+    }
+
+    private void retireBefore(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                  FROM pg_inherits i
+                  JOIN pg_class c ON c.oid = i.inhrelid
+                 WHERE i.inhparent = to_regclass(?)
+                """, String.class, PARENT);
+        for (String name : partitions) {
+            LocalDate end = partitionEnd(name);
+            if (end == null || end.isAfter(cutoff)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                lockPartitionDdl();
+                if (dropExpired) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                } else if (isAttached(name)) {
+                    jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + name);
+                }
+            });
+            log.info("{} expired log partition {}", dropExpired ? "Dropped" : "Detached", name);
+        }
+    }
+
+    /** Parses the end of a partition from its name; null for names this class did not create. */
+    private static LocalDate partitionEnd(String name) {
+        if (!name.startsWith(PREFIX)) {
+            return null;
+        }
+        String suffix = name.substring(PREFIX.length());
+        try {
+            if (suffix.length() == 8) {
+                return LocalDate.parse(suffix, DAY_SUFFIX).plusDays(1);
+            }
+            if (suffix.length() == 6) {
+                return LocalDate.parse(suffix + "01", DAY_SUFFIX).plusMonths(1);
+            }
+        } catch (DateTimeParseException ignored) {
+            // not one of ours
+        }
+        return null;
+    }
+
+    private boolean defaultHasRows(LocalDate start, LocalDate end) {
+        if (!exists(DEFAULT_PARTITION)) {
+            return false;
+        }
+        Boolean found = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)",
+                Boolean.class, timestamp(start), timestamp(end));
+        return Boolean.TRUE.equals(found);
+    }
+
+    private boolean isAttached(String partition) {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?))",
+                Boolean.class, partition, PARENT);
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private void lockPartitionDdl() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, PARENT);
+    }
+
+    private static String utc(LocalDate date) {
+        return date + " 00:00:00+00";
+    }
+
+    private static Timestamp timestamp(LocalDate date) {
+        return Timestamp.from(date.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
@@ -0,0 +1,106 @@
+package com.inventory.engine.audit;
+
+import com.inventory.engine.entity.InventoryLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Folds audit log rows into {@code stock_movement_rollups}, one row per
+ * {@code (warehouse_id, sku, UTC hour)}. Rows are pre-aggregated per bucket and
+ * merged with an upsert, so the cost depends on the number of distinct buckets
+ * in a write, never on the size of the log table.
+ *
+ * <p>Upserts are issued in key order so that concurrent writers always lock
+ * rollup rows in the same order.
+ */
+@Component
+public class MovementRollupWriter {
+
+    /** Conflict clause shared with the outbox drain and catalog import statements. */
+    public static final String MERGE_ON_CONFLICT = """
+            ON CONFLICT (warehouse_id, bucket_start, sku) DO UPDATE SET
+                movement_count = r.movement_count + EXCLUDED.movement_count,
+                units_in = r.units_in + EXCLUDED.units_in,
+                units_out = r.units_out + EXCLUDED.units_out,
+                net_change = r.net_change + EXCLUDED.net_change,
+                min_resulting_quantity = LEAST(r.min_resulting_quantity, EXCLUDED.min_resulting_quantity),
+                max_resulting_quantity = GREATEST(r.max_resulting_quantity, EXCLUDED.max_resulting_quantity)
+            """;
+
+    private static final String UPSERT = """
+            INSERT INTO stock_movement_rollups AS r (warehouse_id, sku, bucket_start, movement_count,
+                                                     units_in, units_out, net_change,
+                                                     min_resulting_quantity, max_resulting_quantity)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """ + MERGE_ON_CONFLICT;
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator
+            .comparing(BucketKey::warehouseId)
+            .thenComparing(BucketKey::bucketStart)
+            .thenComparing(BucketKey::sku);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovementRollupWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Must run in the transaction that writes {@code entries}. */
+    public void record(List<InventoryLog> entries) {
+        Map<BucketKey, Bucket> buckets = new TreeMap<>(KEY_ORDER);
+        for (InventoryLog entry : entries) {
+            BucketKey key = new BucketKey(entry.getWarehouseId(), entry.getSku(),
+                    entry.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+            buckets.computeIfAbsent(key, k -> new Bucket()).add(entry);
+        }
+
+        List<Map.Entry<BucketKey, Bucket>> rows = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            BucketKey key = row.getKey();
+            Bucket bucket = row.getValue();
+            ps.setString(1, key.warehouseId());
+            ps.setString(2, key.sku());
+            ps.setTimestamp(3, Timestamp.from(key.bucketStart()));
+            ps.setLong(4, bucket.count);
+            ps.setLong(5, bucket.unitsIn);
+            ps.setLong(6, bucket.unitsOut);
+            ps.setLong(7, bucket.unitsIn - bucket.unitsOut);
+            ps.setObject(8, bucket.minResulting);
+            ps.setObject(9, bucket.maxResulting);
+        });
+    }
+
+    private record BucketKey(String warehouseId, String sku, Instant bucketStart) {}
+
+    private static final class Bucket {
+        long count;
+        long unitsIn;
+        long unitsOut;
+        Integer minResulting;
+        Integer maxResulting;
+
+        void add(InventoryLog entry) {
+            count++;
+            int change = entry.getQuantityChange();
+            if (change >= 0) {
+                unitsIn += change;
+            } else {
+                unitsOut -= change;
+            }
+            Integer resulting = entry.getResultingQuantity();
+            if (resulting != null) {
+                minResulting = minResulting == null ? resulting : Math.min(minResulting, resulting);
+                maxResulting = maxResulting == null ? resulting : Math.max(maxResulting, resulting);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.inventory.engine.audit;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Width of one {@code inventory_logs} partition. Boundaries are UTC midnights.
+ */
+public enum PartitionInterval {
+
+    DAY(ChronoUnit.DAYS, DateTimeFormatter.ofPattern("yyyyMMdd")),
+
+    MONTH(ChronoUnit.MONTHS, DateTimeFormatter.ofPattern("yyyyMM"));
+
+    private final ChronoUnit unit;
+    private final DateTimeFormatter suffix;
+
+    PartitionInterval(ChronoUnit unit, DateTimeFormatter suffix) {
+        this.unit = unit;
+        this.suffix = suffix;
+    }
+
+    /** Start of the partition that contains {@code date}. */
+    LocalDate floor(LocalDate date) {
+        return this == MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    LocalDate plus(LocalDate start, long periods) {
+        return start.plus(periods, unit);
+    }
+
+    String suffix(LocalDate start) {
+        return suffix.format(start);
+    }
+}
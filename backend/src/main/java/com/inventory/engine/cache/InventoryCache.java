@@ -0,0 +1,281 @@
+package com.inventory.engine.cache;
+
+import com.inventory.engine.dto.CacheStats;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.event.CatalogImportedEvent;
+import com.inventory.engine.event.StockChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link InventoryItemSnapshot}s keyed by SKU, with
+ * cached listings for the whole catalog and for each warehouse.
+ *
+ * <p>Entries are evicted when older than the TTL or when the cache grows past
+ * its size bound; an overflow evicts the least recently loaded entries in one
+ * pass down to a low-water mark, so a bulk load costs one scan per
+ * {@code maxSize / 10} inserts, not one per insert. A listing larger than the
+ * bound is read straight through and leaves the entries alone. Committed stock changes update entries in place (the higher
+ * version always wins, so out-of-order commits cannot regress an entry) and mark
+ * the affected listings stale; a stale listing is rebuilt from the entries on
+ * the next read without touching the database. A fresh listing is returned as
+ * the same immutable list on every call.
+ */
+@Component
+public class InventoryCache {
+
+    private static final String ALL_ITEMS = "*";
+
+    private final int maxSize;
+    private final int lowWater;
+    private final long ttlNanos;
+    private final AtomicLong loadSequence = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, View> views = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InventoryCache(@Value("${inventory.cache.max-size:10000}") int maxSize,
+                          @Value("${inventory.cache.ttl-ms:30000}") long ttlMs) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("inventory.cache.max-size must be >= 1");
+        }
+        this.maxSize = maxSize;
+        this.lowWater = maxSize - Math.max(1, maxSize / 10);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    public Optional<InventoryItemSnapshot> get(String sku, Supplier<Optional<InventoryItem>> loader) {
+        Entry entry = entries.get(sku);
+        if (entry != null && !isExpired(entry.loadedAt)) {
+            hits.increment();
+            return Optional.of(entry.snapshot);
+        }
+        if (entry != null && entries.remove(sku, entry)) {
+            evictions.increment();
+        }
+        misses.increment();
+        return loader.get().map(item -> put(InventoryItemSnapshot.from(item), System.nanoTime()));
+    }
+
+    public List<InventoryItemSnapshot> getAll(Supplier<List<InventoryItem>> loader) {
+        return getView(ALL_ITEMS, loader);
+    }
+
+    public List<InventoryItemSnapshot> getByWarehouse(String warehouseId,
+                                                      Supplier<List<InventoryItem>> loader) {
+        return getView(warehouseId, loader);
+    }
+
+    /**
+     * Applies a committed change. Runs after commit so that a rolled-back
+     * transaction can never leak into the cache.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        entries.computeIfPresent(event.getSku(), (sku, entry) ->
+                event.getVersion() > entry.snapshot.getVersion()
+                        ? new Entry(entry.snapshot.withStock(event.getQuantity(),
+                                event.getReservedQuantity(), event.getVersion(), event.getTimestamp()),
+                                entry.loadedAt, entry.sequence)
+                        : entry);
+        markStale(ALL_ITEMS);
+        markStale(event.getWarehouseId());
+    }
+
+    /** An import may have touched any number of items, so everything is reloaded on demand. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        clear();
+    }
+
+    /** Drops everything, e.g. after a bulk load that bypassed the write path. */
+    public void clear() {
+        views.clear();
+        entries.clear();
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    private List<InventoryItemSnapshot> getView(String key, Supplier<List<InventoryItem>> loader) {
+        View view = views.get(key);
+        if (view != null && !isExpired(view.loadedAt)) {
+            List<InventoryItemSnapshot> items = view.items;
+            if (items == null) {
+                items = view.rebuild();
+            }
+            if (items != null) {
+                hits.increment();
+                return items;
+            }
+        }
+        misses.increment();
+
+        List<InventoryItem> loaded = loader.get();
+        if (loaded.size() > maxSize) {
+            // Caching it would only evict most of its own rows again.
+            List<InventoryItemSnapshot> result = new ArrayList<>(loaded.size());
+            for (InventoryItem item : loaded) {
+                result.add(InventoryItemSnapshot.from(item));
+            }
+            return result;
+        }
+        long now = System.nanoTime();
+        List<InventoryItemSnapshot> result = new ArrayList<>(loaded.size());
+        List<String> skus = new ArrayList<>(loaded.size());
+        for (InventoryItem item : loaded) {
+            result.add(put(InventoryItemSnapshot.from(item), now));
+            skus.add(item.getSku());
+        }
+        View fresh = new View(List.copyOf(skus), now);
+        views.put(key, fresh);
+        List<InventoryItemSnapshot> items = fresh.rebuild();
+        return items != null ? items : result;
+    }
+
+    /** Inserts or refreshes an entry, keeping whichever snapshot has the higher version. */
+    private InventoryItemSnapshot put(InventoryItemSnapshot snapshot, long now) {
+        long sequence = loadSequence.incrementAndGet();
+        Entry merged = entries.merge(snapshot.getSku(), new Entry(snapshot, now, sequence),
+                (existing, incoming) -> existing.snapshot.getVersion() > incoming.snapshot.getVersion()
+                        ? new Entry(existing.snapshot, now, sequence)
+                        : incoming);
+        // Whoever loses the tryLock leaves the overflow to the evicting thread.
+        if (entries.size() > maxSize && evictionLock.tryLock()) {
+            try {
+                evictOverflow();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return merged.snapshot;
+    }
+
+    /** Drops expired entries, then the least recently loaded ones until at most {@code lowWater} remain. */
+    private void evictOverflow() {
+        List<Map.Entry<String, Entry>> live = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (isExpired(e.getValue().loadedAt)) {
+                if (entries.remove(e.getKey(), e.getValue())) {
+                    evictions.increment();
+                }
+            } else {
+                live.add(e);
+            }
+        }
+        int excess = entries.size() - lowWater;
+        if (excess <= 0) {
+            return;
+        }
+        live.sort(Comparator.comparingLong(e -> e.getValue().sequence));
+        for (int i = 0; i < excess && i < live.size(); i++) {
+            Map.Entry<String, Entry> e = live.get(i);
+            if (entries.remove(e.getKey(), e.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void markStale(String key) {
+        View view = views.get(key);
+        if (view != null) {
+            view.markStale();
+        }
+    }
+
+    private boolean isExpired(long loadedAt) {
+        return System.nanoTime() - loadedAt > ttlNanos;
+    }
+
+    private static final class Entry {
+        final InventoryItemSnapshot snapshot;
+        final long loadedAt;
+        /** Load order; rows of one listing share {@code loadedAt} but not this. */
+        final long sequence;
+
+        Entry(InventoryItemSnapshot snapshot, long loadedAt, long sequence) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * A cached listing: its membership (captured when it was loaded) plus the
+     * materialized list, which is dropped whenever one of its entries changes.
+     * The modification counter stops a rebuild that raced with a write from
+     * publishing a list that already misses that write.
+     */
+    private final class View {
+        final List<String> skus;
+        final long loadedAt;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long modCount;
+        volatile List<InventoryItemSnapshot> items;
+
+        View(List<String> skus, long loadedAt) {
+            this.skus = skus;
+            this.loadedAt = loadedAt;
+        }
+
+        void markStale() {
+            lock.lock();
+            try {
+                modCount++;
+                items = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Returns null if an entry was evicted and the listing must be reloaded. */
+        List<InventoryItemSnapshot> rebuild() {
+            long expectedModCount;
+            lock.lock();
+            try {
+                expectedModCount = modCount;
+            } finally {
+                lock.unlock();
+            }
+
+            List<InventoryItemSnapshot> rebuilt = new ArrayList<>(skus.size());
+            for (String sku : skus) {
+                Entry entry = entries.get(sku);
+                if (entry == null) {
+                    return null;
+                }
+                rebuilt.add(entry.snapshot);
+            }
+            List<InventoryItemSnapshot> immutable = List.copyOf(rebuilt);
+
+            lock.lock();
+            try {
+                if (modCount == expectedModCount) {
+                    items = immutable;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return immutable;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.inventory.engine.catalog;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.engine.audit.MovementRollupWriter;
+import com.inventory.engine.dto.BatchMode;
+import com.inventory.engine.dto.CatalogRow;
+import com.inventory.engine.dto.ImportFormat;
+import com.inventory.engine.dto.ImportPhase;
+import com.inventory.engine.dto.ImportStatus;
+import com.inventory.engine.event.CatalogImportedEvent;
+import com.inventory.engine.ledger.StockLedger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk catalog loader behind {@code POST /api/inventory/import}.
+ *
+ * <p>The request body is parsed one record at a time and re-encoded straight
+ * into a {@code COPY} into a temporary staging table, so heap use does not
+ * depend on the size of the upload. One statement then merges the staged rows
+ * into {@code inventory_items}: the last row for a SKU wins, new SKUs are
+ * inserted, changed ones updated, and every quantity change gets its audit log
+ * row and hourly rollup, as if it had been a stock update. Everything happens
+ * in one transaction, so a failed import leaves no trace.
+ *
+ * <p>An update never takes a SKU below its reserved quantity: such SKUs fail an
+ * ALL_OR_NOTHING import and are skipped and reported by a BEST_EFFORT one,
+ * which also skips malformed rows.
+ */
+@Component
+public class CatalogImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImporter.class);
+
+    private static final int MAX_SKU_LENGTH = 50;
+    private static final int MAX_PRODUCT_NAME_LENGTH = 255;
+    private static final int MAX_WAREHOUSE_ID_LENGTH = 20;
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+    private static final long PROGRESS_LOG_INTERVAL = 250_000;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE inventory_import_staging (
+                row_number   BIGINT  NOT NULL,
+                sku          TEXT    NOT NULL,
+                product_name TEXT    NOT NULL,
+                quantity     INTEGER NOT NULL,
+                warehouse_id TEXT    NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING =
+            "COPY inventory_import_staging (row_number, sku, product_name, quantity, warehouse_id) FROM STDIN";
+
+    private static final String LATEST_STAGED = """
+            SELECT DISTINCT ON (sku) sku, product_name, quantity, warehouse_id
+              FROM inventory_import_staging
+             ORDER BY sku, row_number DESC
+            """;
+
+    /**
+     * Only rows that differ are locked, in SKU order, so concurrent imports and
+     * batches cannot deadlock; their locked values are the "before" of the log.
+     */
+    private static final String MERGE_SQL = """
+            WITH source AS (
+            """ + LATEST_STAGED + """
+            ), previous AS (
+                SELECT i.sku, i.quantity, i.reserved_quantity
+                  FROM inventory_items i
+                  JOIN source s USING (sku)
+                 WHERE (i.product_name, i.quantity, i.warehouse_id)
+                       IS DISTINCT FROM (s.product_name, s.quantity, s.warehouse_id)
+                 ORDER BY i.sku
+                   FOR UPDATE OF i
+            ), merged AS (
+                INSERT INTO inventory_items AS i (sku, product_name, quantity, warehouse_id,
+                                                  version, created_at, updated_at)
+                SELECT s.sku, s.product_name, s.quantity, s.warehouse_id, 0, now(), now()
+                  FROM source s
+                  LEFT JOIN previous p USING (sku)
+                 WHERE CASE WHEN p.sku IS NOT NULL THEN s.quantity >= p.reserved_quantity
+                            ELSE NOT EXISTS (SELECT 1 FROM inventory_items e WHERE e.sku = s.sku) END
+                 ORDER BY s.sku
+                ON CONFLICT (sku) DO UPDATE SET
+                    product_name = EXCLUDED.product_name,
+                    quantity = EXCLUDED.quantity,
+                    warehouse_id = EXCLUDED.warehouse_id,
+                    version = i.version + 1,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING i.sku, i.warehouse_id, i.quantity, (i.xmax = 0) AS inserted
+            ), moved AS (
+                SELECT m.warehouse_id, m.sku, m.quantity - COALESCE(p.quantity, 0) AS change, m.quantity
+                  FROM merged m
+                  LEFT JOIN previous p USING (sku)
+                 WHERE m.quantity <> COALESCE(p.quantity, 0)
+            ), logged AS (
+                INSERT INTO inventory_logs (id, warehouse_id, sku, action, quantity_change,
+                                            resulting_quantity, timestamp, details)
+                SELECT nextval('inventory_logs_id_seq'), warehouse_id, sku,
+                       CASE WHEN change >= 0 THEN 'RESTOCK' ELSE 'DEDUCT' END,
+                       change, quantity, now(), 'Catalog import'
+                  FROM moved
+            ), rolled_up AS (
+                INSERT INTO stock_movement_rollups AS r (warehouse_id, sku, bucket_start, movement_count,
+                                                         units_in, units_out, net_change,
+                                                         min_resulting_quantity, max_resulting_quantity)
+                SELECT warehouse_id, sku, date_trunc('hour', now(), 'UTC'), count(*),
+                       sum(GREATEST(change, 0)), sum(GREATEST(-change, 0)),
+                       sum(change), min(quantity), max(quantity)
+                  FROM moved
+                 GROUP BY 1, 2
+                 ORDER BY 1, 2
+            """ + MovementRollupWriter.MERGE_ON_CONFLICT + """
+            )
+            SELECT (SELECT count(*) FROM source) AS distinct_skus,
+                   (SELECT count(*) FROM merged WHERE inserted) AS inserted,
+                   (SELECT count(*) FROM merged WHERE NOT inserted) AS updated,
+                   (SELECT count(*) FROM source s JOIN previous p USING (sku)
+                     WHERE s.quantity < p.reserved_quantity) AS below_reserved
+            """;
+
+    private static final String BELOW_RESERVED_SQL = """
+            SELECT s.sku, s.quantity, i.reserved_quantity
+              FROM (
+            """ + LATEST_STAGED + """
+                   ) s
+              JOIN inventory_items i USING (sku)
+             WHERE s.quantity < i.reserved_quantity
+             ORDER BY s.sku
+             LIMIT ?
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int historySize;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final ConcurrentLinkedDeque<ImportJob> history = new ConcurrentLinkedDeque<>();
+
+    public CatalogImporter(DataSource dataSource,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           StockLedger stockLedger,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${inventory.import.history-size:20}") int historySize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.historySize = Math.max(1, historySize);
+    }
+
+    /** Imports {@code body} and returns the final status; blocks until the merge has committed. */
+    public ImportStatus importCatalog(InputStream body, ImportFormat format, BatchMode mode) {
+        if (stockLedger.isEnabled()) {
+            throw new IllegalArgumentException(
+                    "Catalog imports are unavailable while the stock ledger owns quantities");
+        }
+        ImportJob job = new ImportJob(nextId.incrementAndGet(), format, mode);
+        history.addFirst(job);
+        while (history.size() > historySize) {
+            history.pollLast();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                stage(job, body);
+                merge(job);
+            });
+        } catch (RuntimeException ex) {
+            job.error(ex.getMessage());
+            job.finish(ImportPhase.FAILED);
+            log.warn("Import {} failed after {} rows: {}", job.id, job.rowsRead, ex.getMessage());
+            throw ex;
+        }
+        job.finish(ImportPhase.COMPLETED);
+        ImportStatus status = job.toStatus();
+        log.info("Import {}: {} rows, {} inserted, {} updated, {} rejected, {} below reserved ({} rows/s)",
+                job.id, status.getRowsRead(), status.getInserted(), status.getUpdated(),
+                status.getRowsRejected(), status.getBelowReserved(), status.getRowsPerSecond());
+        return status;
+    }
+
+    /** Running and recent imports, newest first. */
+    public List<ImportStatus> getImports() {
+        List<ImportStatus> statuses = new ArrayList<>(history.size());
+        for (ImportJob job : history) {
+            statuses.add(job.toStatus());
+        }
+        return statuses;
+    }
+
+    private void stage(ImportJob job, InputStream body) {
+        jdbcTemplate.execute(CREATE_STAGING);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING, COPY_BUFFER_SIZE),
+                StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+            CopyTextWriter copy = new CopyTextWriter(writer);
+            if (job.format == ImportFormat.CSV) {
+                stageCsv(job, body, copy);
+            } else {
+                stageNdjson(job, body, copy);
+            }
+        } catch (SQLException ex) {
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY", COPY_STAGING, ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Catalog import aborted after row " + job.rowsRead, ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        // Temporary tables are never auto-analyzed; the merge plan needs the row count.
+        jdbcTemplate.execute("ANALYZE inventory_import_staging");
+    }
+
+    private void stageCsv(ImportJob job, InputStream body, CopyTextWriter copy) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> fields = new ArrayList<>();
+        if (!reader.next(fields)) {
+            throw new IllegalArgumentException("CSV import is empty; expected a header row");
+        }
+        int[] columns = headerColumns(fields);
+        int width = Math.max(Math.max(columns[0], columns[1]), Math.max(columns[2], columns[3])) + 1;
+
+        long row = 0;
+        while (reader.next(fields)) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            if (fields.size() < width) {
+                reject(job, row, "expected at least " + width + " columns, found " + fields.size());
+                continue;
+            }
+            Integer quantity;
+            try {
+                quantity = Integer.valueOf(fields.get(columns[2]).trim());
+            } catch (NumberFormatException ex) {
+                reject(job, row, "quantity must be a whole number");
+                continue;
+            }
+            stageRow(job, copy, row, fields.get(columns[0]), fields.get(columns[1]), quantity,
+                    fields.get(columns[3]));
+        }
+    }
+
+    /** Indexes of the sku, product name, quantity and warehouse columns. */
+    private static int[] headerColumns(List<String> header) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "sku" -> columns[0] = i;
+                case "productname" -> columns[1] = i;
+                case "quantity" -> columns[2] = i;
+                case "warehouseid" -> columns[3] = i;
+                default -> { }
+            }
+        }
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException(
+                        "CSV header must name the columns sku, product_name, quantity and warehouse_id");
+            }
+        }
+        return columns;
+    }
+
+    private void stageNdjson(ImportJob job, InputStream body, CopyTextWriter copy) throws IOException {
+        try (MappingIterator<CatalogRow> rows = objectMapper.readerFor(CatalogRow.class).readValues(body)) {
+            long row = 0;
+            while (rows.hasNextValue()) {
+                row++;
+                CatalogRow value;
+                try {
+                    value = rows.nextValue();
+                } catch (JsonMappingException ex) {
+                    // The iterator skips to the next value after a binding error.
+                    reject(job, row, ex.getOriginalMessage());
+                    continue;
+                }
+                stageRow(job, copy, row, value.getSku(), value.getProductName(), value.getQuantity(),
+                        value.getWarehouseId());
+            }
+        } catch (JsonParseException ex) {
+            throw new IllegalArgumentException(
+                    "Malformed NDJSON after row " + job.rowsRead + ": " + ex.getOriginalMessage());
+        }
+    }
+
+    private void stageRow(ImportJob job, CopyTextWriter copy, long row, String sku, String productName,
+                          Integer quantity, String warehouseId) throws IOException {
+        job.rowsRead = row;
+        if (row % PROGRESS_LOG_INTERVAL == 0) {
+            log.info("Import {}: {} rows staged", job.id, row);
+        }
+        sku = sku != null ? sku.trim() : "";
+        productName = productName != null ? productName.trim() : "";
+        warehouseId = warehouseId != null ? warehouseId.trim() : "";
+        String problem = validate(sku, productName, quantity, warehouseId);
+        if (problem != null) {
+            reject(job, row, problem);
+            return;
+        }
+        copy.row(row, sku, productName, quantity, warehouseId);
+    }
+
+    private static String validate(String sku, String productName, Integer quantity, String warehouseId) {
+        if (sku.isEmpty() || sku.length() > MAX_SKU_LENGTH) {
+            return "sku must be 1-" + MAX_SKU_LENGTH + " characters";
+        }
+        if (productName.isEmpty() || productName.length() > MAX_PRODUCT_NAME_LENGTH) {
+            return "product_name must be 1-" + MAX_PRODUCT_NAME_LENGTH + " characters";
+        }
+        if (quantity == null || quantity < 0) {
+            return "quantity must be >= 0";
+        }
+        if (warehouseId.isEmpty() || warehouseId.length() > MAX_WAREHOUSE_ID_LENGTH) {
+            return "warehouse_id must be 1-" + MAX_WAREHOUSE_ID_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static void reject(ImportJob job, long row, String problem) {
+        job.rowsRead = row;
+        String message = "Row " + row + ": " + problem;
+        if (job.mode == BatchMode.ALL_OR_NOTHING) {
+            throw new IllegalArgumentException(message);
+        }
+        job.rowsRejected++;
+        job.error(message);
+    }
+
+    private void merge(ImportJob job) {
+        job.phase = ImportPhase.MERGING;
+        jdbcTemplate.query(MERGE_SQL, rs -> {
+            job.distinctSkus = rs.getLong("distinct_skus");
+            job.inserted = rs.getLong("inserted");
+            job.updated = rs.getLong("updated");
+            job.belowReserved = rs.getLong("below_reserved");
+        });
+
+        if (job.belowReserved > 0) {
+            List<String> problems = jdbcTemplate.query(BELOW_RESERVED_SQL,
+                    (rs, i) -> rs.getString("sku") + ": quantity " + rs.getInt("quantity")
+                            + " is below the " + rs.getInt("reserved_quantity") + " reserved units",
+                    ImportJob.MAX_REPORTED_ERRORS);
+            if (job.mode == BatchMode.ALL_OR_NOTHING) {
+                throw new IllegalArgumentException(job.belowReserved
+                        + " SKU(s) would fall below their reserved quantity, first " + problems.get(0));
+            }
+            problems.forEach(job::error);
+        }
+
+        if (job.inserted + job.updated > 0) {
+            eventPublisher.publishEvent(new CatalogImportedEvent(job.id, job.inserted + job.updated));
+        }
+    }
+}
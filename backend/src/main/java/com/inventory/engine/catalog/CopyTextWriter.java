@@ -0,0 +1,51 @@
+package com.inventory.engine.catalog;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Encodes staging rows in PostgreSQL's {@code COPY ... FROM STDIN} text
+ * format: tab-separated columns, one row per line, with backslash, tab and
+ * line breaks escaped.
+ */
+final class CopyTextWriter {
+
+    private final Writer out;
+
+    CopyTextWriter(Writer out) {
+        this.out = out;
+    }
+
+    void row(long rowNumber, String sku, String productName, int quantity, String warehouseId)
+            throws IOException {
+        out.write(Long.toString(rowNumber));
+        out.write('\t');
+        text(sku);
+        out.write('\t');
+        text(productName);
+        out.write('\t');
+        out.write(Integer.toString(quantity));
+        out.write('\t');
+        text(warehouseId);
+        out.write('\n');
+    }
+
+    private void text(String value) throws IOException {
+        int plain = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String escape = switch (value.charAt(i)) {
+                case '\\' -> "\\\\";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (escape != null) {
+                out.write(value, plain, i - plain);
+                out.write(escape);
+                plain = i + 1;
+            }
+        }
+        out.write(value, plain, value.length() - plain);
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory.engine.catalog;
+
+import com.inventory.engine.dto.BatchMode;
+import com.inventory.engine.dto.ImportFormat;
+import com.inventory.engine.dto.ImportPhase;
+import com.inventory.engine.dto.ImportStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one import. Written by the importing thread only; the volatile
+ * fields let {@code GET /imports} read a consistent-enough view meanwhile.
+ */
+final class ImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 20;
+
+    final long id;
+    final ImportFormat format;
+    final BatchMode mode;
+    final Instant startedAt = Instant.now();
+    private final List<String> errors = new ArrayList<>();
+
+    volatile ImportPhase phase = ImportPhase.STAGING;
+    volatile Instant finishedAt;
+    volatile long rowsRead;
+    volatile long rowsRejected;
+    volatile long distinctSkus;
+    volatile long inserted;
+    volatile long updated;
+    volatile long belowReserved;
+
+    ImportJob(long id, ImportFormat format, BatchMode mode) {
+        this.id = id;
+        this.format = format;
+        this.mode = mode;
+    }
+
+    synchronized void error(String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(message);
+        }
+    }
+
+    void finish(ImportPhase phase) {
+        this.finishedAt = Instant.now();
+        this.phase = phase;
+    }
+
+    synchronized ImportStatus toStatus() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsedMs = Math.max(1, Duration.between(startedAt, end).toMillis());
+        long unchanged = phase == ImportPhase.COMPLETED ? distinctSkus - inserted - updated - belowReserved : 0;
+        return new ImportStatus(id, format, mode, phase, startedAt, finishedAt, rowsRead, rowsRejected,
+                distinctSkus, inserted, updated, unchanged, belowReserved, rowsRead * 1000 / elapsedMs,
+                List.copyOf(errors));
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.engine.cluster;
+
+import java.util.List;
+
+/**
+ * Source of cluster membership for SKU ownership. {@link StaticMembership} is
+ * the default; another implementation (a registry or gossip client) is
+ * selected with {@code inventory.cluster.membership}.
+ *
+ * <p>{@link #members()} is called on every routed request, so it must be
+ * cheap. Implementations return the same list instance until membership
+ * changes; a new instance makes the router rebuild its ring.
+ */
+public interface ClusterMembership {
+
+    /** Id of this node; must be one of {@link #members()}. */
+    String selfId();
+
+    List<ClusterNode> members();
+}
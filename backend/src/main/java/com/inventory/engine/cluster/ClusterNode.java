@@ -0,0 +1,6 @@
+package com.inventory.engine.cluster;
+
+import java.net.URI;
+
+/** One member of the cluster: its stable id, which places it on the ring, and where it serves HTTP. */
+public record ClusterNode(String id, URI baseUrl) {}
@@ -0,0 +1,266 @@
+package com.inventory.engine.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.engine.config.WireFormatConfig;
+import com.inventory.engine.dto.BatchStockUpdateRequest;
+import com.inventory.engine.dto.ClusterStats;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.exception.OwnerUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Partitions stock writes across the cluster. Every node owns a
+ * consistent-hash range of SKUs; a write sent to any other node is forwarded
+ * to the owner, which applies it. That covers single-SKU updates, holds,
+ * commits, releases, transfers, and batches whose SKUs share an owner. Each
+ * SKU's writes therefore queue on one node, where the ATOMIC and COALESCED
+ * paths serialize them in process instead of on the row lock, and a coalesced
+ * group commit sees all of the SKU's traffic.
+ *
+ * <p>Forwards go out Smile-encoded with the client's {@code Accept} and
+ * {@code Idempotency-Key}, and the owner's status, content type and body are
+ * relayed unchanged, so errors and idempotent replays look the same from any
+ * node. {@value #FORWARDED_BY} marks a forward; its receiver applies it
+ * without routing again, so nodes with different views of membership cannot
+ * bounce a request between them.
+ *
+ * <p>Ownership is an optimization, not a correctness boundary: every write
+ * path stays safe against concurrent writers through the database. An owner
+ * that refuses the connection is therefore bypassed and the update applied
+ * locally. One that fails after the request was sent answers 503, since the
+ * update may have been applied; clients retry with the same idempotency key.
+ * Batches spanning owners and imports are applied where they arrive.
+ */
+@Component
+public class ClusterRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRouter.class);
+
+    public static final String FORWARDED_BY = "X-Inventory-Forwarded-By";
+    public static final String SERVED_BY = "X-Inventory-Served-By";
+
+    private static final String UPDATE_STOCK_PATH = "/api/inventory/update-stock";
+    private static final String UPDATE_STOCK_BATCH_PATH = "/api/inventory/update-stock/batch";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final ClusterMembership membership;
+    private final boolean enabled;
+    private final int virtualNodes;
+    private final WriteMode ownerWriteMode;
+    private final Duration forwardTimeout;
+    private final ObjectMapper smileMapper;
+    private final HttpClient httpClient;
+    private volatile ConsistentHashRing ring;
+
+    private final LongAdder ownedLocally = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder receivedForwarded = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder forwardFailures = new LongAdder();
+
+    public ClusterRouter(ClusterMembership membership,
+                         Jackson2ObjectMapperBuilder objectMapperBuilder,
+                         @Value("${inventory.cluster.enabled:false}") boolean enabled,
+                         @Value("${inventory.cluster.virtual-nodes:128}") int virtualNodes,
+                         @Value("${inventory.cluster.write-mode:COALESCED}") WriteMode ownerWriteMode,
+                         @Value("${inventory.cluster.connect-timeout-ms:500}") long connectTimeoutMs,
+                         @Value("${inventory.cluster.forward-timeout-ms:5000}") long forwardTimeoutMs,
+                         @Value("${inventory.ledger.enabled:false}") boolean ledgerEnabled) {
+        if (virtualNodes < 1 || connectTimeoutMs < 1 || forwardTimeoutMs < 1) {
+            throw new IllegalArgumentException(
+                    "inventory.cluster.virtual-nodes, connect-timeout-ms and forward-timeout-ms must be >= 1");
+        }
+        if (enabled && (ledgerEnabled || ownerWriteMode == WriteMode.LEDGER)) {
+            throw new IllegalArgumentException(
+                    "The stock ledger runs one node per database and cannot be combined with inventory.cluster.enabled");
+        }
+        this.membership = membership;
+        this.enabled = enabled;
+        this.virtualNodes = virtualNodes;
+        this.ownerWriteMode = ownerWriteMode;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMs);
+        this.smileMapper = objectMapperBuilder.factory(WireFormatConfig.smileFactory()).build();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.ring = new ConsistentHashRing(membership.members(), virtualNodes);
+        if (enabled) {
+            log.info("Cluster node {} of {} members, owned updates default to {}",
+                    membership.selfId(), ring.members().size(), ownerWriteMode);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String selfId() {
+        return membership.selfId();
+    }
+
+    public boolean owns(String sku) {
+        return !enabled || ownerOf(sku).id().equals(membership.selfId());
+    }
+
+    /**
+     * Routes one update. Returns the owner's relayed response when another
+     * node owns the SKU and answered, or {@code null} when the update is to be
+     * applied here, in which case a missing write mode has been set to the
+     * owner default.
+     */
+    public ResponseEntity<byte[]> route(StockUpdateRequest request, String accept, String forwardedBy) {
+        ResponseEntity<byte[]> relayed = route(forwardedBy, () -> request.getSku(), "PUT", UPDATE_STOCK_PATH,
+                request, request.getIdempotencyKey(), accept);
+        if (relayed == null) {
+            request.setWriteMode(localWriteMode(request.getWriteMode()));
+        }
+        return relayed;
+    }
+
+    /**
+     * Routes any other write confined to one SKU (a hold, commit, release or
+     * transfer) as a POST of {@code body} to {@code path} on the SKU's owner.
+     * {@code sku} is only resolved when the request may be forwarded; a null
+     * SKU, such as an unknown reservation id, is handled here.
+     */
+    public ResponseEntity<byte[]> route(Supplier<String> sku, String path, Object body,
+                                        String accept, String forwardedBy) {
+        return route(forwardedBy, sku, "POST", path, body, null, accept);
+    }
+
+    /**
+     * Routes a batch whose lines all belong to one owner to that owner. A batch
+     * spanning owners is applied here: splitting it would break ALL_OR_NOTHING.
+     */
+    public ResponseEntity<byte[]> route(BatchStockUpdateRequest request, String accept, String forwardedBy) {
+        return route(forwardedBy, () -> {
+            String first = request.getItems().get(0).getSku();
+            ClusterNode owner = ownerOf(first);
+            for (StockUpdateRequest item : request.getItems()) {
+                if (!ownerOf(item.getSku()).equals(owner)) {
+                    return null;
+                }
+            }
+            return first;
+        }, "POST", UPDATE_STOCK_BATCH_PATH, request, null, accept);
+    }
+
+    /** The write mode to apply a local update with: the requested one, or the owner default in a cluster. */
+    public WriteMode localWriteMode(WriteMode requested) {
+        return requested != null || !enabled ? requested : ownerWriteMode;
+    }
+
+    public ClusterStats getStats() {
+        return new ClusterStats(enabled, membership.selfId(), currentRing().ownership(), enabled ? ownerWriteMode : null,
+                ownedLocally.sum(), forwarded.sum(), receivedForwarded.sum(), fallbacks.sum(), forwardFailures.sum());
+    }
+
+    ClusterNode ownerOf(String sku) {
+        return currentRing().ownerOf(sku);
+    }
+
+    private ResponseEntity<byte[]> route(String forwardedBy, Supplier<String> sku, String method, String path,
+                                         Object body, String idempotencyKey, String accept) {
+        if (!enabled) {
+            return null;
+        }
+        if (forwardedBy != null) {
+            receivedForwarded.increment();
+            return null;
+        }
+        String key = sku.get();
+        if (key == null) {
+            return null;
+        }
+        ClusterNode owner = ownerOf(key);
+        if (owner.id().equals(membership.selfId())) {
+            ownedLocally.increment();
+            return null;
+        }
+        ResponseEntity<byte[]> response = forward(owner, key, method, path, body, idempotencyKey, accept);
+        if (response == null) {
+            fallbacks.increment();
+            return null;
+        }
+        forwarded.increment();
+        return response;
+    }
+
+    private ConsistentHashRing currentRing() {
+        ConsistentHashRing current = ring;
+        List<ClusterNode> members = membership.members();
+        if (members != current.members()) {
+            current = new ConsistentHashRing(members, virtualNodes);
+            ring = current;
+            log.info("Cluster membership changed, ring rebuilt for {} members", members.size());
+        }
+        return current;
+    }
+
+    /** The owner's response, or {@code null} when it refused the connection. */
+    private ResponseEntity<byte[]> forward(ClusterNode owner, String sku, String method, String path,
+                                           Object body, String idempotencyKey, String accept) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner.baseUrl() + path))
+                .timeout(forwardTimeout)
+                .header(HttpHeaders.ACCEPT, accept != null ? accept : "application/json")
+                .header(FORWARDED_BY, membership.selfId());
+        if (body != null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, SMILE)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(encode(body)));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (ConnectException | HttpConnectTimeoutException e) {
+            log.debug("Owner {} of {} unreachable, applying locally: {}", owner.id(), sku, e.toString());
+            return null;
+        } catch (IOException e) {
+            forwardFailures.increment();
+            throw new OwnerUnavailableException(sku, owner.id(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            forwardFailures.increment();
+            throw new OwnerUnavailableException(sku, owner.id(), e);
+        }
+        ResponseEntity.BodyBuilder relayed = ResponseEntity.status(response.statusCode())
+                .header(SERVED_BY, owner.id());
+        response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .ifPresent(contentType -> relayed.header(HttpHeaders.CONTENT_TYPE, contentType));
+        return relayed.body(response.body());
+    }
+
+    private byte[] encode(Object body) {
+        try {
+            return smileMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
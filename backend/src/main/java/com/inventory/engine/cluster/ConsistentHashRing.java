@@ -0,0 +1,91 @@
+package com.inventory.engine.cluster;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consistent-hash ring over the cluster members. Each node is placed at
+ * {@code virtualNodes} points; a key belongs to the first point at or after
+ * its hash, wrapping around. Adding or removing a node moves only the keys
+ * between its points and their predecessors, about 1/N of the SKUs.
+ *
+ * <p>Points are a sorted {@code long[]} with the owning node at the same
+ * index, so a lookup is one hash and one binary search with no allocation.
+ * Immutable; the router swaps in a new ring when membership changes.
+ */
+final class ConsistentHashRing {
+
+    private final List<ClusterNode> members;
+    private final long[] points;
+    private final ClusterNode[] owners;
+
+    ConsistentHashRing(List<ClusterNode> members, int virtualNodes) {
+        this.members = members;
+        int size = members.size() * virtualNodes;
+        long[] hashes = new long[size];
+        ClusterNode[] nodes = new ClusterNode[size];
+        int i = 0;
+        for (ClusterNode node : members) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(node.id() + '#' + v);
+                nodes[i] = node;
+                i++;
+            }
+        }
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new ClusterNode[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = nodes[order[j]];
+        }
+    }
+
+    List<ClusterNode> members() {
+        return members;
+    }
+
+    ClusterNode ownerOf(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /** Share of the hash space each node owns, in member order. */
+    Map<String, Double> ownership() {
+        Map<String, Double> shares = new LinkedHashMap<>();
+        for (ClusterNode node : members) {
+            shares.put(node.id(), 0.0);
+        }
+        for (int j = 0; j < points.length; j++) {
+            // Point j owns the arc from its predecessor up to itself; unsigned so the wrap is one arc.
+            long arc = j == 0 ? points[0] - points[points.length - 1] : points[j] - points[j - 1];
+            double share = arc > 0 || (arc == 0 && j > 0) ? arc / 0x1p64 : (arc + 0x1p64) / 0x1p64;
+            shares.merge(owners[j].id(), share, Double::sum);
+        }
+        return shares;
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer so short keys spread. */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a5d5e3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,74 @@
+package com.inventory.engine.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fixed membership from {@code inventory.cluster.nodes}, a comma-separated
+ * list of {@code id=baseUrl} pairs that every node is started with. Nodes
+ * may share a host on different ports, so a whole cluster can run on one
+ * machine. With the cluster disabled this node is the only member.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.cluster.membership", havingValue = "static", matchIfMissing = true)
+public class StaticMembership implements ClusterMembership {
+
+    private final String selfId;
+    private final List<ClusterNode> members;
+
+    public StaticMembership(@Value("${inventory.cluster.enabled:false}") boolean enabled,
+                            @Value("${inventory.cluster.node-id:node-1}") String selfId,
+                            @Value("${inventory.cluster.nodes:}") String nodes,
+                            @Value("${server.port:8080}") int port) {
+        this.selfId = selfId;
+        this.members = enabled
+                ? parse(nodes)
+                : List.of(new ClusterNode(selfId, URI.create("http://localhost:" + port)));
+        if (members.stream().noneMatch(node -> node.id().equals(selfId))) {
+            throw new IllegalArgumentException(
+                    "inventory.cluster.node-id " + selfId + " is not listed in inventory.cluster.nodes");
+        }
+    }
+
+    @Override
+    public String selfId() {
+        return selfId;
+    }
+
+    @Override
+    public List<ClusterNode> members() {
+        return members;
+    }
+
+    private static List<ClusterNode> parse(String nodes) {
+        List<ClusterNode> parsed = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (String entry : nodes.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq <= 0 || eq == entry.length() - 1) {
+                throw new IllegalArgumentException(
+                        "inventory.cluster.nodes entries must be id=baseUrl, got: " + entry.trim());
+            }
+            String id = entry.substring(0, eq).trim();
+            if (!ids.add(id)) {
+                throw new IllegalArgumentException("Duplicate node id in inventory.cluster.nodes: " + id);
+            }
+            String url = entry.substring(eq + 1).trim();
+            parsed.add(new ClusterNode(id, URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url)));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("inventory.cluster.nodes is required when the cluster is enabled");
+        }
+        return List.copyOf(parsed);
+    }
+}
@@ -0,0 +1,45 @@
+package com.inventory.engine.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the load simulator, following the same switch as Tomcat's
+ * request threads ({@code spring.threads.virtual.enabled}). Virtual threads
+ * need a Java 21 runtime; on Java 17 the property is ignored and the
+ * platform pool is used.
+ *
+ * <p>With virtual threads every simulated request gets its own thread and the
+ * Hikari pool becomes the only concurrency limit; the platform pool is sized
+ * to match that pool instead.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    public static final String LOAD_SIMULATOR_EXECUTOR = "loadSimulatorExecutor";
+
+    @Bean(LOAD_SIMULATOR_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualLoadSimulatorExecutor() {
+        return new VirtualThreadTaskExecutor("load-sim-");
+    }
+
+    @Bean(LOAD_SIMULATOR_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor platformLoadSimulatorExecutor(
+            @Value("${inventory.simulator.platform-threads:20}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("load-sim-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
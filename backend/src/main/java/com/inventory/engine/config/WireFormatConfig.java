@@ -0,0 +1,46 @@
+package com.inventory.engine.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON API, chosen per request by content negotiation:
+ * {@code application/cbor} or {@code application/x-jackson-smile} in
+ * {@code Content-Type} for request bodies and in {@code Accept} for responses.
+ * JSON stays the default.
+ *
+ * <p>Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder}, so they
+ * apply the same {@code spring.jackson.*} settings and modules as the JSON one
+ * and every DTO has the same document shape in all three formats. Declaring
+ * them as beans replaces the converters Spring MVC would otherwise register
+ * with a plain mapper.
+ *
+ * <p>Smile also back-references repeated short string values, not only
+ * repeated keys, so warehouse ids and log actions in a listing are written
+ * once.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.engine.controller;
+
+import com.inventory.engine.alert.InMemoryAlertSink;
+import com.inventory.engine.alert.LowStockAlerter;
+import com.inventory.engine.dto.AlertStats;
+import com.inventory.engine.dto.LowStockAlert;
+import com.inventory.engine.dto.LowStockThresholdRequest;
+import com.inventory.engine.dto.LowStockWatch;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Low-stock thresholds per SKU and the alerts raised when stock crosses them.
+ */
+@RestController
+@RequestMapping("/api/inventory")
+public class AlertController {
+
+    private final LowStockAlerter alerter;
+    private final InMemoryAlertSink recentAlerts;
+
+    public AlertController(LowStockAlerter alerter, InMemoryAlertSink recentAlerts) {
+        this.alerter = alerter;
+        this.recentAlerts = recentAlerts;
+    }
+
+    @PutMapping("/items/{sku}/low-stock-threshold")
+    public LowStockWatch setThreshold(@PathVariable String sku,
+                                      @Valid @RequestBody LowStockThresholdRequest request) {
+        return alerter.setThreshold(sku, request.getThreshold());
+    }
+
+    @DeleteMapping("/items/{sku}/low-stock-threshold")
+    public ResponseEntity<Void> clearThreshold(@PathVariable String sku) {
+        alerter.clearThreshold(sku);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Most recent alerts on this node, newest first. */
+    @GetMapping("/alerts")
+    public List<LowStockAlert> getRecentAlerts(@RequestParam(defaultValue = "20") int limit) {
+        return recentAlerts.recent(limit);
+    }
+
+    /** Watched SKUs with their thresholds; {@code lowOnly=true} for those currently below. */
+    @GetMapping("/alerts/watches")
+    public List<LowStockWatch> getWatches(@RequestParam(defaultValue = "false") boolean lowOnly) {
+        return alerter.getWatches(lowOnly);
+    }
+
+    @GetMapping("/alerts/stats")
+    public AlertStats getStats() {
+        return alerter.getStats();
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventory.engine.controller;
+
+import com.inventory.engine.dto.HourlyMovement;
+import com.inventory.engine.dto.SkuMovement;
+import com.inventory.engine.service.AnalyticsService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Dashboard analytics, answered from the hourly movement rollups rather than
+ * from the raw log table.
+ */
+@RestController
+@RequestMapping("/api/inventory/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /** Units in/out and net change per warehouse per hour; defaults to the last 24 hours. */
+    @GetMapping("/hourly")
+    public List<HourlyMovement> getHourlyMovements(
+            @RequestParam(required = false) String warehouseId,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(required = false) Instant end) {
+        if (end == null) end = Instant.now();
+        if (start == null) start = end.minus(24, ChronoUnit.HOURS);
+        return analyticsService.getHourlyMovements(warehouseId, start, end);
+    }
+
+    /** SKUs ranked by units moved; defaults to the last 7 days. */
+    @GetMapping("/top-movers")
+    public List<SkuMovement> getTopMovers(
+            @RequestParam(required = false) String warehouseId,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(required = false) Instant end,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (end == null) end = Instant.now();
+        if (start == null) start = end.minus(7, ChronoUnit.DAYS);
+        return analyticsService.getTopMovers(warehouseId, start, end, limit);
+    }
+}
@@ -0,0 +1,51 @@
+package com.inventory.engine.controller;
+
+import com.inventory.engine.dto.ForecastStats;
+import com.inventory.engine.dto.ReorderSuggestion;
+import com.inventory.engine.forecast.ReplenishmentForecaster;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Replenishment forecasts: demand rate, days of cover and reorder point per
+ * item, derived from its DEDUCT history.
+ */
+@RestController
+@RequestMapping("/api/inventory/forecast")
+public class ForecastController {
+
+    private final ReplenishmentForecaster forecaster;
+
+    public ForecastController(ReplenishmentForecaster forecaster) {
+        this.forecaster = forecaster;
+    }
+
+    /** Items with demand, fewest days of cover first. */
+    @GetMapping
+    public List<ReorderSuggestion> getSuggestions(
+            @RequestParam(required = false) String warehouseId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return forecaster.getSuggestions(warehouseId, limit);
+    }
+
+    @GetMapping("/items/{sku}")
+    public ReorderSuggestion getSuggestion(@PathVariable String sku) {
+        return forecaster.getSuggestion(sku);
+    }
+
+    @GetMapping("/stats")
+    public ForecastStats getStats() {
+        return forecaster.getStats();
+    }
+
+    /** Rescans the log history in the background; 409 while a rebuild is already running. */
+    @PostMapping("/rebuild")
+    public ResponseEntity<ForecastStats> rebuild() {
+        boolean started = forecaster.requestRebuild();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(forecaster.getStats());
+    }
+}
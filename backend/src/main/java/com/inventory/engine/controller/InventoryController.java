@@ -1,15 +1,54 @@
 package com.inventory.engine.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.engine.catalog.CatalogImporter;
+import com.inventory.engine.cluster.ClusterRouter;
+import com.inventory.engine.dto.AuditStats;
+import com.inventory.engine.dto.BatchMode;
+import com.inventory.engine.dto.BatchStockUpdateRequest;
+import com.inventory.engine.dto.BatchStockUpdateResponse;
+import com.inventory.engine.dto.CacheStats;
+import com.inventory.engine.dto.ClusterStats;
 import com.inventory.engine.dto.ConcurrencyTestResult;
+import com.inventory.engine.dto.ContendedSku;
+import com.inventory.engine.dto.IdempotencyStats;
+import com.inventory.engine.dto.ImportFormat;
+import com.inventory.engine.dto.ImportStatus;
+import com.inventory.engine.dto.InvariantCheckResult;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.InventoryLogEntry;
+import com.inventory.engine.dto.ItemStock;
+import com.inventory.engine.dto.ItemView;
+import com.inventory.engine.dto.LedgerStats;
+import com.inventory.engine.dto.LogPage;
+import com.inventory.engine.dto.ReservationRequest;
+import com.inventory.engine.dto.ReservationStats;
 import com.inventory.engine.dto.StockUpdateRequest;
 import com.inventory.engine.dto.StockUpdateResponse;
-import com.inventory.engine.entity.InventoryItem;
-import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.dto.StreamStats;
+import com.inventory.engine.dto.TransferRequest;
+import com.inventory.engine.dto.WorkloadSpec;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.loadgen.ConcurrencySimulator;
+import com.inventory.engine.loadgen.LoadGenerator;
+import com.inventory.engine.metrics.StockUpdateMetrics;
 import com.inventory.engine.service.InventoryService;
+import com.inventory.engine.service.ReservationService;
+import com.inventory.engine.service.TransferService;
+import com.inventory.engine.stream.StockStreamHub;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -18,59 +57,319 @@ import java.util.List;
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final InventoryService inventoryService;
+    private final ReservationService reservationService;
+    private final TransferService transferService;
+    private final StockStreamHub streamHub;
+    private final CatalogImporter catalogImporter;
+    private final StockUpdateMetrics stockUpdateMetrics;
+    private final ConcurrencySimulator simulator;
+    private final LoadGenerator loadGenerator;
+    private final ClusterRouter clusterRouter;
+    private final ObjectMapper objectMapper;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, ReservationService reservationService,
+                               TransferService transferService,
+                               StockStreamHub streamHub, CatalogImporter catalogImporter,
+                               StockUpdateMetrics stockUpdateMetrics,
+                               ConcurrencySimulator simulator,
+                               LoadGenerator loadGenerator, ClusterRouter clusterRouter,
+                               ObjectMapper objectMapper) {
         this.inventoryService = inventoryService;
+        this.reservationService = reservationService;
+        this.transferService = transferService;
+        this.streamHub = streamHub;
+        this.catalogImporter = catalogImporter;
+        this.stockUpdateMetrics = stockUpdateMetrics;
+        this.simulator = simulator;
+        this.loadGenerator = loadGenerator;
+        this.clusterRouter = clusterRouter;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Item listings. {@code view=STOCK} returns only the stock columns; any
+     * listing can also be fetched as CBOR or Smile through {@code Accept}
+     * (see {@link com.inventory.engine.config.WireFormatConfig}).
+     */
     @GetMapping
-    public List<InventoryItem> getAllItems() {
-        return inventoryService.getAllItems();
+    public List<?> getAllItems(@RequestParam(defaultValue = "FULL") ItemView view) {
+        return project(inventoryService.getAllItems(), view);
     }
 
     @GetMapping("/warehouse/{warehouseId}")
-    public List<InventoryItem> getByWarehouse(@PathVariable String warehouseId) {
-        return inventoryService.getItemsByWarehouse(warehouseId);
+    public List<?> getByWarehouse(@PathVariable String warehouseId,
+                                  @RequestParam(defaultValue = "FULL") ItemView view) {
+        return project(inventoryService.getItemsByWarehouse(warehouseId), view);
+    }
+
+    @GetMapping("/items/{sku}")
+    public InventoryItemSnapshot getItem(@PathVariable String sku) {
+        return inventoryService.getItem(sku);
+    }
+
+    /**
+     * Server-sent events: a {@code snapshot} of the (optionally filtered) items,
+     * then a {@code stock} event per changed SKU, coalesced per flush window. An
+     * {@code overflow} event means changes were dropped and the client should
+     * reload. Reconnects resume from the {@code Last-Event-ID} header, or from
+     * {@code lastEventId} for clients that cannot set it.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String warehouse,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        return streamHub.subscribe(warehouse, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @GetMapping("/stream/stats")
+    public StreamStats getStreamStats() {
+        return streamHub.getStats();
+    }
+
+    @GetMapping("/audit/stats")
+    public AuditStats getAuditStats() {
+        return inventoryService.getAuditStats();
+    }
+
+    @GetMapping("/ledger/stats")
+    public LedgerStats getLedgerStats() {
+        return inventoryService.getLedgerStats();
+    }
+
+    /** SKUs with the most optimistic-lock conflicts and coalesced waits since startup. */
+    @GetMapping("/metrics/contention")
+    public List<ContendedSku> getTopContended(@RequestParam(defaultValue = "10") int limit) {
+        return stockUpdateMetrics.getTopContended(limit);
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStats getCacheStats() {
+        return inventoryService.getCacheStats();
     }
 
+    /**
+     * Applies one stock delta. With an {@code Idempotency-Key} header the delta is
+     * applied at most once per key, and repeats get the first response. In a
+     * cluster, updates for SKUs another node owns are relayed to that node.
+     */
     @PutMapping("/update-stock")
-    public ResponseEntity<StockUpdateResponse> updateStock(
-            @Valid @RequestBody StockUpdateRequest request) {
-        StockUpdateResponse response = inventoryService.updateStock(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> updateStock(
+            @Valid @RequestBody StockUpdateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = ClusterRouter.FORWARDED_BY, required = false) String forwardedBy) {
+        request.setIdempotencyKey(idempotencyKey);
+        ResponseEntity<byte[]> relayed = clusterRouter.route(request, accept, forwardedBy);
+        if (relayed != null) {
+            return relayed;
+        }
+        StockUpdateResponse response = idempotencyKey != null
+                ? inventoryService.updateStock(idempotencyKey, request)
+                : inventoryService.updateStock(request);
+        return served(HttpStatus.OK, response);
+    }
+
+    @GetMapping("/cluster/stats")
+    public ClusterStats getClusterStats() {
+        return clusterRouter.getStats();
+    }
+
+    @GetMapping("/idempotency/stats")
+    public IdempotencyStats getIdempotencyStats() {
+        return inventoryService.getIdempotencyStats();
+    }
+
+    /**
+     * Applies a list of stock updates in one transaction, returning one result
+     * per line. Rejected ALL_OR_NOTHING batches answer 400 with the same body.
+     * In a cluster, a batch whose SKUs all have one other owner is relayed to it.
+     */
+    @PostMapping("/update-stock/batch")
+    public ResponseEntity<?> updateStockBatch(
+            @Valid @RequestBody BatchStockUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = ClusterRouter.FORWARDED_BY, required = false) String forwardedBy) {
+        ResponseEntity<byte[]> relayed = clusterRouter.route(request, accept, forwardedBy);
+        if (relayed != null) {
+            return relayed;
+        }
+        BatchStockUpdateResponse response = inventoryService.updateStockBatch(request);
+        return served(response.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST, response);
+    }
+
+    /** Moves stock of one item between two warehouses in a single transaction, on the SKU's owner. */
+    @PostMapping("/transfers")
+    public ResponseEntity<?> transferStock(
+            @Valid @RequestBody TransferRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = ClusterRouter.FORWARDED_BY, required = false) String forwardedBy) {
+        ResponseEntity<byte[]> relayed = clusterRouter.route(
+                request::getSku, "/api/inventory/transfers", request, accept, forwardedBy);
+        return relayed != null ? relayed : served(HttpStatus.OK, transferService.transfer(request));
+    }
+
+    /** The item's stock position in each warehouse, home warehouse first. */
+    @GetMapping("/items/{sku}/positions")
+    public List<?> getPositions(@PathVariable String sku,
+                                @RequestParam(defaultValue = "FULL") ItemView view) {
+        return project(transferService.getPositions(sku), view);
+    }
+
+    /**
+     * Holds units of a SKU for {@code ttlSeconds} without touching on-hand stock.
+     * Fails with 400 when fewer units are available to promise. In a cluster,
+     * holds, commits and releases are applied on the SKU's owner.
+     */
+    @PostMapping("/reservations")
+    public ResponseEntity<?> holdStock(
+            @Valid @RequestBody ReservationRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = ClusterRouter.FORWARDED_BY, required = false) String forwardedBy) {
+        ResponseEntity<byte[]> relayed = clusterRouter.route(
+                request::getSku, "/api/inventory/reservations", request, accept, forwardedBy);
+        return relayed != null ? relayed : served(HttpStatus.OK, reservationService.hold(request));
+    }
+
+    /** Deducts a held reservation from on-hand stock; 409 if it is no longer held. */
+    @PostMapping("/reservations/{reservationId}/commit")
+    public ResponseEntity<?> commitReservation(
+            @PathVariable long reservationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = ClusterRouter.FORWARDED_BY, required = false) String forwardedBy) {
+        ResponseEntity<byte[]> relayed = clusterRouter.route(() -> reservationService.findSku(reservationId),
+                "/api/inventory/reservations/" + reservationId + "/commit", null, accept, forwardedBy);
+        return relayed != null ? relayed : served(HttpStatus.OK, reservationService.commit(reservationId));
+    }
+
+    /** Returns a held reservation's units to available stock; 409 if it is no longer held. */
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<?> releaseReservation(
+            @PathVariable long reservationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = ClusterRouter.FORWARDED_BY, required = false) String forwardedBy) {
+        ResponseEntity<byte[]> relayed = clusterRouter.route(() -> reservationService.findSku(reservationId),
+                "/api/inventory/reservations/" + reservationId + "/release", null, accept, forwardedBy);
+        return relayed != null ? relayed : served(HttpStatus.OK, reservationService.release(reservationId));
+    }
+
+    @GetMapping("/reservations/stats")
+    public ReservationStats getReservationStats() {
+        return reservationService.getStats();
     }
 
     /**
      * Fires N concurrent deduction requests against a single SKU to demonstrate
      * optimistic locking. Conflicts are expected and counted in the response.
+     * Pass {@code mode=ATOMIC} or {@code mode=COALESCED} to compare the other write paths.
      */
     @PostMapping("/simulate-load")
     public ResponseEntity<ConcurrencyTestResult> simulateLoad(
             @RequestParam(defaultValue = "SKU-001") String sku,
-            @RequestParam(defaultValue = "20") int requests) {
-        ConcurrencyTestResult result =
-                inventoryService.simulateConcurrentUpdates(sku, requests);
+            @RequestParam(defaultValue = "20") int requests,
+            @RequestParam(required = false) WriteMode mode) {
+        ConcurrencyTestResult result = simulator.simulate(sku, requests, mode);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Runs many concurrent bursts of random stock changes against one SKU and
+     * checks after each burst that the stored quantity and the audit log both
+     * match the sum of committed changes. Use a SKU nothing else is writing to.
+     */
+    @PostMapping("/simulate-load/verify")
+    public InvariantCheckResult verifyInvariants(
+            @RequestParam(defaultValue = "SKU-001") String sku,
+            @RequestParam(defaultValue = "100") int runs,
+            @RequestParam(defaultValue = "20") int requests,
+            @RequestParam(required = false) WriteMode mode,
+            @RequestParam(required = false) Long seed) {
+        return simulator.verify(sku, runs, requests, mode, seed);
+    }
+
+    /**
+     * Runs an open-loop mixed read/write workload for the requested duration and
+     * returns latency percentiles, a per-second throughput timeline, and
+     * conflict and retry rates. Blocks until the run has finished.
+     */
+    @PostMapping("/load-test")
+    public ConcurrencyTestResult runLoadTest(@Valid @RequestBody WorkloadSpec spec) {
+        return loadGenerator.run(spec);
+    }
+
     @GetMapping("/logs")
-    public List<InventoryLog> getRecentLogs() {
+    public List<InventoryLogEntry> getRecentLogs() {
         return inventoryService.getRecentLogs();
     }
 
     /**
      * Demonstrates the composite-index-backed query: fetch logs for a given
-     * warehouse within a time window.
+     * warehouse within a time window, one keyset page at a time. Pass the
+     * returned {@code nextCursor} back as {@code cursor} to continue.
      */
     @GetMapping("/logs/warehouse/{warehouseId}")
-    public List<InventoryLog> getLogsByWarehouse(
+    public LogPage getLogsByWarehouse(
             @PathVariable String warehouseId,
             @RequestParam(required = false) Instant start,
-            @RequestParam(required = false) Instant end) {
+            @RequestParam(required = false) Instant end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit) {
         if (start == null) start = Instant.now().minus(30, ChronoUnit.DAYS);
         if (end == null) end = Instant.now();
-        return inventoryService.queryLogsByWarehouseAndTimeRange(warehouseId, start, end);
+        return inventoryService.queryLogsByWarehouseAndTimeRange(warehouseId, start, end, cursor, limit);
+    }
+
+    /**
+     * Same range, exported as newline-delimited JSON in constant memory.
+     * Selected with {@code Accept: application/x-ndjson}.
+     */
+    @GetMapping(value = "/logs/warehouse/{warehouseId}", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamLogsByWarehouse(
+            @PathVariable String warehouseId,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(required = false) Instant end) {
+        Instant from = start != null ? start : Instant.now().minus(30, ChronoUnit.DAYS);
+        Instant to = end != null ? end : Instant.now();
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            inventoryService.streamLogsByWarehouseAndTimeRange(warehouseId, from, to, row -> {
+                try {
+                    objectMapper.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Bulk-loads a catalog streamed as CSV (with a header row) or NDJSON and
+     * upserts it into inventory_items. Returns once the import has committed;
+     * progress of running imports is visible at {@code GET /imports}.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportStatus importCsv(@RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMode mode,
+                                  InputStream body) {
+        return catalogImporter.importCatalog(body, ImportFormat.CSV, mode);
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ImportStatus importNdjson(@RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMode mode,
+                                     InputStream body) {
+        return catalogImporter.importCatalog(body, ImportFormat.NDJSON, mode);
+    }
+
+    @GetMapping("/imports")
+    public List<ImportStatus> getImports() {
+        return catalogImporter.getImports();
     }
 
     @PostMapping("/seed")
@@ -78,4 +377,14 @@ public class InventoryController {
         inventoryService.seedData();
         return ResponseEntity.ok("Seed data loaded");
     }
+
+    private static List<?> project(List<InventoryItemSnapshot> items, ItemView view) {
+        return view == ItemView.STOCK ? items.stream().map(ItemStock::from).toList() : items;
+    }
+
+    private ResponseEntity<?> served(HttpStatus status, Object body) {
+        return ResponseEntity.status(status)
+                .header(ClusterRouter.SERVED_BY, clusterRouter.selfId())
+                .body(body);
+    }
 }
@@ -0,0 +1,41 @@
+package com.inventory.engine.dto;
+
+public class AlertStats {
+
+    private final int watched;
+    private final int low;
+    private final long checks;
+    private final long raised;
+    private final long recovered;
+    private final long delivered;
+    private final long dropped;
+
+    public AlertStats(int watched, int low, long checks, long raised, long recovered, long delivered, long dropped) {
+        this.watched = watched;
+        this.low = low;
+        this.checks = checks;
+        this.raised = raised;
+        this.recovered = recovered;
+        this.delivered = delivered;
+        this.dropped = dropped;
+    }
+
+    /** SKUs with a low-stock threshold. */
+    public int getWatched() { return watched; }
+
+    /** Watched SKUs currently below their threshold. */
+    public int getLow() { return low; }
+
+    /** Committed writes to watched SKUs checked since startup. */
+    public long getChecks() { return checks; }
+
+    public long getRaised() { return raised; }
+
+    public long getRecovered() { return recovered; }
+
+    /** Alert deliveries that every sink accepted. */
+    public long getDelivered() { return delivered; }
+
+    /** Alerts discarded because the delivery queue was full. */
+    public long getDropped() { return dropped; }
+}
@@ -0,0 +1,43 @@
+package com.inventory.engine.dto;
+
+import com.inventory.engine.audit.AuditMode;
+
+import java.time.Instant;
+
+public class AuditStats {
+
+    private final AuditMode mode;
+    private final long backlog;
+    private final long maxBacklog;
+    private final long drainedTotal;
+    private final long backpressureRejections;
+    private final Long oldestPendingAgeMs;
+    private final Instant lastDrainAt;
+
+    public AuditStats(AuditMode mode, long backlog, long maxBacklog, long drainedTotal,
+                      long backpressureRejections, Long oldestPendingAgeMs, Instant lastDrainAt) {
+        this.mode = mode;
+        this.backlog = backlog;
+        this.maxBacklog = maxBacklog;
+        this.drainedTotal = drainedTotal;
+        this.backpressureRejections = backpressureRejections;
+        this.oldestPendingAgeMs = oldestPendingAgeMs;
+        this.lastDrainAt = lastDrainAt;
+    }
+
+    public AuditMode getMode() { return mode; }
+
+    /** Outbox records committed by this node and not yet drained. */
+    public long getBacklog() { return backlog; }
+
+    public long getMaxBacklog() { return maxBacklog; }
+
+    public long getDrainedTotal() { return drainedTotal; }
+
+    public long getBackpressureRejections() { return backpressureRejections; }
+
+    /** Age of the oldest record in the outbox table, or null if it is empty. */
+    public Long getOldestPendingAgeMs() { return oldestPendingAgeMs; }
+
+    public Instant getLastDrainAt() { return lastDrainAt; }
+}
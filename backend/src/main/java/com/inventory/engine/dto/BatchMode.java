@@ -0,0 +1,13 @@
+package com.inventory.engine.dto;
+
+/**
+ * How a batch stock update treats lines that cannot be applied.
+ */
+public enum BatchMode {
+
+    /** Any rejected line rolls back the whole batch. */
+    ALL_OR_NOTHING,
+
+    /** Valid lines are committed; rejected lines are reported individually. */
+    BEST_EFFORT
+}
@@ -0,0 +1,31 @@
+package com.inventory.engine.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchStockUpdateRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull StockUpdateRequest> items;
+
+    @NotNull
+    private BatchMode mode = BatchMode.ALL_OR_NOTHING;
+
+    public BatchStockUpdateRequest() {}
+
+    public BatchStockUpdateRequest(List<StockUpdateRequest> items, BatchMode mode) {
+        this.items = items;
+        this.mode = mode;
+    }
+
+    public List<StockUpdateRequest> getItems() { return items; }
+    public void setItems(List<StockUpdateRequest> items) { this.items = items; }
+
+    public BatchMode getMode() { return mode; }
+    public void setMode(BatchMode mode) { this.mode = mode; }
+}
@@ -0,0 +1,39 @@
+package com.inventory.engine.dto;
+
+import java.util.List;
+
+public class BatchStockUpdateResponse {
+
+    private boolean success;
+    private BatchMode mode;
+    private int appliedCount;
+    private int rejectedCount;
+    /** One entry per request line, in request order. */
+    private List<StockUpdateResponse> results;
+
+    public BatchStockUpdateResponse() {}
+
+    public BatchStockUpdateResponse(boolean success, BatchMode mode, int appliedCount,
+                                    int rejectedCount, List<StockUpdateResponse> results) {
+        this.success = success;
+        this.mode = mode;
+        this.appliedCount = appliedCount;
+        this.rejectedCount = rejectedCount;
+        this.results = results;
+    }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public BatchMode getMode() { return mode; }
+    public void setMode(BatchMode mode) { this.mode = mode; }
+
+    public int getAppliedCount() { return appliedCount; }
+    public void setAppliedCount(int appliedCount) { this.appliedCount = appliedCount; }
+
+    public int getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(int rejectedCount) { this.rejectedCount = rejectedCount; }
+
+    public List<StockUpdateResponse> getResults() { return results; }
+    public void setResults(List<StockUpdateResponse> results) { this.results = results; }
+}
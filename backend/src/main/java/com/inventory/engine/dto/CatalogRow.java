@@ -0,0 +1,27 @@
+package com.inventory.engine.dto;
+
+/**
+ * One line of a catalog import. CSV columns and NDJSON fields share these
+ * names; CSV headers may also use {@code product_name} and {@code warehouse_id}.
+ */
+public class CatalogRow {
+
+    private String sku;
+    private String productName;
+    private Integer quantity;
+    private String warehouseId;
+
+    public CatalogRow() {}
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public String getWarehouseId() { return warehouseId; }
+    public void setWarehouseId(String warehouseId) { this.warehouseId = warehouseId; }
+}
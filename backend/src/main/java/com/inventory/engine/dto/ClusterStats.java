@@ -0,0 +1,55 @@
+package com.inventory.engine.dto;
+
+import java.util.Map;
+
+public class ClusterStats {
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final Map<String, Double> ownership;
+    private final WriteMode ownerWriteMode;
+    private final long ownedLocally;
+    private final long forwarded;
+    private final long receivedForwarded;
+    private final long fallbacks;
+    private final long forwardFailures;
+
+    public ClusterStats(boolean enabled, String nodeId, Map<String, Double> ownership, WriteMode ownerWriteMode,
+                        long ownedLocally, long forwarded, long receivedForwarded, long fallbacks,
+                        long forwardFailures) {
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.ownership = ownership;
+        this.ownerWriteMode = ownerWriteMode;
+        this.ownedLocally = ownedLocally;
+        this.forwarded = forwarded;
+        this.receivedForwarded = receivedForwarded;
+        this.fallbacks = fallbacks;
+        this.forwardFailures = forwardFailures;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public String getNodeId() { return nodeId; }
+
+    /** Share of the SKU hash space owned by each member. */
+    public Map<String, Double> getOwnership() { return ownership; }
+
+    /** Write mode for owned updates that do not name one. */
+    public WriteMode getOwnerWriteMode() { return ownerWriteMode; }
+
+    /** Updates sent to this node for SKUs it owns. */
+    public long getOwnedLocally() { return ownedLocally; }
+
+    /** Updates this node sent on to their owner. */
+    public long getForwarded() { return forwarded; }
+
+    /** Updates another node forwarded here. */
+    public long getReceivedForwarded() { return receivedForwarded; }
+
+    /** Updates applied here because their owner refused the connection. */
+    public long getFallbacks() { return fallbacks; }
+
+    /** Forwards that failed after being sent, answered with 503. */
+    public long getForwardFailures() { return forwardFailures; }
+}
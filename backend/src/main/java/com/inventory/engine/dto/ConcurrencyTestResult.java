@@ -1,5 +1,7 @@
 package com.inventory.engine.dto;
 
+import java.util.List;
+
 public class ConcurrencyTestResult {
 
     private int totalRequests;
@@ -8,6 +10,20 @@ public class ConcurrencyTestResult {
     private Integer finalQuantity;
     private Long finalVersion;
     private long durationMs;
+    private int retryCount;
+    private List<Long> attemptLatenciesMicros;
+    private String threading;
+    private int readCount;
+    private int writeCount;
+    private int insufficientStockCount;
+    private int errorCount;
+    private int droppedCount;
+    private Integer targetOpsPerSecond;
+    private double achievedOpsPerSecond;
+    private double conflictRate;
+    private double retryRate;
+    private LatencySummary latency;
+    private List<ThroughputSample> throughputTimeline;
 
     public ConcurrencyTestResult() {}
 
@@ -28,4 +44,52 @@ public class ConcurrencyTestResult {
 
     public long getDurationMs() { return durationMs; }
     public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public int getRetryCount() { return retryCount; }
+    public void setRetryCount(int retryCount) { this.retryCount = retryCount; }
+
+    public List<Long> getAttemptLatenciesMicros() { return attemptLatenciesMicros; }
+    public void setAttemptLatenciesMicros(List<Long> attemptLatenciesMicros) {
+        this.attemptLatenciesMicros = attemptLatenciesMicros;
+    }
+
+    public String getThreading() { return threading; }
+    public void setThreading(String threading) { this.threading = threading; }
+
+    public int getReadCount() { return readCount; }
+    public void setReadCount(int readCount) { this.readCount = readCount; }
+
+    public int getWriteCount() { return writeCount; }
+    public void setWriteCount(int writeCount) { this.writeCount = writeCount; }
+
+    public int getInsufficientStockCount() { return insufficientStockCount; }
+    public void setInsufficientStockCount(int insufficientStockCount) {
+        this.insufficientStockCount = insufficientStockCount;
+    }
+
+    public int getErrorCount() { return errorCount; }
+    public void setErrorCount(int errorCount) { this.errorCount = errorCount; }
+
+    public int getDroppedCount() { return droppedCount; }
+    public void setDroppedCount(int droppedCount) { this.droppedCount = droppedCount; }
+
+    public Integer getTargetOpsPerSecond() { return targetOpsPerSecond; }
+    public void setTargetOpsPerSecond(Integer targetOpsPerSecond) { this.targetOpsPerSecond = targetOpsPerSecond; }
+
+    public double getAchievedOpsPerSecond() { return achievedOpsPerSecond; }
+    public void setAchievedOpsPerSecond(double achievedOpsPerSecond) { this.achievedOpsPerSecond = achievedOpsPerSecond; }
+
+    public double getConflictRate() { return conflictRate; }
+    public void setConflictRate(double conflictRate) { this.conflictRate = conflictRate; }
+
+    public double getRetryRate() { return retryRate; }
+    public void setRetryRate(double retryRate) { this.retryRate = retryRate; }
+
+    public LatencySummary getLatency() { return latency; }
+    public void setLatency(LatencySummary latency) { this.latency = latency; }
+
+    public List<ThroughputSample> getThroughputTimeline() { return throughputTimeline; }
+    public void setThroughputTimeline(List<ThroughputSample> throughputTimeline) {
+        this.throughputTimeline = throughputTimeline;
+    }
 }
@@ -0,0 +1,26 @@
+package com.inventory.engine.dto;
+
+public class ContendedSku {
+
+    private final String sku;
+    private final String warehouseId;
+    private final long count;
+    private final long error;
+
+    public ContendedSku(String sku, String warehouseId, long count, long error) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.count = count;
+        this.error = error;
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    /** Conflicted or queued writes counted for this SKU; an upper bound on the true figure. */
+    public long getCount() { return count; }
+
+    /** How much of {@code count} may belong to SKUs this one evicted from the sketch. */
+    public long getError() { return error; }
+}
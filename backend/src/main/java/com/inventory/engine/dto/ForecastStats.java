@@ -0,0 +1,61 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+
+public class ForecastStats {
+
+    private final boolean rebuilding;
+    private final int historyDays;
+    private final int seriesCount;
+    private final long rangesScanned;
+    private final long rangesTotal;
+    private final long rowsScanned;
+    private final long incrementalRows;
+    private final Instant lastRebuildAt;
+    private final Long lastRebuildMs;
+    private final Long lastRebuildRowsPerSecond;
+    private final String lastError;
+
+    public ForecastStats(boolean rebuilding, int historyDays, int seriesCount, long rangesScanned,
+                         long rangesTotal, long rowsScanned, long incrementalRows, Instant lastRebuildAt,
+                         Long lastRebuildMs, Long lastRebuildRowsPerSecond, String lastError) {
+        this.rebuilding = rebuilding;
+        this.historyDays = historyDays;
+        this.seriesCount = seriesCount;
+        this.rangesScanned = rangesScanned;
+        this.rangesTotal = rangesTotal;
+        this.rowsScanned = rowsScanned;
+        this.incrementalRows = incrementalRows;
+        this.lastRebuildAt = lastRebuildAt;
+        this.lastRebuildMs = lastRebuildMs;
+        this.lastRebuildRowsPerSecond = lastRebuildRowsPerSecond;
+        this.lastError = lastError;
+    }
+
+    public boolean isRebuilding() { return rebuilding; }
+
+    public int getHistoryDays() { return historyDays; }
+
+    /** (sku, warehouse) pairs with demand in the model. */
+    public int getSeriesCount() { return seriesCount; }
+
+    /** Block ranges folded so far by the current (or last) rebuild. */
+    public long getRangesScanned() { return rangesScanned; }
+
+    public long getRangesTotal() { return rangesTotal; }
+
+    /** DEDUCT rows read by the current (or last) rebuild. */
+    public long getRowsScanned() { return rowsScanned; }
+
+    /** DEDUCT rows applied from committed writes since startup. */
+    public long getIncrementalRows() { return incrementalRows; }
+
+    /** When the last completed rebuild started; its scan covers rows up to this instant. */
+    public Instant getLastRebuildAt() { return lastRebuildAt; }
+
+    public Long getLastRebuildMs() { return lastRebuildMs; }
+
+    public Long getLastRebuildRowsPerSecond() { return lastRebuildRowsPerSecond; }
+
+    public String getLastError() { return lastError; }
+}
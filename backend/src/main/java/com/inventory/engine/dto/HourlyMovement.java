@@ -0,0 +1,35 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+
+public class HourlyMovement {
+
+    private final String warehouseId;
+    private final Instant bucketStart;
+    private final long movementCount;
+    private final long unitsIn;
+    private final long unitsOut;
+    private final long netChange;
+
+    public HourlyMovement(String warehouseId, Instant bucketStart, long movementCount,
+                          long unitsIn, long unitsOut, long netChange) {
+        this.warehouseId = warehouseId;
+        this.bucketStart = bucketStart;
+        this.movementCount = movementCount;
+        this.unitsIn = unitsIn;
+        this.unitsOut = unitsOut;
+        this.netChange = netChange;
+    }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public Instant getBucketStart() { return bucketStart; }
+
+    public long getMovementCount() { return movementCount; }
+
+    public long getUnitsIn() { return unitsIn; }
+
+    public long getUnitsOut() { return unitsOut; }
+
+    public long getNetChange() { return netChange; }
+}
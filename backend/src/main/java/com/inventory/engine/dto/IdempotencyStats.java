@@ -0,0 +1,47 @@
+package com.inventory.engine.dto;
+
+public class IdempotencyStats {
+
+    private final int entries;
+    private final int maxEntries;
+    private final long ttlSeconds;
+    private final long executed;
+    private final long replayed;
+    private final long collapsed;
+    private final long storedReplays;
+    private final long purged;
+
+    public IdempotencyStats(int entries, int maxEntries, long ttlSeconds, long executed, long replayed,
+                            long collapsed, long storedReplays, long purged) {
+        this.entries = entries;
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.executed = executed;
+        this.replayed = replayed;
+        this.collapsed = collapsed;
+        this.storedReplays = storedReplays;
+        this.purged = purged;
+    }
+
+    /** Keys currently held in memory on this node. */
+    public int getEntries() { return entries; }
+
+    public int getMaxEntries() { return maxEntries; }
+
+    public long getTtlSeconds() { return ttlSeconds; }
+
+    /** Keyed requests that ran a stock write. */
+    public long getExecuted() { return executed; }
+
+    /** Repeats answered from memory after the first request finished. */
+    public long getReplayed() { return replayed; }
+
+    /** Repeats that arrived while the first was running and waited for its result. */
+    public long getCollapsed() { return collapsed; }
+
+    /** Repeats answered from idempotency_keys: first sent to another node or before a restart. */
+    public long getStoredReplays() { return storedReplays; }
+
+    /** Expired rows deleted from idempotency_keys by this node. */
+    public long getPurged() { return purged; }
+}
@@ -0,0 +1,13 @@
+package com.inventory.engine.dto;
+
+/**
+ * Body formats accepted by {@code POST /api/inventory/import}.
+ */
+public enum ImportFormat {
+
+    /** {@code text/csv} with a header row; quoted fields may contain commas, quotes and newlines. */
+    CSV,
+
+    /** {@code application/x-ndjson}, one {@link CatalogRow} object per line. */
+    NDJSON
+}
@@ -0,0 +1,18 @@
+package com.inventory.engine.dto;
+
+/**
+ * Progress of a catalog import. COMPLETED and FAILED are final.
+ */
+public enum ImportPhase {
+
+    /** The body is being parsed and copied into the staging table. */
+    STAGING,
+
+    /** Staged rows are being upserted into inventory_items. */
+    MERGING,
+
+    COMPLETED,
+
+    /** Nothing was committed; see the import's errors. */
+    FAILED
+}
@@ -0,0 +1,80 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ImportStatus {
+
+    private final long id;
+    private final ImportFormat format;
+    private final BatchMode mode;
+    private final ImportPhase phase;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final long rowsRead;
+    private final long rowsRejected;
+    private final long distinctSkus;
+    private final long inserted;
+    private final long updated;
+    private final long unchanged;
+    private final long belowReserved;
+    private final long rowsPerSecond;
+    private final List<String> errors;
+
+    public ImportStatus(long id, ImportFormat format, BatchMode mode, ImportPhase phase,
+                        Instant startedAt, Instant finishedAt, long rowsRead, long rowsRejected,
+                        long distinctSkus, long inserted, long updated, long unchanged, long belowReserved,
+                        long rowsPerSecond, List<String> errors) {
+        this.id = id;
+        this.format = format;
+        this.mode = mode;
+        this.phase = phase;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.rowsRead = rowsRead;
+        this.rowsRejected = rowsRejected;
+        this.distinctSkus = distinctSkus;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.belowReserved = belowReserved;
+        this.rowsPerSecond = rowsPerSecond;
+        this.errors = errors;
+    }
+
+    public long getId() { return id; }
+
+    public ImportFormat getFormat() { return format; }
+
+    public BatchMode getMode() { return mode; }
+
+    public ImportPhase getPhase() { return phase; }
+
+    public Instant getStartedAt() { return startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+
+    /** Data rows parsed so far, valid or not. */
+    public long getRowsRead() { return rowsRead; }
+
+    /** Rows skipped as malformed (BEST_EFFORT only). */
+    public long getRowsRejected() { return rowsRejected; }
+
+    /** SKUs after de-duplication; the last row for a SKU wins. */
+    public long getDistinctSkus() { return distinctSkus; }
+
+    public long getInserted() { return inserted; }
+
+    public long getUpdated() { return updated; }
+
+    /** SKUs whose name, quantity and warehouse already matched. */
+    public long getUnchanged() { return unchanged; }
+
+    /** SKUs left alone because the new quantity was below their reserved quantity. */
+    public long getBelowReserved() { return belowReserved; }
+
+    public long getRowsPerSecond() { return rowsPerSecond; }
+
+    /** The first few rejected rows. */
+    public List<String> getErrors() { return errors; }
+}
@@ -0,0 +1,74 @@
+package com.inventory.engine.dto;
+
+import java.util.List;
+
+public class InvariantCheckResult {
+
+    private String sku;
+    private WriteMode writeMode;
+    private int runs;
+    private int requestsPerRun;
+    private int committedCount;
+    private int conflictCount;
+    private int insufficientStockCount;
+    private int errorCount;
+    private int initialQuantity;
+    private int finalQuantity;
+    private long committedDelta;
+    private long loggedDelta;
+    private int violationCount;
+    private List<String> violations;
+    private long durationMs;
+
+    public InvariantCheckResult() {}
+
+    /** True when every run satisfied every invariant. */
+    public boolean isPassed() { return violationCount == 0; }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public WriteMode getWriteMode() { return writeMode; }
+    public void setWriteMode(WriteMode writeMode) { this.writeMode = writeMode; }
+
+    public int getRuns() { return runs; }
+    public void setRuns(int runs) { this.runs = runs; }
+
+    public int getRequestsPerRun() { return requestsPerRun; }
+    public void setRequestsPerRun(int requestsPerRun) { this.requestsPerRun = requestsPerRun; }
+
+    public int getCommittedCount() { return committedCount; }
+    public void setCommittedCount(int committedCount) { this.committedCount = committedCount; }
+
+    public int getConflictCount() { return conflictCount; }
+    public void setConflictCount(int conflictCount) { this.conflictCount = conflictCount; }
+
+    public int getInsufficientStockCount() { return insufficientStockCount; }
+    public void setInsufficientStockCount(int insufficientStockCount) {
+        this.insufficientStockCount = insufficientStockCount;
+    }
+
+    public int getErrorCount() { return errorCount; }
+    public void setErrorCount(int errorCount) { this.errorCount = errorCount; }
+
+    public int getInitialQuantity() { return initialQuantity; }
+    public void setInitialQuantity(int initialQuantity) { this.initialQuantity = initialQuantity; }
+
+    public int getFinalQuantity() { return finalQuantity; }
+    public void setFinalQuantity(int finalQuantity) { this.finalQuantity = finalQuantity; }
+
+    public long getCommittedDelta() { return committedDelta; }
+    public void setCommittedDelta(long committedDelta) { this.committedDelta = committedDelta; }
+
+    public long getLoggedDelta() { return loggedDelta; }
+    public void setLoggedDelta(long loggedDelta) { this.loggedDelta = loggedDelta; }
+
+    public int getViolationCount() { return violationCount; }
+    public void setViolationCount(int violationCount) { this.violationCount = violationCount; }
+
+    public List<String> getViolations() { return violations; }
+    public void setViolations(List<String> violations) { this.violations = violations; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
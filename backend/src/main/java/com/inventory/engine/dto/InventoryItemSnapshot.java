@@ -0,0 +1,79 @@
+package com.inventory.engine.dto;
+
+import com.inventory.engine.entity.InventoryItem;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of an {@link InventoryItem} row, safe to share between threads
+ * and to hand out from the cache without a persistence context. Serializes to
+ * the same JSON shape as the entity.
+ */
+public final class InventoryItemSnapshot {
+
+    private final Long id;
+    private final String sku;
+    private final String productName;
+    private final int quantity;
+    private final int reservedQuantity;
+    private final String warehouseId;
+    private final long version;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    public InventoryItemSnapshot(Long id, String sku, String productName, int quantity,
+                                 int reservedQuantity, String warehouseId, long version,
+                                 Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.sku = sku;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+        this.warehouseId = warehouseId;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static InventoryItemSnapshot from(InventoryItem item) {
+        return new InventoryItemSnapshot(
+                item.getId(),
+                item.getSku(),
+                item.getProductName(),
+                item.getQuantity(),
+                item.getReservedQuantity(),
+                item.getWarehouseId(),
+                item.getVersion() != null ? item.getVersion() : 0L,
+                item.getCreatedAt(),
+                item.getUpdatedAt());
+    }
+
+    /** A null {@code newReservedQuantity} keeps the current one. */
+    public InventoryItemSnapshot withStock(int newQuantity, Integer newReservedQuantity, long newVersion,
+                                           Instant newUpdatedAt) {
+        return new InventoryItemSnapshot(id, sku, productName, newQuantity,
+                newReservedQuantity != null ? newReservedQuantity : reservedQuantity,
+                warehouseId, newVersion, createdAt, newUpdatedAt);
+    }
+
+    public Long getId() { return id; }
+
+    public String getSku() { return sku; }
+
+    public String getProductName() { return productName; }
+
+    public int getQuantity() { return quantity; }
+
+    public int getReservedQuantity() { return reservedQuantity; }
+
+    /** Available to promise: on-hand units not held by a reservation. */
+    public int getAvailableQuantity() { return quantity - reservedQuantity; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public long getVersion() { return version; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,55 @@
+package com.inventory.engine.dto;
+
+import com.inventory.engine.entity.InventoryLog;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of an {@link InventoryLog} row, so log listings are encoded
+ * from a plain value rather than from a (possibly managed) entity. Serializes
+ * to the same shape as the entity.
+ */
+public final class InventoryLogEntry {
+
+    private final Long id;
+    private final String warehouseId;
+    private final String sku;
+    private final String action;
+    private final int quantityChange;
+    private final Integer resultingQuantity;
+    private final Instant timestamp;
+    private final String details;
+
+    public InventoryLogEntry(Long id, String warehouseId, String sku, String action, int quantityChange,
+                             Integer resultingQuantity, Instant timestamp, String details) {
+        this.id = id;
+        this.warehouseId = warehouseId;
+        this.sku = sku;
+        this.action = action;
+        this.quantityChange = quantityChange;
+        this.resultingQuantity = resultingQuantity;
+        this.timestamp = timestamp;
+        this.details = details;
+    }
+
+    public static InventoryLogEntry from(InventoryLog log) {
+        return new InventoryLogEntry(log.getId(), log.getWarehouseId(), log.getSku(), log.getAction(),
+                log.getQuantityChange(), log.getResultingQuantity(), log.getTimestamp(), log.getDetails());
+    }
+
+    public Long getId() { return id; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public String getSku() { return sku; }
+
+    public String getAction() { return action; }
+
+    public int getQuantityChange() { return quantityChange; }
+
+    public Integer getResultingQuantity() { return resultingQuantity; }
+
+    public Instant getTimestamp() { return timestamp; }
+
+    public String getDetails() { return details; }
+}
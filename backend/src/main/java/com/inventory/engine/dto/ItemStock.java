@@ -0,0 +1,38 @@
+package com.inventory.engine.dto;
+
+/**
+ * The stock columns of an item, for listings fetched with {@code view=STOCK}:
+ * scanners and the order service poll these, and the product name, row id and
+ * timestamps are most of a {@link InventoryItemSnapshot}'s encoded size.
+ */
+public final class ItemStock {
+
+    private final String sku;
+    private final String warehouseId;
+    private final int quantity;
+    private final int reservedQuantity;
+    private final long version;
+
+    public ItemStock(String sku, String warehouseId, int quantity, int reservedQuantity, long version) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+        this.version = version;
+    }
+
+    public static ItemStock from(InventoryItemSnapshot item) {
+        return new ItemStock(item.getSku(), item.getWarehouseId(), item.getQuantity(),
+                item.getReservedQuantity(), item.getVersion());
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public int getQuantity() { return quantity; }
+
+    public int getReservedQuantity() { return reservedQuantity; }
+
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,13 @@
+package com.inventory.engine.dto;
+
+/**
+ * Shape of the items in an inventory listing.
+ */
+public enum ItemView {
+
+    /** Every column of the item, as {@link InventoryItemSnapshot}. */
+    FULL,
+
+    /** Only what a stock check needs, as {@link ItemStock}. */
+    STOCK
+}
@@ -0,0 +1,38 @@
+package com.inventory.engine.dto;
+
+/** Latency percentiles in microseconds, read from an HdrHistogram. */
+public class LatencySummary {
+
+    private final long count;
+    private final double meanMicros;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+
+    public LatencySummary(long count, double meanMicros, long p50Micros, long p90Micros,
+                          long p99Micros, long p999Micros, long maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public long getCount() { return count; }
+
+    public double getMeanMicros() { return meanMicros; }
+
+    public long getP50Micros() { return p50Micros; }
+
+    public long getP90Micros() { return p90Micros; }
+
+    public long getP99Micros() { return p99Micros; }
+
+    public long getP999Micros() { return p999Micros; }
+
+    public long getMaxMicros() { return maxMicros; }
+}
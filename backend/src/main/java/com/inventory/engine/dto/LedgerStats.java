@@ -0,0 +1,61 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+
+public class LedgerStats {
+
+    private final boolean enabled;
+    private final int shards;
+    private final int skus;
+    private final long appendedTotal;
+    private final long persistedTotal;
+    private final long writeBehindBacklog;
+    private final int queuedMutations;
+    private final long journalBytes;
+    private final int journalSegments;
+    private final int failedShards;
+    private final Instant lastPersistAt;
+
+    public LedgerStats(boolean enabled, int shards, int skus, long appendedTotal, long persistedTotal,
+                       long writeBehindBacklog, int queuedMutations, long journalBytes, int journalSegments,
+                       int failedShards, Instant lastPersistAt) {
+        this.enabled = enabled;
+        this.shards = shards;
+        this.skus = skus;
+        this.appendedTotal = appendedTotal;
+        this.persistedTotal = persistedTotal;
+        this.writeBehindBacklog = writeBehindBacklog;
+        this.queuedMutations = queuedMutations;
+        this.journalBytes = journalBytes;
+        this.journalSegments = journalSegments;
+        this.failedShards = failedShards;
+        this.lastPersistAt = lastPersistAt;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public int getShards() { return shards; }
+
+    public int getSkus() { return skus; }
+
+    /** Mutations applied and synced to the shard journals since startup. */
+    public long getAppendedTotal() { return appendedTotal; }
+
+    public long getPersistedTotal() { return persistedTotal; }
+
+    /** Acknowledged mutations not yet written to the database. */
+    public long getWriteBehindBacklog() { return writeBehindBacklog; }
+
+    /** Mutations waiting for their shard thread. */
+    public int getQueuedMutations() { return queuedMutations; }
+
+    /** Bytes of records in live journal segments, persisted or not. */
+    public long getJournalBytes() { return journalBytes; }
+
+    public int getJournalSegments() { return journalSegments; }
+
+    /** Shards refusing writes after a journal write or sync failure. */
+    public int getFailedShards() { return failedShards; }
+
+    public Instant getLastPersistAt() { return lastPersistAt; }
+}
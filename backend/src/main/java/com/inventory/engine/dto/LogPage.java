@@ -0,0 +1,19 @@
+package com.inventory.engine.dto;
+
+import java.util.List;
+
+public class LogPage {
+
+    private final List<InventoryLogEntry> items;
+    /** Opaque token for the next page, or null when this is the last page. */
+    private final String nextCursor;
+
+    public LogPage(List<InventoryLogEntry> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InventoryLogEntry> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,45 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+
+public class LowStockAlert {
+
+    private final String sku;
+    private final String warehouseId;
+    private final LowStockTransition transition;
+    private final int quantity;
+    private final int threshold;
+    private final int clearLevel;
+    private final long version;
+    private final Instant timestamp;
+
+    public LowStockAlert(String sku, String warehouseId, LowStockTransition transition, int quantity,
+                         int threshold, int clearLevel, long version, Instant timestamp) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.transition = transition;
+        this.quantity = quantity;
+        this.threshold = threshold;
+        this.clearLevel = clearLevel;
+        this.version = version;
+        this.timestamp = timestamp;
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public LowStockTransition getTransition() { return transition; }
+
+    /** Quantity after the write that crossed the band. */
+    public int getQuantity() { return quantity; }
+
+    public int getThreshold() { return threshold; }
+
+    public int getClearLevel() { return clearLevel; }
+
+    /** Row version of that write. */
+    public long getVersion() { return version; }
+
+    public Instant getTimestamp() { return timestamp; }
+}
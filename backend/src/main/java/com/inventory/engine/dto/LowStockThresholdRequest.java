@@ -0,0 +1,20 @@
+package com.inventory.engine.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class LowStockThresholdRequest {
+
+    @NotNull
+    @Min(0)
+    private Integer threshold;
+
+    public LowStockThresholdRequest() {}
+
+    public LowStockThresholdRequest(Integer threshold) {
+        this.threshold = threshold;
+    }
+
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+}
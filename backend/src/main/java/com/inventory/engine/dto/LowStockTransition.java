@@ -0,0 +1,9 @@
+package com.inventory.engine.dto;
+
+/** Direction in which a watched SKU crossed its low-stock band. */
+public enum LowStockTransition {
+    /** Quantity fell below the threshold. */
+    LOW,
+    /** Quantity climbed back to the clear level (threshold plus hysteresis). */
+    RECOVERED
+}
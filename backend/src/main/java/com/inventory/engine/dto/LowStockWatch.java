@@ -0,0 +1,33 @@
+package com.inventory.engine.dto;
+
+public class LowStockWatch {
+
+    private final String sku;
+    private final String warehouseId;
+    private final int threshold;
+    private final int clearLevel;
+    private final int quantity;
+    private final boolean low;
+
+    public LowStockWatch(String sku, String warehouseId, int threshold, int clearLevel, int quantity, boolean low) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.threshold = threshold;
+        this.clearLevel = clearLevel;
+        this.quantity = quantity;
+        this.low = low;
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public int getThreshold() { return threshold; }
+
+    public int getClearLevel() { return clearLevel; }
+
+    /** Quantity after the latest write seen by this node. */
+    public int getQuantity() { return quantity; }
+
+    public boolean isLow() { return low; }
+}
@@ -0,0 +1,51 @@
+package com.inventory.engine.dto;
+
+public class ReorderSuggestion {
+
+    private final String sku;
+    private final String warehouseId;
+    private final double dailyDemand;
+    private final double demandDeviation;
+    private final int quantity;
+    private final int availableQuantity;
+    private final Double daysOfCover;
+    private final long reorderPoint;
+    private final long suggestedOrderQuantity;
+
+    public ReorderSuggestion(String sku, String warehouseId, double dailyDemand, double demandDeviation,
+                             int quantity, int availableQuantity, Double daysOfCover,
+                             long reorderPoint, long suggestedOrderQuantity) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.dailyDemand = dailyDemand;
+        this.demandDeviation = demandDeviation;
+        this.quantity = quantity;
+        this.availableQuantity = availableQuantity;
+        this.daysOfCover = daysOfCover;
+        this.reorderPoint = reorderPoint;
+        this.suggestedOrderQuantity = suggestedOrderQuantity;
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    /** Exponentially smoothed units deducted per day. */
+    public double getDailyDemand() { return dailyDemand; }
+
+    /** Estimated standard deviation of daily demand, from the smoothed absolute forecast error. */
+    public double getDemandDeviation() { return demandDeviation; }
+
+    public int getQuantity() { return quantity; }
+
+    public int getAvailableQuantity() { return availableQuantity; }
+
+    /** Days until available stock runs out at the forecast rate; null when there is no demand. */
+    public Double getDaysOfCover() { return daysOfCover; }
+
+    /** Lead-time demand plus safety stock; reorder once available stock is at or below it. */
+    public long getReorderPoint() { return reorderPoint; }
+
+    /** Units to order now to cover lead time plus the order cover period; 0 above the reorder point. */
+    public long getSuggestedOrderQuantity() { return suggestedOrderQuantity; }
+}
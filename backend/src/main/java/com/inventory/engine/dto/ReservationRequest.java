@@ -0,0 +1,36 @@
+package com.inventory.engine.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class ReservationRequest {
+
+    @NotBlank
+    private String sku;
+
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    /** Optional; falls back to {@code inventory.reservations.default-ttl-seconds}. */
+    @Min(1)
+    private Integer ttlSeconds;
+
+    public ReservationRequest() {}
+
+    public ReservationRequest(String sku, Integer quantity, Integer ttlSeconds) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Integer getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(Integer ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+}
@@ -0,0 +1,51 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a hold, commit or release, with the item's stock as left by the
+ * same statement.
+ */
+public class ReservationResponse {
+
+    private final long reservationId;
+    private final ReservationStatus status;
+    private final String sku;
+    private final int quantity;
+    private final Instant expiresAt;
+    private final int onHandQuantity;
+    private final int reservedQuantity;
+    private final long version;
+
+    public ReservationResponse(long reservationId, ReservationStatus status, String sku, int quantity,
+                               Instant expiresAt, int onHandQuantity, int reservedQuantity, long version) {
+        this.reservationId = reservationId;
+        this.status = status;
+        this.sku = sku;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+        this.onHandQuantity = onHandQuantity;
+        this.reservedQuantity = reservedQuantity;
+        this.version = version;
+    }
+
+    public long getReservationId() { return reservationId; }
+
+    public ReservationStatus getStatus() { return status; }
+
+    public String getSku() { return sku; }
+
+    /** Units held by this reservation. */
+    public int getQuantity() { return quantity; }
+
+    /** When an unresolved hold expires; null once committed or released. */
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public int getOnHandQuantity() { return onHandQuantity; }
+
+    public int getReservedQuantity() { return reservedQuantity; }
+
+    public int getAvailableQuantity() { return onHandQuantity - reservedQuantity; }
+
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,41 @@
+package com.inventory.engine.dto;
+
+import java.time.Instant;
+
+public class ReservationStats {
+
+    private final int activeHolds;
+    private final long heldTotal;
+    private final long committedTotal;
+    private final long releasedTotal;
+    private final long expiredTotal;
+    private final long expiryFailures;
+    private final Instant lastExpiryAt;
+
+    public ReservationStats(int activeHolds, long heldTotal, long committedTotal, long releasedTotal,
+                            long expiredTotal, long expiryFailures, Instant lastExpiryAt) {
+        this.activeHolds = activeHolds;
+        this.heldTotal = heldTotal;
+        this.committedTotal = committedTotal;
+        this.releasedTotal = releasedTotal;
+        this.expiredTotal = expiredTotal;
+        this.expiryFailures = expiryFailures;
+        this.lastExpiryAt = lastExpiryAt;
+    }
+
+    /** Holds this node's expiry wheel is tracking. */
+    public int getActiveHolds() { return activeHolds; }
+
+    public long getHeldTotal() { return heldTotal; }
+
+    public long getCommittedTotal() { return committedTotal; }
+
+    public long getReleasedTotal() { return releasedTotal; }
+
+    public long getExpiredTotal() { return expiredTotal; }
+
+    /** Expiry statements that failed and were rescheduled. */
+    public long getExpiryFailures() { return expiryFailures; }
+
+    public Instant getLastExpiryAt() { return lastExpiryAt; }
+}
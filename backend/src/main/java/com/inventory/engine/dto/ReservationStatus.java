@@ -0,0 +1,20 @@
+package com.inventory.engine.dto;
+
+/**
+ * Lifecycle of a stock reservation. Only HELD reservations count towards an
+ * item's reserved quantity; the other states are final.
+ */
+public enum ReservationStatus {
+
+    /** Units are set aside until the reservation is committed, released or expires. */
+    HELD,
+
+    /** The held units were deducted from on-hand stock. */
+    COMMITTED,
+
+    /** The client gave the units back. */
+    RELEASED,
+
+    /** The TTL ran out before a commit or release. */
+    EXPIRED
+}
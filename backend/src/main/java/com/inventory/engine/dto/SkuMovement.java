@@ -0,0 +1,41 @@
+package com.inventory.engine.dto;
+
+public class SkuMovement {
+
+    private final String sku;
+    private final String warehouseId;
+    private final long movementCount;
+    private final long unitsIn;
+    private final long unitsOut;
+    private final long netChange;
+    private final Integer minResultingQuantity;
+    private final Integer maxResultingQuantity;
+
+    public SkuMovement(String sku, String warehouseId, long movementCount, long unitsIn, long unitsOut,
+                       long netChange, Integer minResultingQuantity, Integer maxResultingQuantity) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.movementCount = movementCount;
+        this.unitsIn = unitsIn;
+        this.unitsOut = unitsOut;
+        this.netChange = netChange;
+        this.minResultingQuantity = minResultingQuantity;
+        this.maxResultingQuantity = maxResultingQuantity;
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public long getMovementCount() { return movementCount; }
+
+    public long getUnitsIn() { return unitsIn; }
+
+    public long getUnitsOut() { return unitsOut; }
+
+    public long getNetChange() { return netChange; }
+
+    public Integer getMinResultingQuantity() { return minResultingQuantity; }
+
+    public Integer getMaxResultingQuantity() { return maxResultingQuantity; }
+}
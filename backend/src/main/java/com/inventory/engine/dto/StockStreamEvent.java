@@ -0,0 +1,76 @@
+package com.inventory.engine.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.inventory.engine.event.StockChangedEvent;
+
+import java.time.Instant;
+
+/**
+ * One SKU's latest committed stock as pushed on {@code /api/inventory/stream}.
+ * Changes to the same SKU that arrive before the subscriber's next flush are
+ * merged: the state is the highest version seen, {@code quantityChange} the
+ * net of all of them and {@code changes} their number.
+ */
+public final class StockStreamEvent {
+
+    private final long sequence;
+    private final String sku;
+    private final String warehouseId;
+    private final int quantity;
+    private final Integer reservedQuantity;
+    private final long version;
+    private final int quantityChange;
+    private final int changes;
+    private final Instant timestamp;
+
+    public StockStreamEvent(long sequence, String sku, String warehouseId, int quantity,
+                            Integer reservedQuantity, long version, int quantityChange, int changes,
+                            Instant timestamp) {
+        this.sequence = sequence;
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+        this.version = version;
+        this.quantityChange = quantityChange;
+        this.changes = changes;
+        this.timestamp = timestamp;
+    }
+
+    public static StockStreamEvent from(long sequence, StockChangedEvent event) {
+        return new StockStreamEvent(sequence, event.getSku(), event.getWarehouseId(), event.getQuantity(),
+                event.getReservedQuantity(), event.getVersion(), event.getQuantityChange(), 1,
+                event.getTimestamp());
+    }
+
+    /** Folds a later change to the same SKU into this one. */
+    public StockStreamEvent merge(StockStreamEvent later) {
+        StockStreamEvent newest = later.version >= version ? later : this;
+        Integer reserved = newest.reservedQuantity != null ? newest.reservedQuantity
+                : (later.reservedQuantity != null ? later.reservedQuantity : reservedQuantity);
+        return new StockStreamEvent(Math.max(sequence, later.sequence), sku, warehouseId, newest.quantity,
+                reserved, newest.version, quantityChange + later.quantityChange, changes + later.changes,
+                newest.timestamp);
+    }
+
+    /** Position in this node's stream; sent as the SSE event id rather than in the payload. */
+    @JsonIgnore
+    public long getSequence() { return sequence; }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public int getQuantity() { return quantity; }
+
+    /** Null when the change came from the stock ledger, which leaves reservations untouched. */
+    public Integer getReservedQuantity() { return reservedQuantity; }
+
+    public long getVersion() { return version; }
+
+    public int getQuantityChange() { return quantityChange; }
+
+    public int getChanges() { return changes; }
+
+    public Instant getTimestamp() { return timestamp; }
+}
@@ -1,5 +1,6 @@
 package com.inventory.engine.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -11,6 +12,13 @@ public class StockUpdateRequest {
     @NotNull
     private Integer quantityChange;
 
+    /** Optional; falls back to the deployment default ({@code inventory.write-mode}). */
+    private WriteMode writeMode;
+
+    /** Set from the {@code Idempotency-Key} header, never from the body. */
+    @JsonIgnore
+    private String idempotencyKey;
+
     public StockUpdateRequest() {}
 
     public StockUpdateRequest(String sku, Integer quantityChange) {
@@ -18,9 +26,20 @@ public class StockUpdateRequest {
         this.quantityChange = quantityChange;
     }
 
+    public StockUpdateRequest(String sku, Integer quantityChange, WriteMode writeMode) {
+        this(sku, quantityChange);
+        this.writeMode = writeMode;
+    }
+
     public String getSku() { return sku; }
     public void setSku(String sku) { this.sku = sku; }
 
     public Integer getQuantityChange() { return quantityChange; }
     public void setQuantityChange(Integer quantityChange) { this.quantityChange = quantityChange; }
+
+    public WriteMode getWriteMode() { return writeMode; }
+    public void setWriteMode(WriteMode writeMode) { this.writeMode = writeMode; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
@@ -0,0 +1,43 @@
+package com.inventory.engine.dto;
+
+public class StreamStats {
+
+    private final int subscribers;
+    private final long publishedTotal;
+    private final long deliveredTotal;
+    private final long coalescedTotal;
+    private final long droppedTotal;
+    private final long resumedTotal;
+    private final long snapshotsTotal;
+
+    public StreamStats(int subscribers, long publishedTotal, long deliveredTotal, long coalescedTotal,
+                       long droppedTotal, long resumedTotal, long snapshotsTotal) {
+        this.subscribers = subscribers;
+        this.publishedTotal = publishedTotal;
+        this.deliveredTotal = deliveredTotal;
+        this.coalescedTotal = coalescedTotal;
+        this.droppedTotal = droppedTotal;
+        this.resumedTotal = resumedTotal;
+        this.snapshotsTotal = snapshotsTotal;
+    }
+
+    public int getSubscribers() { return subscribers; }
+
+    /** Committed stock changes fanned out since startup. */
+    public long getPublishedTotal() { return publishedTotal; }
+
+    /** Events written to subscribers, after coalescing. */
+    public long getDeliveredTotal() { return deliveredTotal; }
+
+    /** Changes merged into a pending event for the same SKU. */
+    public long getCoalescedTotal() { return coalescedTotal; }
+
+    /** Pending events discarded because a subscriber's buffer was full. */
+    public long getDroppedTotal() { return droppedTotal; }
+
+    /** Connections that resumed from a Last-Event-ID still in the replay window. */
+    public long getResumedTotal() { return resumedTotal; }
+
+    /** Connections that started from a full snapshot instead. */
+    public long getSnapshotsTotal() { return snapshotsTotal; }
+}
@@ -0,0 +1,30 @@
+package com.inventory.engine.dto;
+
+/** Operations completed during one interval of a load test. */
+public class ThroughputSample {
+
+    private final long offsetMs;
+    private final long completed;
+    private final long conflicts;
+    private final long errors;
+    private final long p99Micros;
+
+    public ThroughputSample(long offsetMs, long completed, long conflicts, long errors, long p99Micros) {
+        this.offsetMs = offsetMs;
+        this.completed = completed;
+        this.conflicts = conflicts;
+        this.errors = errors;
+        this.p99Micros = p99Micros;
+    }
+
+    /** End of the interval, relative to the start of the run. */
+    public long getOffsetMs() { return offsetMs; }
+
+    public long getCompleted() { return completed; }
+
+    public long getConflicts() { return conflicts; }
+
+    public long getErrors() { return errors; }
+
+    public long getP99Micros() { return p99Micros; }
+}
@@ -0,0 +1,42 @@
+package com.inventory.engine.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class TransferRequest {
+
+    @NotBlank
+    private String sku;
+
+    @NotBlank
+    private String fromWarehouseId;
+
+    @NotBlank
+    private String toWarehouseId;
+
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    public TransferRequest() {}
+
+    public TransferRequest(String sku, String fromWarehouseId, String toWarehouseId, Integer quantity) {
+        this.sku = sku;
+        this.fromWarehouseId = fromWarehouseId;
+        this.toWarehouseId = toWarehouseId;
+        this.quantity = quantity;
+    }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public String getFromWarehouseId() { return fromWarehouseId; }
+    public void setFromWarehouseId(String fromWarehouseId) { this.fromWarehouseId = fromWarehouseId; }
+
+    public String getToWarehouseId() { return toWarehouseId; }
+    public void setToWarehouseId(String toWarehouseId) { this.toWarehouseId = toWarehouseId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+}
@@ -0,0 +1,48 @@
+package com.inventory.engine.dto;
+
+/**
+ * Outcome of a transfer, with both stock positions as left by it.
+ */
+public class TransferResponse {
+
+    private final String sku;
+    private final int quantity;
+    private final StockPosition from;
+    private final StockPosition to;
+
+    public TransferResponse(String sku, int quantity, StockPosition from, StockPosition to) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getSku() { return sku; }
+
+    public int getQuantity() { return quantity; }
+
+    public StockPosition getFrom() { return from; }
+
+    public StockPosition getTo() { return to; }
+
+    /** The item's stock in one warehouse. */
+    public static class StockPosition {
+
+        private final String warehouseId;
+        private final int quantity;
+        private final long version;
+
+        public StockPosition(String warehouseId, int quantity, long version) {
+            this.warehouseId = warehouseId;
+            this.quantity = quantity;
+            this.version = version;
+        }
+
+        public String getWarehouseId() { return warehouseId; }
+
+
+        public int getQuantity() { return quantity; }
+
+        public long getVersion() { return version; }
+    }
+}
@@ -0,0 +1,100 @@
+package com.inventory.engine.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
+
+/**
+ * Open-loop workload for {@code POST /api/inventory/load-test}. Operations are
+ * issued at {@code targetOpsPerSecond} whether or not earlier ones finished;
+ * each picks a SKU from a Zipfian distribution over the selected warehouses'
+ * SKUs and is a cached item read with probability {@code readRatio}, otherwise
+ * a stock update.
+ */
+public class WorkloadSpec {
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double readRatio = 0.8;
+
+    @Min(1)
+    @Max(100_000)
+    private int targetOpsPerSecond = 500;
+
+    @Min(1)
+    @Max(600)
+    private int durationSeconds = 10;
+
+    /** 0 is uniform; around 1 a few hot SKUs take most of the traffic. */
+    @DecimalMin("0.0")
+    @DecimalMax("5.0")
+    private double zipfExponent = 0.99;
+
+    /** Warehouses whose SKUs take part; all when empty. */
+    private List<String> warehouses;
+
+    /** Optional; falls back to the deployment default ({@code inventory.write-mode}). */
+    private WriteMode writeMode;
+
+    /** Share of writes that restock rather than deduct, so long runs do not drain stock. */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double restockRatio = 0.5;
+
+    @Min(1)
+    @Max(1000)
+    private int maxQuantityChange = 5;
+
+    /** Operations beyond this many outstanding are dropped and counted, not queued. */
+    @Min(1)
+    @Max(100_000)
+    private int maxInFlight = 2000;
+
+    /** Fixes which SKUs are hot and the operation sequence; random when absent. */
+    private Long seed;
+
+    /**
+     * In a cluster, only SKUs this node owns take part, as from a client that
+     * routes by owner. Otherwise every SKU does, and writes are applied here
+     * whichever node owns them.
+     */
+    private boolean ownedSkusOnly;
+
+    public WorkloadSpec() {}
+
+    public double getReadRatio() { return readRatio; }
+    public void setReadRatio(double readRatio) { this.readRatio = readRatio; }
+
+    public int getTargetOpsPerSecond() { return targetOpsPerSecond; }
+    public void setTargetOpsPerSecond(int targetOpsPerSecond) { this.targetOpsPerSecond = targetOpsPerSecond; }
+
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public double getZipfExponent() { return zipfExponent; }
+    public void setZipfExponent(double zipfExponent) { this.zipfExponent = zipfExponent; }
+
+    public List<String> getWarehouses() { return warehouses; }
+    public void setWarehouses(List<String> warehouses) { this.warehouses = warehouses; }
+
+    public WriteMode getWriteMode() { return writeMode; }
+    public void setWriteMode(WriteMode writeMode) { this.writeMode = writeMode; }
+
+    public double getRestockRatio() { return restockRatio; }
+    public void setRestockRatio(double restockRatio) { this.restockRatio = restockRatio; }
+
+    public int getMaxQuantityChange() { return maxQuantityChange; }
+    public void setMaxQuantityChange(int maxQuantityChange) { this.maxQuantityChange = maxQuantityChange; }
+
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+
+    public boolean isOwnedSkusOnly() { return ownedSkusOnly; }
+    public void setOwnedSkusOnly(boolean ownedSkusOnly) { this.ownedSkusOnly = ownedSkusOnly; }
+}
@@ -0,0 +1,22 @@
+package com.inventory.engine.dto;
+
+/**
+ * Strategy used to apply a stock delta to {@code inventory_items}.
+ */
+public enum WriteMode {
+
+    /** Read the entity, add the delta in Java, flush with a {@code @Version} check. */
+    OPTIMISTIC,
+
+    /** Apply the delta in a single guarded {@code UPDATE ... RETURNING} statement. */
+    ATOMIC,
+
+    /** Group concurrent requests per SKU and apply them as one net delta per batch. */
+    COALESCED,
+
+    /**
+     * Apply in the in-memory stock ledger and persist write-behind. Needs
+     * {@code inventory.ledger.enabled=true}, which routes every update here.
+     */
+    LEDGER
+}
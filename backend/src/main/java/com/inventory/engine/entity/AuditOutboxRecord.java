@@ -0,0 +1,57 @@
+package com.inventory.engine.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Audit record written in the same transaction as a stock change and moved into
+ * {@code inventory_logs} by the outbox drainer. The table carries only a primary
+ * key, so the insert on the write path is cheaper than a full log insert with
+ * its secondary indexes. Written and drained with plain SQL; mapped here so that
+ * the schema is managed alongside the other tables.
+ */
+@Entity
+@Table(name = "inventory_log_outbox")
+public class AuditOutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String warehouseId;
+
+    @Column(nullable = false, length = 50)
+    private String sku;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(nullable = false)
+    private Integer quantityChange;
+
+    private Integer resultingQuantity;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private String details;
+
+    public AuditOutboxRecord() {}
+
+    public Long getId() { return id; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public String getSku() { return sku; }
+
+    public String getAction() { return action; }
+
+    public Integer getQuantityChange() { return quantityChange; }
+
+    public Integer getResultingQuantity() { return resultingQuantity; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public String getDetails() { return details; }
+}
@@ -0,0 +1,53 @@
+package com.inventory.engine.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * The outcome of a stock update sent with an {@code Idempotency-Key}. The key
+ * is claimed in the same transaction as the stock write and the result filled
+ * in before it commits, so a committed row always has one. Written and read
+ * with plain SQL by the idempotency store; mapped here so that the schema is
+ * managed alongside the other tables.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_expiry", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 50)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer quantityChange;
+
+    private Integer newQuantity;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public IdempotencyRecord() {}
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    public String getSku() { return sku; }
+
+    public Integer getQuantityChange() { return quantityChange; }
+
+    public Integer getNewQuantity() { return newQuantity; }
+
+    public Long getVersion() { return version; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+}
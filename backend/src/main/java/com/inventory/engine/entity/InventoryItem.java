@@ -24,9 +24,24 @@ public class InventoryItem {
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * Units held by open reservations; {@code quantity - reservedQuantity} is
+     * available to promise. Only written by the reservation statements, never by
+     * a JPA flush, so a stale entity cannot overwrite a concurrent hold.
+     */
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer reservedQuantity;
+
     @Column(nullable = false, length = 20)
     private String warehouseId;
 
+    /**
+     * Low-stock alert level; null when the SKU is not watched. Set through
+     * {@code LowStockAlerter}, which keeps the watched SKUs in memory.
+     */
+    @Column(insertable = false, updatable = false)
+    private Integer lowStockThreshold;
+
     @Version
     private Long version;
 
@@ -68,9 +83,14 @@ public class InventoryItem {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
 
+    /** Zero for an entity that was just inserted and not read back. */
+    public int getReservedQuantity() { return reservedQuantity != null ? reservedQuantity : 0; }
+
     public String getWarehouseId() { return warehouseId; }
     public void setWarehouseId(String warehouseId) { this.warehouseId = warehouseId; }
 
+    public Integer getLowStockThreshold() { return lowStockThreshold; }
+
     public Long getVersion() { return version; }
     public void setVersion(Long version) { this.version = version; }
 
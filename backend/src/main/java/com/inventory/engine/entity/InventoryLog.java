@@ -3,17 +3,24 @@ package com.inventory.engine.entity;
 import jakarta.persistence.*;
 import java.time.Instant;
 
+/**
+ * Row of the stock-movement audit trail. The table is range-partitioned on
+ * {@code timestamp} and its indexes are declared on the partitioned parent in
+ * {@code db/init.sql}; Hibernate's schema update cannot see partitioned indexes,
+ * so they are not repeated here.
+ */
 @Entity
-@Table(
-    name = "inventory_logs",
-    indexes = {
-        @Index(name = "idx_warehouse_timestamp", columnList = "warehouseId, timestamp")
-    }
-)
+@Table(name = "inventory_logs")
 public class InventoryLog {
 
+    /**
+     * Sequence-backed (rather than IDENTITY) so that Hibernate can assign ids
+     * up front and group log inserts into JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_logs_seq")
+    @SequenceGenerator(name = "inventory_logs_seq", sequenceName = "inventory_logs_id_seq",
+            allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 20)
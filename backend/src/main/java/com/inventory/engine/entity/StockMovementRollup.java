@@ -0,0 +1,95 @@
+package com.inventory.engine.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Hourly per-SKU aggregate of the audit trail, maintained incrementally as log
+ * rows are written (see {@code MovementRollupWriter}). Written and read with
+ * plain SQL; mapped here so that the schema is managed alongside the other tables.
+ */
+@Entity
+@Table(
+    name = "stock_movement_rollups",
+    indexes = {
+        @Index(name = "idx_rollups_bucket", columnList = "bucketStart")
+    }
+)
+@IdClass(StockMovementRollup.Key.class)
+public class StockMovementRollup {
+
+    @Id
+    @Column(length = 20)
+    private String warehouseId;
+
+    @Id
+    @Column(length = 50)
+    private String sku;
+
+    /** Start of the UTC hour this row covers. */
+    @Id
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private Long movementCount;
+
+    /** Sum of positive quantity changes. */
+    @Column(nullable = false)
+    private Long unitsIn;
+
+    /** Sum of negative quantity changes, as a positive number. */
+    @Column(nullable = false)
+    private Long unitsOut;
+
+    @Column(nullable = false)
+    private Long netChange;
+
+    private Integer minResultingQuantity;
+
+    private Integer maxResultingQuantity;
+
+    public StockMovementRollup() {}
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public String getSku() { return sku; }
+
+    public Instant getBucketStart() { return bucketStart; }
+
+    public Long getMovementCount() { return movementCount; }
+
+    public Long getUnitsIn() { return unitsIn; }
+
+    public Long getUnitsOut() { return unitsOut; }
+
+    public Long getNetChange() { return netChange; }
+
+    public Integer getMinResultingQuantity() { return minResultingQuantity; }
+
+    public Integer getMaxResultingQuantity() { return maxResultingQuantity; }
+
+    public static class Key implements Serializable {
+
+        private String warehouseId;
+        private String sku;
+        private Instant bucketStart;
+
+        public Key() {}
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(warehouseId, key.warehouseId)
+                    && Objects.equals(sku, key.sku)
+                    && Objects.equals(bucketStart, key.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(warehouseId, sku, bucketStart);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.inventory.engine.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * An item's stock in a warehouse other than its home one. The home warehouse's
+ * stock is the {@link InventoryItem} row itself; a position is created empty on
+ * the first transfer into its warehouse and only transfers change it, so
+ * listings, reservations, alerts and forecasts see items only.
+ */
+@Entity
+@Table(name = "stock_positions")
+@IdClass(StockPosition.Key.class)
+public class StockPosition {
+
+    @Id
+    @Column(length = 50)
+    private String sku;
+
+    @Id
+    @Column(length = 20)
+    private String warehouseId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Version
+    private Long version;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public StockPosition() {}
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Long getVersion() { return version; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+
+    public static class Key implements Serializable {
+
+        private String sku;
+        private String warehouseId;
+
+        public Key() {}
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(sku, key.sku) && Objects.equals(warehouseId, key.warehouseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sku, warehouseId);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.engine.entity;
+
+import com.inventory.engine.dto.ReservationStatus;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A hold on some units of one SKU. Written and resolved with plain SQL by the
+ * reservation service, together with the item's {@code reserved_quantity};
+ * mapped here so that the schema is managed alongside the other tables.
+ */
+@Entity
+@Table(name = "stock_reservations",
+        indexes = @Index(name = "idx_reservations_status_expiry", columnList = "status, expires_at"))
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String sku;
+
+    @Column(nullable = false, length = 20)
+    private String warehouseId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant resolvedAt;
+
+    public StockReservation() {}
+
+    public Long getId() { return id; }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    public Integer getQuantity() { return quantity; }
+
+    public ReservationStatus getStatus() { return status; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public Instant getResolvedAt() { return resolvedAt; }
+}
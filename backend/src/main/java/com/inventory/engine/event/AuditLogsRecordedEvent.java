@@ -0,0 +1,23 @@
+package com.inventory.engine.event;
+
+import com.inventory.engine.entity.InventoryLog;
+
+import java.util.List;
+
+/**
+ * Published by {@code AuditLogWriter} inside the transaction that records
+ * {@code logs}, in either audit mode. Listeners that derive state from the log
+ * history use {@code @TransactionalEventListener(phase = AFTER_COMMIT)} to see
+ * only rows that actually committed. Catalog imports write their log rows in
+ * SQL and do not publish this event.
+ */
+public class AuditLogsRecordedEvent {
+
+    private final List<InventoryLog> logs;
+
+    public AuditLogsRecordedEvent(List<InventoryLog> logs) {
+        this.logs = logs;
+    }
+
+    public List<InventoryLog> getLogs() { return logs; }
+}
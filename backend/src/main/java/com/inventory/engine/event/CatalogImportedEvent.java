@@ -0,0 +1,21 @@
+package com.inventory.engine.event;
+
+/**
+ * Published inside the transaction of a catalog import that inserted or
+ * changed items. Too many SKUs may have changed to announce them one by one,
+ * so listeners drop or reload whatever they derived from inventory_items.
+ */
+public class CatalogImportedEvent {
+
+    private final long importId;
+    private final long itemsChanged;
+
+    public CatalogImportedEvent(long importId, long itemsChanged) {
+        this.importId = importId;
+        this.itemsChanged = itemsChanged;
+    }
+
+    public long getImportId() { return importId; }
+
+    public long getItemsChanged() { return itemsChanged; }
+}
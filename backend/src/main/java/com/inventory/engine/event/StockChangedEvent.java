@@ -0,0 +1,49 @@
+package com.inventory.engine.event;
+
+import java.time.Instant;
+
+/**
+ * Published inside the transaction that changed a SKU's quantity or its
+ * reserved quantity. Listeners that must only see durable state subscribe
+ * with {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ */
+public class StockChangedEvent {
+
+    private final String sku;
+    private final String warehouseId;
+    private final int quantityChange;
+    private final int quantity;
+    private final Integer reservedQuantity;
+    private final long version;
+    private final Instant timestamp;
+
+    public StockChangedEvent(String sku, String warehouseId, int quantityChange,
+                             int quantity, Integer reservedQuantity, long version) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityChange = quantityChange;
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+        this.version = version;
+        this.timestamp = Instant.now();
+    }
+
+    public String getSku() { return sku; }
+
+    public String getWarehouseId() { return warehouseId; }
+
+    /** Net change applied by the transaction (the sum of a coalesced batch). */
+    public int getQuantityChange() { return quantityChange; }
+
+    public int getQuantity() { return quantity; }
+
+    /**
+     * Units held by open reservations after the change, or null from the stock
+     * ledger, which never runs alongside reservations and leaves them untouched.
+     */
+    public Integer getReservedQuantity() { return reservedQuantity; }
+
+    public long getVersion() { return version; }
+
+    public Instant getTimestamp() { return timestamp; }
+}
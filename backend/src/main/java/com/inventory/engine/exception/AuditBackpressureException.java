@@ -0,0 +1,9 @@
+package com.inventory.engine.exception;
+
+public class AuditBackpressureException extends RuntimeException {
+
+    public AuditBackpressureException(long backlog) {
+        super("Audit pipeline is saturated (" + backlog
+                + " records waiting to be written). Retry the operation.");
+    }
+}
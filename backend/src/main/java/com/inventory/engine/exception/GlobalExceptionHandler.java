@@ -18,6 +18,21 @@ public class GlobalExceptionHandler {
                 .body(StockUpdateResponse.conflict(ex.getSku(), ex.getMessage()));
     }
 
+    @ExceptionHandler({ReservationNotHeldException.class, IdempotencyKeyInProgressException.class})
+    public ResponseEntity<Map<String, String>> handleConflictState(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler({AuditBackpressureException.class, LedgerBackpressureException.class,
+            OwnerUnavailableException.class})
+    public ResponseEntity<Map<String, String>> handleBackpressure(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException ex) {
         return ResponseEntity
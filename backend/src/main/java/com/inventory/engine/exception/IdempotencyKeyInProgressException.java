@@ -0,0 +1,12 @@
+package com.inventory.engine.exception;
+
+/**
+ * A request with the same idempotency key is still running, or stopped
+ * without recording an outcome; the client should retry later (409).
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super("A request with Idempotency-Key " + idempotencyKey + " is still in progress");
+    }
+}
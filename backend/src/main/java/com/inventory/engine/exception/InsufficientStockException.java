@@ -0,0 +1,26 @@
+package com.inventory.engine.exception;
+
+/** Client error (400) like any other {@link IllegalArgumentException}, but distinguishable by callers. */
+public class InsufficientStockException extends IllegalArgumentException {
+
+    private final String sku;
+
+    public InsufficientStockException(String sku, int current, int requestedChange) {
+        this(sku, current, 0, requestedChange);
+    }
+
+    /** {@code reserved} units of {@code current} are held by reservations and cannot be deducted. */
+    public InsufficientStockException(String sku, int current, int reserved, int requestedChange) {
+        this(sku, "Insufficient stock for SKU " + sku
+                + ". Current: " + current
+                + (reserved > 0 ? " (" + reserved + " reserved)" : "")
+                + ", requested change: " + requestedChange);
+    }
+
+    public InsufficientStockException(String sku, String message) {
+        super(message);
+        this.sku = sku;
+    }
+
+    public String getSku() { return sku; }
+}
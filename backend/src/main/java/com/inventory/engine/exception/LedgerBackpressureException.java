@@ -0,0 +1,9 @@
+package com.inventory.engine.exception;
+
+public class LedgerBackpressureException extends RuntimeException {
+
+    public LedgerBackpressureException(int shard) {
+        super("Stock ledger shard " + shard
+                + " is saturated (write-behind cannot keep up). Retry the operation.");
+    }
+}
@@ -0,0 +1,9 @@
+package com.inventory.engine.exception;
+
+public class OwnerUnavailableException extends RuntimeException {
+
+    public OwnerUnavailableException(String sku, String ownerId, Throwable cause) {
+        super("Owner " + ownerId + " of " + sku + " did not answer (" + cause.getClass().getSimpleName()
+                + "); the write may or may not have been applied. Retry updates with the same Idempotency-Key.", cause);
+    }
+}
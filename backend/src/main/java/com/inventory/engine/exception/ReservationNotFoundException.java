@@ -0,0 +1,14 @@
+package com.inventory.engine.exception;
+
+/** Client error (400) like any other {@link IllegalArgumentException}, but distinguishable by callers. */
+public class ReservationNotFoundException extends IllegalArgumentException {
+
+    private final long reservationId;
+
+    public ReservationNotFoundException(long reservationId) {
+        super("Reservation not found: " + reservationId);
+        this.reservationId = reservationId;
+    }
+
+    public long getReservationId() { return reservationId; }
+}
@@ -0,0 +1,23 @@
+package com.inventory.engine.exception;
+
+import com.inventory.engine.dto.ReservationStatus;
+
+/**
+ * The reservation was already committed, released or expired, so its units
+ * are no longer held (409).
+ */
+public class ReservationNotHeldException extends RuntimeException {
+
+    private final long reservationId;
+    private final ReservationStatus status;
+
+    public ReservationNotHeldException(long reservationId, ReservationStatus status) {
+        super("Reservation " + reservationId + " is " + status + ", not HELD");
+        this.reservationId = reservationId;
+        this.status = status;
+    }
+
+    public long getReservationId() { return reservationId; }
+
+    public ReservationStatus getStatus() { return status; }
+}
@@ -0,0 +1,14 @@
+package com.inventory.engine.exception;
+
+/** Client error (400) like any other {@link IllegalArgumentException}, but distinguishable by callers. */
+public class SkuNotFoundException extends IllegalArgumentException {
+
+    private final String sku;
+
+    public SkuNotFoundException(String sku) {
+        super("SKU not found: " + sku);
+        this.sku = sku;
+    }
+
+    public String getSku() { return sku; }
+}
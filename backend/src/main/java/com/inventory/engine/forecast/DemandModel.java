@@ -0,0 +1,65 @@
+package com.inventory.engine.forecast;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/** Daily demand series by {@code (sku, warehouse)}, all with the same ring length. */
+final class DemandModel {
+
+    record SeriesKey(String sku, String warehouseId) {}
+
+    private final int length;
+    private final ConcurrentHashMap<SeriesKey, DemandSeries> series = new ConcurrentHashMap<>();
+
+    DemandModel(int length) {
+        this.length = length;
+    }
+
+    /** Single-threaded add, used by the fold task that owns this model. */
+    void add(String sku, String warehouseId, long day, long quantity) {
+        SeriesKey key = new SeriesKey(sku, warehouseId);
+        DemandSeries s = series.get(key);
+        if (s == null) {
+            series.put(key, s = new DemandSeries(length, day));
+        }
+        s.add(day, quantity);
+    }
+
+    /** Add from a committed write; safe alongside readers and other writers. */
+    void addConcurrently(String sku, String warehouseId, long day, long quantity) {
+        DemandSeries s = series.computeIfAbsent(new SeriesKey(sku, warehouseId), k -> new DemandSeries(length, day));
+        synchronized (s) {
+            s.add(day, quantity);
+        }
+    }
+
+    /** Folds {@code other} into this model; both must be owned by the caller. */
+    DemandModel merge(DemandModel other) {
+        if (other.series.size() > series.size()) {
+            return other.merge(this);
+        }
+        for (Map.Entry<SeriesKey, DemandSeries> entry : other.series.entrySet()) {
+            DemandSeries existing = series.putIfAbsent(entry.getKey(), entry.getValue());
+            if (existing != null) {
+                existing.addAll(entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    /** Visits every series under its lock, so concurrent adds are never seen half-applied. */
+    void forEach(BiConsumer<SeriesKey, DemandSeries> visitor) {
+        series.forEach((key, s) -> {
+            synchronized (s) {
+                visitor.accept(key, s);
+            }
+        });
+    }
+
+    DemandSeries get(String sku, String warehouseId) {
+        return series.get(new SeriesKey(sku, warehouseId));
+    }
+
+    int size() { return series.size(); }
+}
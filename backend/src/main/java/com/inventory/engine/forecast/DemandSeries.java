@@ -0,0 +1,58 @@
+package com.inventory.engine.forecast;
+
+/**
+ * Units deducted per UTC day for one SKU in one warehouse, kept in a ring of
+ * {@code length} daily buckets that ends at the newest day seen. Adding a
+ * later day clears the buckets it skips over; days older than the ring are
+ * dropped.
+ *
+ * <p>Not thread-safe. Fold tasks own their series outright; the live model
+ * synchronizes on the series.
+ */
+final class DemandSeries {
+
+    private final long[] units;
+    private long newestDay;
+
+    DemandSeries(int length, long day) {
+        this.units = new long[length];
+        this.newestDay = day;
+    }
+
+    void add(long day, long quantity) {
+        if (day > newestDay) {
+            long skipped = Math.min(day - newestDay, units.length);
+            for (long d = day - skipped + 1; d <= day; d++) {
+                units[slot(d)] = 0;
+            }
+            newestDay = day;
+        } else if (day <= newestDay - units.length) {
+            return;
+        }
+        units[slot(day)] += quantity;
+    }
+
+    /** Units deducted on {@code day}; zero for days outside the ring. */
+    long unitsOn(long day) {
+        if (day > newestDay || day <= newestDay - units.length) {
+            return 0;
+        }
+        return units[slot(day)];
+    }
+
+    void addAll(DemandSeries other) {
+        if (other.newestDay > newestDay) {
+            add(other.newestDay, 0);
+        }
+        for (long day = other.newestDay - units.length + 1; day <= other.newestDay; day++) {
+            long quantity = other.unitsOn(day);
+            if (quantity != 0) {
+                add(day, quantity);
+            }
+        }
+    }
+
+    private int slot(long day) {
+        return (int) Math.floorMod(day, (long) units.length);
+    }
+}
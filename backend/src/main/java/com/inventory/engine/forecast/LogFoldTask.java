@@ -0,0 +1,115 @@
+package com.inventory.engine.forecast;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Folds the DEDUCT rows of a list of {@link ScanRange}s into a
+ * {@link DemandModel}. The list is halved until one range is left, which is
+ * read with a forward-only cursor on its own connection; the two halves'
+ * models are then merged. Every range is a disjoint block range of one heap
+ * (a partition, or the whole table when it is not partitioned), so each log
+ * row is read exactly once and the scans run in parallel without overlapping.
+ */
+final class LogFoldTask extends RecursiveTask<DemandModel> {
+
+    /** Block range {@code [fromBlock, toBlock)} of {@code relation}; {@code toBlock < 0} reads to the end. */
+    record ScanRange(String relation, long fromBlock, long toBlock) {}
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    // Catalog-import corrections are not demand.
+    private static final String SELECT = """
+            SELECT sku, warehouse_id, floor(extract(epoch FROM timestamp) / %d)::bigint AS day,
+                   -quantity_change AS units
+              FROM %s
+             WHERE %s
+               AND action = 'DEDUCT'
+               AND details IS DISTINCT FROM 'Catalog import'
+               AND timestamp >= ? AND timestamp < ?
+            """;
+
+    private final DataSource dataSource;
+    private final List<ScanRange> ranges;
+    private final int historyLength;
+    private final Timestamp from;
+    private final Timestamp to;
+    private final LongAdder rowsRead;
+    private final LongAdder rangesDone;
+
+    LogFoldTask(DataSource dataSource, List<ScanRange> ranges, int historyLength,
+                Timestamp from, Timestamp to, LongAdder rowsRead, LongAdder rangesDone) {
+        this.dataSource = dataSource;
+        this.ranges = ranges;
+        this.historyLength = historyLength;
+        this.from = from;
+        this.to = to;
+        this.rowsRead = rowsRead;
+        this.rangesDone = rangesDone;
+    }
+
+    @Override
+    protected DemandModel compute() {
+        if (ranges.size() == 1) {
+            return scan(ranges.get(0));
+        }
+        int middle = ranges.size() / 2;
+        LogFoldTask left = subtask(ranges.subList(0, middle));
+        LogFoldTask right = subtask(ranges.subList(middle, ranges.size()));
+        left.fork();
+        DemandModel model = right.compute();
+        return left.join().merge(model);
+    }
+
+    private LogFoldTask subtask(List<ScanRange> half) {
+        return new LogFoldTask(dataSource, half, historyLength, from, to, rowsRead, rangesDone);
+    }
+
+    private DemandModel scan(ScanRange range) {
+        DemandModel model = new DemandModel(historyLength);
+        String blocks = range.toBlock() < 0
+                ? "ctid >= '(%d,0)'::tid".formatted(range.fromBlock())
+                : "ctid >= '(%d,0)'::tid AND ctid < '(%d,0)'::tid".formatted(range.fromBlock(), range.toBlock());
+        String sql = SELECT.formatted(SECONDS_PER_DAY, range.relation(), blocks);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        long rows = 0;
+        try {
+            // The driver only streams with a fetch size inside a transaction.
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setTimestamp(1, from);
+                ps.setTimestamp(2, to);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        model.add(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4));
+                        rows++;
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Scan of " + range.relation() + " failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        rowsRead.add(rows);
+        rangesDone.increment();
+        return model;
+    }
+}
@@ -0,0 +1,374 @@
+package com.inventory.engine.forecast;
+
+import com.inventory.engine.cache.InventoryCache;
+import com.inventory.engine.dto.ForecastStats;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.ReorderSuggestion;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.AuditLogsRecordedEvent;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.repository.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reorder suggestions per SKU and warehouse from the DEDUCT history in
+ * {@code inventory_logs}.
+ *
+ * <p>A rebuild streams the last {@code history-days} of log rows once and
+ * folds them into per-day demand buckets ({@link DemandModel}). The scan is
+ * split into block ranges of each log partition, which a dedicated fork-join
+ * pool reads in parallel through forward-only cursors ({@link LogFoldTask}), so
+ * heap use depends on the number of (sku, warehouse) pairs, not on the number
+ * of rows. After a rebuild, every committed audit write is folded in as it
+ * happens ({@link AuditLogsRecordedEvent}); rebuilds run at startup and then
+ * periodically to pick up writes from other nodes and drop stale series.
+ *
+ * <p>Forecasts are computed when asked for: simple exponential smoothing over
+ * the complete days of the window gives the daily demand rate, and the
+ * smoothed absolute error gives its deviation (sigma ~ 1.25 x MAD). The reorder
+ * point is lead-time demand plus {@code safety-z} standard deviations of
+ * lead-time demand.
+ */
+@Service
+public class ReplenishmentForecaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplenishmentForecaster.class);
+
+    public static final int MAX_SUGGESTIONS = 1000;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final double MAD_TO_SIGMA = 1.25;
+
+    // Leaf tables of the partition tree, or the table itself when it is not partitioned.
+    private static final String PLAN_SQL = """
+            WITH leaves AS (
+                SELECT relid FROM pg_partition_tree('inventory_logs') WHERE isleaf
+                UNION ALL
+                SELECT 'inventory_logs'::regclass
+                 WHERE NOT EXISTS (SELECT 1 FROM pg_partitioned_table
+                                    WHERE partrelid = 'inventory_logs'::regclass)
+            )
+            SELECT c.oid::regclass::text AS relation,
+                   pg_relation_size(c.oid) / current_setting('block_size')::int AS blocks,
+                   (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz
+                       AS upper_bound
+              FROM leaves l
+              JOIN pg_class c ON c.oid = l.relid
+             ORDER BY 1
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryCache inventoryCache;
+    private final InventoryRepository inventoryRepository;
+    private final boolean enabled;
+    private final int historyDays;
+    private final double smoothing;
+    private final int leadTimeDays;
+    private final int orderCoverDays;
+    private final double safetyZ;
+    private final long blocksPerTask;
+    private final ForkJoinPool pool;
+
+    /** Guards the swap of {@link #model}: appliers hold the read lock, the swap the write lock. */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile DemandModel model;
+    /** Writes committed at or after {@link #rebuildCutoff} while a rebuild scans; null otherwise. */
+    private DemandModel pending;
+    private Instant rebuildCutoff;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder rowsScanned = new LongAdder();
+    private final LongAdder rangesScanned = new LongAdder();
+    private final LongAdder incrementalRows = new LongAdder();
+    private volatile long rangesTotal;
+    private volatile Instant lastRebuildAt;
+    private volatile Long lastRebuildMs;
+    private volatile Long lastRebuildRowsPerSecond;
+    private volatile String lastError;
+
+    public ReplenishmentForecaster(DataSource dataSource,
+                                   JdbcTemplate jdbcTemplate,
+                                   InventoryCache inventoryCache,
+                                   InventoryRepository inventoryRepository,
+                                   @Value("${inventory.forecast.enabled:true}") boolean enabled,
+                                   @Value("${inventory.forecast.history-days:28}") int historyDays,
+                                   @Value("${inventory.forecast.smoothing:0.3}") double smoothing,
+                                   @Value("${inventory.forecast.lead-time-days:7}") int leadTimeDays,
+                                   @Value("${inventory.forecast.order-cover-days:14}") int orderCoverDays,
+                                   @Value("${inventory.forecast.safety-z:1.65}") double safetyZ,
+                                   @Value("${inventory.forecast.parallelism:4}") int parallelism,
+                                   @Value("${inventory.forecast.blocks-per-task:8192}") long blocksPerTask) {
+        if (historyDays < 2) {
+            throw new IllegalArgumentException("inventory.forecast.history-days must be >= 2");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("inventory.forecast.smoothing must be in (0, 1]");
+        }
+        if (leadTimeDays < 1 || orderCoverDays < 0 || safetyZ < 0) {
+            throw new IllegalArgumentException(
+                    "inventory.forecast.lead-time-days must be >= 1, order-cover-days and safety-z >= 0");
+        }
+        if (parallelism < 1 || blocksPerTask < 1) {
+            throw new IllegalArgumentException("inventory.forecast.parallelism and blocks-per-task must be >= 1");
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryCache = inventoryCache;
+        this.inventoryRepository = inventoryRepository;
+        this.enabled = enabled;
+        this.historyDays = historyDays;
+        this.smoothing = smoothing;
+        this.leadTimeDays = leadTimeDays;
+        this.orderCoverDays = orderCoverDays;
+        this.safetyZ = safetyZ;
+        this.blocksPerTask = blocksPerTask;
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("forecast-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        // Today's bucket is kept too, so incremental writes have somewhere to land.
+        this.model = new DemandModel(historyDays + 1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Runs at startup and then periodically. */
+    @Scheduled(fixedDelayString = "${inventory.forecast.rebuild-interval-ms:21600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            requestRebuild();
+        }
+    }
+
+    /** Starts a rebuild in the background; false if one is already running. */
+    public boolean requestRebuild() {
+        checkEnabled();
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rowsScanned.reset();
+        rangesScanned.reset();
+        rangesTotal = 0;
+        CompletableFuture.runAsync(this::rebuild, pool);
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLogsRecorded(AuditLogsRecordedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            for (InventoryLog entry : event.getLogs()) {
+                if (!"DEDUCT".equals(entry.getAction())) {
+                    continue;
+                }
+                long day = Math.floorDiv(entry.getTimestamp().getEpochSecond(), SECONDS_PER_DAY);
+                long units = -(long) entry.getQuantityChange();
+                model.addConcurrently(entry.getSku(), entry.getWarehouseId(), day, units);
+                if (pending != null && !entry.getTimestamp().isBefore(rebuildCutoff)) {
+                    pending.addConcurrently(entry.getSku(), entry.getWarehouseId(), day, units);
+                }
+                incrementalRows.increment();
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggestions for the items with demand in the window, most urgent (fewest
+     * days of cover) first, optionally within one warehouse.
+     */
+    public List<ReorderSuggestion> getSuggestions(String warehouseId, int limit) {
+        checkEnabled();
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        Map<String, InventoryItemSnapshot> items = new HashMap<>();
+        for (InventoryItemSnapshot item : inventoryCache.getAll(inventoryRepository::findAll)) {
+            items.put(item.getSku(), item);
+        }
+        long today = today();
+        List<ReorderSuggestion> suggestions = new ArrayList<>();
+        model.forEach((key, series) -> {
+            if (warehouseId != null && !warehouseId.equals(key.warehouseId())) {
+                return;
+            }
+            InventoryItemSnapshot item = items.get(key.sku());
+            if (item == null || !item.getWarehouseId().equals(key.warehouseId())) {
+                return;
+            }
+            ReorderSuggestion suggestion = suggest(item, series, today);
+            if (suggestion.getDailyDemand() > 0) {
+                suggestions.add(suggestion);
+            }
+        });
+        suggestions.sort(Comparator.comparingDouble(ReorderSuggestion::getDaysOfCover)
+                .thenComparing(ReorderSuggestion::getSku));
+        return suggestions.size() > limit ? List.copyOf(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    /** The suggestion for one item, whether or not it has demand. */
+    public ReorderSuggestion getSuggestion(String sku) {
+        checkEnabled();
+        InventoryItemSnapshot item = inventoryCache.get(sku, () -> inventoryRepository.findBySku(sku))
+                .orElseThrow(() -> new SkuNotFoundException(sku));
+        DemandModel current = model;
+        DemandSeries series = current.get(sku, item.getWarehouseId());
+        if (series == null) {
+            return suggest(item, null, today());
+        }
+        synchronized (series) {
+            return suggest(item, series, today());
+        }
+    }
+
+    public ForecastStats getStats() {
+        return new ForecastStats(rebuilding.get(), historyDays, model.size(), rangesScanned.sum(), rangesTotal,
+                rowsScanned.sum(), incrementalRows.sum(), lastRebuildAt, lastRebuildMs,
+                lastRebuildRowsPerSecond, lastError);
+    }
+
+    private void rebuild() {
+        Instant cutoff = Instant.now();
+        long started = System.nanoTime();
+        swapLock.writeLock().lock();
+        try {
+            pending = new DemandModel(historyDays + 1);
+            rebuildCutoff = cutoff;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        DemandModel result = null;
+        try {
+            Instant from = Instant.ofEpochSecond((dayOf(cutoff) - historyDays) * SECONDS_PER_DAY);
+            List<LogFoldTask.ScanRange> ranges = plan(from);
+            rangesTotal = ranges.size();
+            result = ranges.isEmpty()
+                    ? new DemandModel(historyDays + 1)
+                    : new LogFoldTask(dataSource, ranges, historyDays + 1, Timestamp.from(from),
+                            Timestamp.from(cutoff), rowsScanned, rangesScanned).invoke();
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Forecast rebuild failed, keeping the previous model: {}", e.getMessage());
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                if (result != null) {
+                    model = result.merge(pending);
+                }
+                pending = null;
+                rebuildCutoff = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+        if (result != null) {
+            long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            long rows = rowsScanned.sum();
+            lastRebuildAt = cutoff;
+            lastRebuildMs = elapsedMs;
+            lastRebuildRowsPerSecond = rows * 1000 / elapsedMs;
+            log.info("Forecast rebuilt from {} log rows in {} ranges in {} ms ({} series)",
+                    rows, rangesTotal, elapsedMs, model.size());
+        }
+    }
+
+    /**
+     * Splits every log heap that can hold rows newer than {@code from} into
+     * ranges of {@code blocks-per-task} blocks. The last range of each heap is
+     * open-ended, so rows appended after planning are not missed.
+     */
+    private List<LogFoldTask.ScanRange> plan(Instant from) {
+        List<LogFoldTask.ScanRange> ranges = new ArrayList<>();
+        jdbcTemplate.query(PLAN_SQL, rs -> {
+            Timestamp upperBound = rs.getTimestamp("upper_bound");
+            long blocks = rs.getLong("blocks");
+            if (blocks == 0 || (upperBound != null && !upperBound.toInstant().isAfter(from))) {
+                return;
+            }
+            String relation = rs.getString("relation");
+            for (long start = 0; start < blocks; start += blocksPerTask) {
+                long end = start + blocksPerTask;
+                ranges.add(new LogFoldTask.ScanRange(relation, start, end >= blocks ? -1 : end));
+            }
+        });
+        return ranges;
+    }
+
+    private ReorderSuggestion suggest(InventoryItemSnapshot item, DemandSeries series, long today) {
+        double level = 0;
+        double mad = 0;
+        if (series != null) {
+            // Warm start from the window mean, then smooth oldest to newest complete day.
+            long total = 0;
+            for (long day = today - historyDays; day < today; day++) {
+                total += series.unitsOn(day);
+            }
+            level = (double) total / historyDays;
+            for (long day = today - historyDays; day < today; day++) {
+                double error = series.unitsOn(day) - level;
+                level += smoothing * error;
+                mad += smoothing * (Math.abs(error) - mad);
+            }
+        }
+        double deviation = MAD_TO_SIGMA * mad;
+        double safetyStock = safetyZ * deviation * Math.sqrt(leadTimeDays);
+        long reorderPoint = (long) Math.ceil(level * leadTimeDays + safetyStock);
+        int available = item.getAvailableQuantity();
+        long orderQuantity = 0;
+        if (level > 0 && available <= reorderPoint) {
+            long target = (long) Math.ceil(level * (leadTimeDays + orderCoverDays) + safetyStock);
+            orderQuantity = Math.max(0, target - available);
+        }
+        Double daysOfCover = level > 0 ? Math.max(0, available) / level : null;
+        return new ReorderSuggestion(item.getSku(), item.getWarehouseId(), level, deviation,
+                item.getQuantity(), available, daysOfCover, reorderPoint, orderQuantity);
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new IllegalArgumentException("Forecasting is disabled (inventory.forecast.enabled=false)");
+        }
+    }
+
+    private static long today() {
+        return dayOf(Instant.now());
+    }
+
+    private static long dayOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventory.engine.idempotency;
+
+/**
+ * Thrown by a stock write that could not claim its idempotency key because
+ * another request holds it, so that its transaction rolls back before touching
+ * any stock. {@link IdempotencyStore} answers with the stored outcome instead.
+ */
+public class IdempotencyKeyTakenException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyTakenException(String idempotencyKey) {
+        super("Idempotency-Key already used: " + idempotencyKey);
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+}
@@ -0,0 +1,346 @@
+package com.inventory.engine.idempotency;
+
+import com.inventory.engine.dto.IdempotencyStats;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.exception.IdempotencyKeyInProgressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Deduplicates stock updates sent with an {@code Idempotency-Key}, so a client
+ * can retry a timed-out request without applying its delta twice.
+ *
+ * <p>Each node keeps recent keys in memory, bounded by {@code max-entries} and
+ * evicted oldest first (every entry has the same TTL, so that is also expiry
+ * order). A repeat of a finished request gets its response from there; a repeat
+ * of one still running waits for it instead of running again.
+ *
+ * <p>The guarantee across nodes and restarts comes from {@code idempotency_keys}.
+ * A keyed write claims its key as the first statement of its stock transaction
+ * and records its result before committing. A second claim of the same key
+ * waits on the primary key until the first transaction ends, then finds the row
+ * taken: its transaction rolls back before reading or writing any stock, and the
+ * stored response is returned. Only successful updates are recorded; a rejected
+ * or failed one releases its key, so a retry runs again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int PURGE_BATCH = 10_000;
+    private static final String UPDATED_MESSAGE = "Stock updated successfully";
+
+    /** Claims every key it can; a key whose row has expired is claimed afresh. */
+    private static final String CLAIM = """
+            INSERT INTO idempotency_keys AS k
+                   (idempotency_key, sku, quantity_change, created_at, expires_at)
+            SELECT c.idempotency_key, c.sku, c.quantity_change, ?, ?
+              FROM unnest(?::varchar[], ?::varchar[], ?::int[]) AS c(idempotency_key, sku, quantity_change)
+            ON CONFLICT (idempotency_key) DO UPDATE
+               SET sku = EXCLUDED.sku,
+                   quantity_change = EXCLUDED.quantity_change,
+                   new_quantity = NULL,
+                   version = NULL,
+                   created_at = EXCLUDED.created_at,
+                   expires_at = EXCLUDED.expires_at
+             WHERE k.expires_at <= EXCLUDED.created_at
+            RETURNING idempotency_key
+            """;
+
+    private static final String COMPLETE =
+            "UPDATE idempotency_keys SET new_quantity = ?, version = ? WHERE idempotency_key = ?";
+
+    private static final String RELEASE = "DELETE FROM idempotency_keys WHERE idempotency_key = ?";
+
+    private static final String LOAD = """
+            SELECT sku, quantity_change, new_quantity, version, expires_at
+              FROM idempotency_keys
+             WHERE idempotency_key = ?
+            """;
+
+    private static final String PURGE = """
+            DELETE FROM idempotency_keys
+             WHERE idempotency_key IN (SELECT idempotency_key FROM idempotency_keys
+                                        WHERE expires_at < ?
+                                        LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder storedReplays = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            @Value("${inventory.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${inventory.idempotency.max-entries:100000}") int maxEntries) {
+        if (ttlSeconds < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException(
+                    "inventory.idempotency.ttl-seconds and max-entries must be >= 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = ttlSeconds;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Runs {@code update} once per key. The key is set on {@code request} so the
+     * write path can claim it in its transaction and throw
+     * {@link IdempotencyKeyTakenException} when it is already taken.
+     */
+    public StockUpdateResponse execute(String key, StockUpdateRequest request,
+                                       Function<StockUpdateRequest, StockUpdateResponse> update) {
+        checkKey(key);
+        Entry entry = new Entry(key, request.getSku(), request.getQuantityChange(), System.nanoTime() + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(System.nanoTime())) {
+                if (entries.replace(key, existing, entry)) {
+                    break;
+                }
+                continue;
+            }
+            existing.checkSameRequest(request);
+            (existing.result.isDone() ? replayed : collapsed).increment();
+            return await(existing.result);
+        }
+        order.add(entry);
+        queued.incrementAndGet();
+        trim();
+
+        try {
+            request.setIdempotencyKey(key);
+            StockUpdateResponse response;
+            try {
+                response = update.apply(request);
+                executed.increment();
+            } catch (IdempotencyKeyTakenException ex) {
+                response = loadStored(entry, request);
+                storedReplays.increment();
+            }
+            entry.result.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Claims the keys of the keyed {@code requests} in the current transaction,
+     * in key order, and returns the keys it could not claim. Requests without a
+     * key are ignored, as are repeats of a key within {@code requests}.
+     */
+    public Set<String> claimAll(List<StockUpdateRequest> requests) {
+        Map<String, StockUpdateRequest> byKey = new TreeMap<>();
+        for (StockUpdateRequest request : requests) {
+            if (request.getIdempotencyKey() != null) {
+                byKey.putIfAbsent(request.getIdempotencyKey(), request);
+            }
+        }
+        Set<String> taken = new HashSet<>();
+        if (byKey.isEmpty()) {
+            return taken;
+        }
+        String[] keys = byKey.keySet().toArray(String[]::new);
+        String[] skus = new String[keys.length];
+        Integer[] changes = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            StockUpdateRequest request = byKey.get(keys[i]);
+            skus[i] = request.getSku();
+            changes[i] = request.getQuantityChange();
+        }
+        Instant now = Instant.now();
+        Set<String> claimed = new HashSet<>(jdbcTemplate.query(CLAIM, ps -> {
+            ps.setTimestamp(1, Timestamp.from(now));
+            ps.setTimestamp(2, Timestamp.from(now.plusSeconds(ttlSeconds)));
+            ps.setArray(3, ps.getConnection().createArrayOf("varchar", keys));
+            ps.setArray(4, ps.getConnection().createArrayOf("varchar", skus));
+            ps.setArray(5, ps.getConnection().createArrayOf("integer", changes));
+        }, (rs, rowNum) -> rs.getString(1)));
+        for (String key : keys) {
+            if (!claimed.contains(key)) {
+                taken.add(key);
+            }
+        }
+        return taken;
+    }
+
+    /** Claims {@code request}'s key, throwing {@link IdempotencyKeyTakenException} if it is taken. */
+    public void claim(StockUpdateRequest request) {
+        if (!claimAll(List.of(request)).isEmpty()) {
+            throw new IdempotencyKeyTakenException(request.getIdempotencyKey());
+        }
+    }
+
+    /** Records the outcome of a claimed request: its response on success, otherwise releases the key. */
+    public void complete(StockUpdateRequest request, StockUpdateResponse response) {
+        completeAll(List.of(request), new StockUpdateResponse[] {response});
+    }
+
+    /** As {@link #complete}, for each keyed request whose response is not null. */
+    public void completeAll(List<StockUpdateRequest> requests, StockUpdateResponse[] responses) {
+        List<Object[]> completed = new ArrayList<>();
+        List<Object[]> released = new ArrayList<>();
+        for (int i = 0; i < responses.length; i++) {
+            String key = requests.get(i).getIdempotencyKey();
+            StockUpdateResponse response = responses[i];
+            if (key == null || response == null) {
+                continue;
+            }
+            if (response.isSuccess()) {
+                completed.add(new Object[] {response.getNewQuantity(), response.getVersion(), key});
+            } else {
+                released.add(new Object[] {key});
+            }
+        }
+        if (!completed.isEmpty()) {
+            jdbcTemplate.batchUpdate(COMPLETE, completed);
+        }
+        if (!released.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE, released);
+        }
+    }
+
+    /** Releases a claimed key whose request failed outside a transaction. */
+    public void release(StockUpdateRequest request) {
+        jdbcTemplate.update(RELEASE, request.getIdempotencyKey());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE, now, PURGE_BATCH);
+                purged.add(deleted);
+            } while (deleted == PURGE_BATCH);
+        } catch (DataAccessException e) {
+            log.warn("Purging expired idempotency keys failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public IdempotencyStats getStats() {
+        return new IdempotencyStats(entries.size(), maxEntries, ttlSeconds, executed.sum(), replayed.sum(),
+                collapsed.sum(), storedReplays.sum(), purged.sum());
+    }
+
+    /** Reads the stored outcome, keeping it in memory only for as long as the row lives. */
+    private StockUpdateResponse loadStored(Entry entry, StockUpdateRequest request) {
+        String key = entry.key;
+        List<StockUpdateResponse> stored = jdbcTemplate.query(LOAD, (rs, rowNum) -> {
+            checkSameRequest(key, request, rs.getString("sku"), rs.getInt("quantity_change"));
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(
+                    rs.getTimestamp("expires_at").getTime() - System.currentTimeMillis());
+            entry.expiresAtNanos = System.nanoTime() + Math.min(remainingNanos, ttlNanos);
+            int newQuantity = rs.getInt("new_quantity");
+            return rs.wasNull() ? null : new StockUpdateResponse(true, UPDATED_MESSAGE, rs.getString("sku"),
+                    newQuantity, rs.getLong("version"));
+        }, key);
+        if (stored.isEmpty() || stored.get(0) == null) {
+            // Claimed without a result: a LEDGER write that is running or was interrupted.
+            throw new IdempotencyKeyInProgressException(key);
+        }
+        return stored.get(0);
+    }
+
+    private void trim() {
+        long now = System.nanoTime();
+        Entry head;
+        while ((head = order.peek()) != null && (queued.get() > maxEntries || head.isExpired(now))) {
+            if (order.remove(head)) {
+                queued.decrementAndGet();
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private static StockUpdateResponse await(CompletableFuture<StockUpdateResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static void checkKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " non-blank characters");
+        }
+    }
+
+    private static void checkSameRequest(String key, StockUpdateRequest request, String sku, int quantityChange) {
+        if (!request.getSku().equals(sku) || !Objects.equals(request.getQuantityChange(), quantityChange)) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+
+    private static final class Entry {
+
+        final String key;
+        final String sku;
+        final int quantityChange;
+        volatile long expiresAtNanos;
+        final CompletableFuture<StockUpdateResponse> result = new CompletableFuture<>();
+
+        Entry(String key, String sku, int quantityChange, long expiresAtNanos) {
+            this.key = key;
+            this.sku = sku;
+            this.quantityChange = quantityChange;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+
+        void checkSameRequest(StockUpdateRequest request) {
+            IdempotencyStore.checkSameRequest(key, request, sku, quantityChange);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.inventory.engine.ledger;
+
+/**
+ * A mutation the ledger has applied and synced to its shard's journal, waiting
+ * to be written behind to the database. {@code sequence} is the record's
+ * journal sequence number; replayed entries carry shard {@code -1}.
+ */
+record LedgerEntry(int shard, long sequence, long itemId, String sku, String warehouseId,
+                   int delta, int quantity, long version, long timestamp) {}
@@ -0,0 +1,220 @@
+package com.inventory.engine.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of one ledger shard: a chain of fixed-size segment files,
+ * each memory-mapped and filled with fixed 36-byte records (item id, delta,
+ * resulting quantity, version, epoch millis, CRC32C of the preceding 32 bytes).
+ * Appending is a copy into the mapping; {@link #sync()} forces the records
+ * appended since the last sync to disk in one call, which is the shard's group
+ * fsync. A segment is named after the sequence number of its first record and
+ * is deleted once every record in it has been written behind to the database.
+ *
+ * <p>Segments are preallocated with zeros, so the end of the data is the first
+ * record whose checksum does not match. Only the owning shard thread touches a
+ * journal.
+ */
+final class LedgerJournal implements AutoCloseable {
+
+    static final int RECORD_BYTES = 36;
+    static final String SEGMENT_GLOB = "*.seg";
+    private static final int PAYLOAD_BYTES = RECORD_BYTES - Integer.BYTES;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final boolean fsync;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final CRC32C crc = new CRC32C();
+    private long nextSequence = 1;
+
+    LedgerJournal(Path directory, long segmentBytes, boolean fsync) throws IOException {
+        if (segmentBytes < RECORD_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("inventory.ledger.journal.segment-bytes must be between "
+                    + RECORD_BYTES + " and " + Integer.MAX_VALUE);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.recordsPerSegment = (int) (segmentBytes / RECORD_BYTES);
+        this.fsync = fsync;
+    }
+
+    /** Appends one record and returns its sequence number; durable only after {@link #sync()}. */
+    long append(long itemId, int delta, int resultingQuantity, long version, long timestamp) throws IOException {
+        Segment active = segments.peekLast();
+        if (active == null || active.records == recordsPerSegment) {
+            active = roll();
+        }
+        MappedByteBuffer buffer = active.buffer;
+        int offset = active.records * RECORD_BYTES;
+        buffer.putLong(offset, itemId)
+                .putInt(offset + 8, delta)
+                .putInt(offset + 12, resultingQuantity)
+                .putLong(offset + 16, version)
+                .putLong(offset + 24, timestamp);
+        crc.reset();
+        crc.update(buffer.slice(offset, PAYLOAD_BYTES));
+        buffer.putInt(offset + PAYLOAD_BYTES, (int) crc.getValue());
+        active.records++;
+        return nextSequence++;
+    }
+
+    /**
+     * Makes every appended record durable. With {@code fsync} off the records are
+     * only handed to the OS page cache: they survive a process crash, not a
+     * power loss.
+     */
+    void sync() throws IOException {
+        for (Segment segment : segments) {
+            if (segment.records > segment.syncedRecords) {
+                if (fsync) {
+                    try {
+                        segment.buffer.force(segment.syncedRecords * RECORD_BYTES,
+                                (segment.records - segment.syncedRecords) * RECORD_BYTES);
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                }
+                segment.syncedRecords = segment.records;
+            }
+        }
+    }
+
+    /** Wipes records appended since the last successful sync, so a restart cannot replay them. */
+    void discard() {
+        for (Segment segment : segments) {
+            int unsynced = segment.records - segment.syncedRecords;
+            if (unsynced > 0) {
+                int from = segment.syncedRecords * RECORD_BYTES;
+                segment.buffer.put(from, new byte[unsynced * RECORD_BYTES]);
+                segment.records = segment.syncedRecords;
+                nextSequence -= unsynced;
+            }
+        }
+    }
+
+    /** Deletes closed segments whose records are all at or below {@code persistedSequence}. */
+    int retire(long persistedSequence) throws IOException {
+        int retired = 0;
+        while (segments.size() > 1 && segments.peekFirst().lastSequence() <= persistedSequence) {
+            Files.deleteIfExists(segments.pollFirst().path);
+            retired++;
+        }
+        return retired;
+    }
+
+    int getSegmentCount() { return segments.size(); }
+
+    long getLiveBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += (long) segment.records * RECORD_BYTES;
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    private Segment roll() throws IOException {
+        Path path = directory.resolve(String.format("%020d.seg", nextSequence));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_BYTES);
+        }
+        if (fsync) {
+            // Make the new directory entry itself durable.
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            }
+        }
+        Segment segment = new Segment(path, nextSequence, buffer);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /**
+     * Reads the records of one segment in order, stopping at zero-filled
+     * preallocated space. A checksum mismatch anywhere else can only be a record
+     * torn by a crash.
+     */
+    static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32C check = new CRC32C();
+        for (int offset = 0; offset + RECORD_BYTES <= data.limit(); offset += RECORD_BYTES) {
+            check.reset();
+            check.update(data.slice(offset, PAYLOAD_BYTES));
+            if (data.getInt(offset + PAYLOAD_BYTES) != (int) check.getValue()) {
+                if (isZero(data, offset, RECORD_BYTES)) {
+                    return entries;
+                }
+                throw new CorruptJournalException(file, offset, entries);
+            }
+            entries.add(new Entry(data.getLong(offset), data.getInt(offset + 8), data.getInt(offset + 12),
+                    data.getLong(offset + 16), data.getLong(offset + 24)));
+        }
+        int tail = data.limit() % RECORD_BYTES;
+        if (tail > 0 && !isZero(data, data.limit() - tail, tail)) {
+            throw new CorruptJournalException(file, data.limit() - tail, entries);
+        }
+        return entries;
+    }
+
+    private static boolean isZero(ByteBuffer data, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (data.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    record Entry(long itemId, int delta, int resultingQuantity, long version, long timestamp) {}
+
+    private static final class Segment {
+        final Path path;
+        final long firstSequence;
+        final MappedByteBuffer buffer;
+        int records;
+        int syncedRecords;
+
+        Segment(Path path, long firstSequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+        }
+
+        long lastSequence() {
+            return firstSequence + records - 1;
+        }
+    }
+
+    /** Carries the records read before the damaged offset. */
+    static final class CorruptJournalException extends IOException {
+
+        private final transient List<Entry> intact;
+
+        CorruptJournalException(Path file, long offset, List<Entry> intact) {
+            super("Torn or corrupt record in " + file + " at offset " + offset);
+            this.intact = intact;
+        }
+
+        List<Entry> getIntact() { return intact; }
+    }
+}
@@ -0,0 +1,386 @@
+package com.inventory.engine.ledger;
+
+import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.LedgerBackpressureException;
+import com.inventory.engine.exception.SkuNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One partition of the ledger. A single thread owns every SKU hashed to this
+ * shard: it takes queued mutations in batches, applies them to plain
+ * {@code int}/{@code long} arrays indexed by a dense slot per SKU (found through
+ * an open-addressing {@code int[]} table, so lookups do not box), appends the
+ * batch to the shard's {@link LedgerJournal} and syncs it with one fsync, hands
+ * it to the write-behind queue and only then acknowledges the callers. Nothing
+ * in here is locked.
+ */
+final class LedgerShard implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerShard.class);
+
+    private static final long IDLE_POLL_MS = 100;
+    // Unknown SKUs are not looked up again for this long, so a client retrying a
+    // bad SKU cannot stall the shard thread on a database query per mutation.
+    private static final long MISSING_TTL_MS = 1_000;
+    private static final int MAX_MISSING = 10_000;
+
+    private final int index;
+    private final BlockingQueue<Mutation> queue;
+    private LedgerJournal journal;
+    private final LedgerWriteBehind writeBehind;
+    private final Function<String, Optional<LedgerSku>> loader;
+    private final int maxBatch;
+    private final long submitTimeoutMs;
+
+    // Owned by the shard thread (and by the starting thread before it runs).
+    // Slot + 1 per bucket, 0 when empty; linear probing, at most half full.
+    private int[] slotTable = new int[32];
+    private long[] itemIds = new long[16];
+    private int[] quantities = new int[16];
+    private int[] reserved = new int[16];
+    private long[] versions = new long[16];
+    private String[] skus = new String[16];
+    private String[] warehouseIds = new String[16];
+    private int size;
+    private final Map<String, Long> missingUntil = new HashMap<>();
+
+    private volatile long appendedSequence;
+    private volatile long journalBytes;
+    private volatile int journalSegments;
+    private final AtomicLong persistedSequence = new AtomicLong();
+    private volatile IOException failure;
+    private volatile boolean running;
+    private Thread thread;
+
+    LedgerShard(int index, LedgerWriteBehind writeBehind, Function<String, Optional<LedgerSku>> loader,
+                int queueCapacity, int maxBatch, long submitTimeoutMs) {
+        this.index = index;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writeBehind = writeBehind;
+        this.loader = loader;
+        this.maxBatch = maxBatch;
+        this.submitTimeoutMs = submitTimeoutMs;
+    }
+
+    /** Loads a SKU's current state. Only called before {@link #start()}. */
+    void register(LedgerSku row) {
+        slot(row);
+    }
+
+    /**
+     * Applies a journal record from a previous run if it is newer than the state
+     * loaded from the database. Only called before {@link #start()}.
+     */
+    LedgerEntry replay(String sku, LedgerJournal.Entry record) {
+        int slot = indexOf(sku);
+        if (slot < 0 || record.version() <= versions[slot]) {
+            return null;
+        }
+        quantities[slot] = record.resultingQuantity();
+        versions[slot] = record.version();
+        return new LedgerEntry(-1, 0, record.itemId(), sku, warehouseIds[slot],
+                record.delta(), record.resultingQuantity(), record.version(), record.timestamp());
+    }
+
+    void start(LedgerJournal journal) {
+        this.journal = journal;
+        running = true;
+        thread = new Thread(this, "ledger-shard-" + index);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops taking mutations, finishes the queued ones and waits for the thread. */
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    CompletableFuture<StockUpdateResponse> submit(String sku, int delta) {
+        if (failure != null) {
+            throw unavailable();
+        }
+        if (!running) {
+            throw new IllegalStateException("Stock ledger is shutting down");
+        }
+        Mutation mutation = new Mutation(sku, delta);
+        try {
+            if (!queue.offer(mutation, submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new LedgerBackpressureException(index);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerBackpressureException(index);
+        }
+        return mutation.future;
+    }
+
+    /** Called by the write-behind thread once entries up to {@code sequence} are in the database. */
+    void persisted(long sequence) {
+        persistedSequence.accumulateAndGet(sequence, Math::max);
+    }
+
+    int getSkuCount() { return size; }
+
+    long getAppendedSequence() { return appendedSequence; }
+
+    int getQueueDepth() { return queue.size(); }
+
+    boolean isFailed() { return failure != null; }
+
+    // Read from other threads for stats only; may be slightly stale.
+    long getJournalBytes() { return journalBytes; }
+
+    int getJournalSegments() { return journalSegments; }
+
+    @Override
+    public void run() {
+        List<Mutation> batch = new ArrayList<>(maxBatch);
+        List<Mutation> applied = new ArrayList<>(maxBatch);
+        while (true) {
+            Mutation first;
+            try {
+                first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                retireSegments();
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, maxBatch - 1);
+            try {
+                process(batch, applied);
+            } finally {
+                batch.clear();
+                applied.clear();
+            }
+            retireSegments();
+        }
+    }
+
+    private void process(List<Mutation> batch, List<Mutation> applied) {
+        long now = System.currentTimeMillis();
+        for (Mutation mutation : batch) {
+            if (failure != null) {
+                mutation.failure = unavailable();
+                continue;
+            }
+            int slot;
+            try {
+                slot = slotOf(mutation.sku, now);
+            } catch (RuntimeException e) {
+                mutation.failure = e;
+                continue;
+            }
+            if (slot < 0) {
+                mutation.failure = new SkuNotFoundException(mutation.sku);
+                continue;
+            }
+            int current = quantities[slot];
+            int next = current + mutation.delta;
+            if (next < reserved[slot]) {
+                mutation.failure = new InsufficientStockException(
+                        mutation.sku, current, reserved[slot], mutation.delta);
+                continue;
+            }
+            mutation.slot = slot;
+            mutation.previousQuantity = current;
+            mutation.version = ++versions[slot];
+            quantities[slot] = next;
+            try {
+                mutation.sequence = journal.append(itemIds[slot], mutation.delta, next, mutation.version, now);
+            } catch (IOException e) {
+                quantities[slot] = current;
+                versions[slot]--;
+                fail(e);
+                mutation.failure = unavailable();
+                continue;
+            }
+            applied.add(mutation);
+        }
+
+        if (!applied.isEmpty() && failure == null) {
+            try {
+                journal.sync();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        if (!applied.isEmpty() && failure != null) {
+            // Nothing in this batch was acknowledged: wipe it so a restart cannot replay it.
+            journal.discard();
+            for (int i = applied.size() - 1; i >= 0; i--) {
+                Mutation mutation = applied.get(i);
+                quantities[mutation.slot] = mutation.previousQuantity;
+                versions[mutation.slot] = mutation.version - 1;
+                mutation.failure = unavailable();
+            }
+            applied.clear();
+        }
+
+        if (!applied.isEmpty()) {
+            List<LedgerEntry> entries = new ArrayList<>(applied.size());
+            for (Mutation mutation : applied) {
+                int slot = mutation.slot;
+                entries.add(new LedgerEntry(index, mutation.sequence, itemIds[slot], skus[slot], warehouseIds[slot],
+                        mutation.delta, mutation.previousQuantity + mutation.delta, mutation.version, now));
+            }
+            appendedSequence = applied.get(applied.size() - 1).sequence;
+            writeBehind.enqueue(entries);
+        }
+
+        for (Mutation mutation : batch) {
+            if (mutation.failure != null) {
+                mutation.future.completeExceptionally(mutation.failure);
+            } else {
+                mutation.future.complete(new StockUpdateResponse(true, "Stock updated successfully",
+                        mutation.sku, mutation.previousQuantity + mutation.delta, mutation.version));
+            }
+        }
+    }
+
+    /** Deletes journal segments the write-behind has fully persisted. */
+    private void retireSegments() {
+        try {
+            journal.retire(persistedSequence.get());
+        } catch (IOException e) {
+            log.warn("Could not delete persisted journal segment of shard {}: {}", index, e.getMessage());
+        }
+        journalBytes = journal.getLiveBytes();
+        journalSegments = journal.getSegmentCount();
+    }
+
+    private void fail(IOException e) {
+        // The journal may now hold records we cannot vouch for: refuse further writes.
+        failure = e;
+        log.error("Ledger shard {} could not write its journal; rejecting writes until restart", index, e);
+    }
+
+    /**
+     * Slot of {@code sku}, loading SKUs created after startup; -1 if it does not
+     * exist. A miss is remembered for {@link #MISSING_TTL_MS}.
+     */
+    private int slotOf(String sku, long now) {
+        int slot = indexOf(sku);
+        if (slot >= 0) {
+            return slot;
+        }
+        Long until = missingUntil.get(sku);
+        if (until != null && until > now) {
+            return -1;
+        }
+        Optional<LedgerSku> row = loader.apply(sku);
+        if (row.isPresent()) {
+            missingUntil.remove(sku);
+            return slot(row.get());
+        }
+        if (missingUntil.size() >= MAX_MISSING) {
+            missingUntil.values().removeIf(expiry -> expiry <= now);
+            if (missingUntil.size() >= MAX_MISSING) {
+                missingUntil.clear();
+            }
+        }
+        missingUntil.put(sku, now + MISSING_TTL_MS);
+        return -1;
+    }
+
+    private int slot(LedgerSku row) {
+        int existing = indexOf(row.sku());
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size == itemIds.length) {
+            int capacity = size * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            reserved = Arrays.copyOf(reserved, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            skus = Arrays.copyOf(skus, capacity);
+            warehouseIds = Arrays.copyOf(warehouseIds, capacity);
+        }
+        int slot = size++;
+        itemIds[slot] = row.itemId();
+        quantities[slot] = row.quantity();
+        reserved[slot] = row.reservedQuantity();
+        versions[slot] = row.version();
+        skus[slot] = row.sku();
+        warehouseIds[slot] = row.warehouseId();
+        if (size * 2 > slotTable.length) {
+            slotTable = new int[slotTable.length * 2];
+            for (int i = 0; i < size - 1; i++) {
+                insert(i);
+            }
+        }
+        insert(slot);
+        return slot;
+    }
+
+    private int indexOf(String sku) {
+        int mask = slotTable.length - 1;
+        for (int bucket = spread(sku.hashCode()) & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = slotTable[bucket];
+            if (entry == 0) {
+                return -1;
+            }
+            if (skus[entry - 1].equals(sku)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insert(int slot) {
+        int mask = slotTable.length - 1;
+        int bucket = spread(skus[slot].hashCode()) & mask;
+        while (slotTable[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        slotTable[bucket] = slot + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private IllegalStateException unavailable() {
+        return new IllegalStateException("Stock ledger shard " + index
+                + " is unavailable after a log write failure: " + failure.getMessage());
+    }
+
+    private static final class Mutation {
+        final String sku;
+        final int delta;
+        final CompletableFuture<StockUpdateResponse> future = new CompletableFuture<>();
+        int slot;
+        int previousQuantity;
+        long version;
+        long sequence;
+        RuntimeException failure;
+
+        Mutation(String sku, int delta) {
+            this.sku = sku;
+            this.delta = delta;
+        }
+    }
+}
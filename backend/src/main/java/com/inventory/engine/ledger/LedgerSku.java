@@ -0,0 +1,8 @@
+package com.inventory.engine.ledger;
+
+/**
+ * One {@code inventory_items} row as the ledger loads it. Reservations are
+ * rejected while the ledger is enabled, so {@code reservedQuantity} cannot
+ * change after it is loaded.
+ */
+record LedgerSku(long itemId, String sku, String warehouseId, int quantity, int reservedQuantity, long version) {}
@@ -0,0 +1,222 @@
+package com.inventory.engine.ledger;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.StockChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists applied ledger entries in batches: one transaction per batch sets
+ * each touched {@code inventory_items} row to its latest ledger quantity and
+ * version and writes one audit log row per entry through {@link AuditLogWriter}.
+ * The row update is guarded by {@code version < ?}, so persisting an entry twice
+ * (after a crash between commit and log truncation) is harmless.
+ *
+ * <p>A failed batch is retried until it commits; its entries stay in the shard
+ * logs in the meantime, so a crash loses nothing that was acknowledged.
+ */
+final class LedgerWriteBehind implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerWriteBehind.class);
+
+    private static final long POLL_MS = 100;
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+
+    private static final String UPDATE_ITEM = """
+            UPDATE inventory_items
+               SET quantity = ?, version = ?, updated_at = ?
+             WHERE id = ? AND version < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLogWriter auditLogWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<LedgerEntry> queue;
+    private final int batchSize;
+    private LedgerShard[] shards = new LedgerShard[0];
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong persistedTotal = new AtomicLong();
+    private volatile Instant lastPersistAt;
+    private volatile boolean running;
+    private Thread thread;
+
+    LedgerWriteBehind(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      AuditLogWriter auditLogWriter, ApplicationEventPublisher eventPublisher,
+                      int batchSize, int maxBacklog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditLogWriter = auditLogWriter;
+        this.eventPublisher = eventPublisher;
+        this.queue = new LinkedBlockingQueue<>(maxBacklog);
+        this.batchSize = batchSize;
+    }
+
+    void start(LedgerShard[] shards) {
+        this.shards = shards;
+        running = true;
+        thread = new Thread(this, "ledger-write-behind");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Persists what is queued, then stops; gives up after {@code timeoutMs} if the database is down. */
+    void stop(long timeoutMs) throws InterruptedException {
+        running = false;
+        thread.join(timeoutMs);
+        if (thread.isAlive()) {
+            log.warn("Ledger write-behind stopped with {} entries unpersisted; they will be replayed on startup",
+                    pending.get());
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Queues entries in shard order, blocking while the backlog is full. The
+     * blocked shard stops taking mutations, which pushes back on its callers.
+     */
+    void enqueue(List<LedgerEntry> entries) {
+        pending.addAndGet(entries.size());
+        boolean interrupted = false;
+        for (LedgerEntry entry : entries) {
+            while (true) {
+                try {
+                    queue.put(entry);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Blocks until every queued entry is in the database, or {@code timeoutMs} passes. */
+    boolean flush(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getBacklog() { return pending.get(); }
+
+    long getPersistedTotal() { return persistedTotal.get(); }
+
+    Instant getLastPersistAt() { return lastPersistAt; }
+
+    @Override
+    public void run() {
+        List<LedgerEntry> batch = new ArrayList<>(batchSize);
+        long backoffMs = 50;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    LedgerEntry first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                persist(batch);
+                markPersisted(batch);
+                batch.clear();
+                backoffMs = 50;
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Ledger write-behind of {} entries failed, retrying in {}ms: {}",
+                        batch.size(), backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /** Writes {@code entries} (in shard log order) in one transaction. */
+    void persist(List<LedgerEntry> entries) {
+        // Latest state per SKU, updated in SKU order like every other multi-row writer.
+        Map<String, LedgerEntry> latest = new TreeMap<>();
+        Map<String, Integer> netChanges = new TreeMap<>();
+        List<InventoryLog> logs = new ArrayList<>(entries.size());
+        for (LedgerEntry entry : entries) {
+            latest.merge(entry.sku(), entry, (a, b) -> b.version() > a.version() ? b : a);
+            netChanges.merge(entry.sku(), entry.delta(), Integer::sum);
+            InventoryLog row = new InventoryLog(
+                    entry.warehouseId(),
+                    entry.sku(),
+                    entry.delta() >= 0 ? "RESTOCK" : "DEDUCT",
+                    entry.delta(),
+                    entry.quantity(),
+                    "Stock updated via API"
+            );
+            row.setTimestamp(Instant.ofEpochMilli(entry.timestamp()));
+            logs.add(row);
+        }
+
+        List<LedgerEntry> rows = new ArrayList<>(latest.values());
+        Timestamp now = Timestamp.from(Instant.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_ITEM, rows, rows.size(), (ps, row) -> {
+                ps.setInt(1, row.quantity());
+                ps.setLong(2, row.version());
+                ps.setTimestamp(3, now);
+                ps.setLong(4, row.itemId());
+                ps.setLong(5, row.version());
+            });
+            auditLogWriter.record(logs);
+            for (LedgerEntry row : rows) {
+                eventPublisher.publishEvent(new StockChangedEvent(row.sku(), row.warehouseId(),
+                        netChanges.get(row.sku()), row.quantity(), null, row.version()));
+            }
+        });
+    }
+
+    private void markPersisted(List<LedgerEntry> batch) {
+        // Entries of one shard are queued in sequence order, so the last one is the highest.
+        long[] highest = new long[shards.length];
+        for (LedgerEntry entry : batch) {
+            highest[entry.shard()] = entry.sequence();
+        }
+        for (int i = 0; i < highest.length; i++) {
+            if (highest[i] > 0) {
+                shards[i].persisted(highest[i]);
+            }
+        }
+        persistedTotal.addAndGet(batch.size());
+        pending.addAndGet(-batch.size());
+        lastPersistAt = Instant.now();
+    }
+}
@@ -0,0 +1,276 @@
+package com.inventory.engine.ledger;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.dto.LedgerStats;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.StockUpdateResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+/**
+ * In-memory stock ledger for the LEDGER write mode. Authoritative quantities
+ * live in memory, partitioned over single-writer {@link LedgerShard}s by SKU
+ * hash. A mutation is acknowledged once it is applied and synced to its
+ * shard's {@link LedgerJournal}; {@code inventory_items} and
+ * {@code inventory_logs} are projections that catch up through
+ * {@link LedgerWriteBehind} a few milliseconds later.
+ *
+ * <p>On startup the ledger loads every item from the database, whose row
+ * versions are the checkpoint, and replays any journal record newer than the
+ * stored version, so a crash loses nothing that was acknowledged. While
+ * enabled, the ledger owns stock: every single-SKU update goes through it,
+ * whatever write mode the request names.
+ */
+@Component
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    private static final String SHARD_DIR_GLOB = "shard-*";
+
+    private static final String SELECT_ITEMS =
+            "SELECT id, sku, warehouse_id, quantity, reserved_quantity, version FROM inventory_items";
+
+    private static final RowMapper<LedgerSku> ROW_MAPPER = (rs, rowNum) -> new LedgerSku(
+            rs.getLong("id"), rs.getString("sku"), rs.getString("warehouse_id"),
+            rs.getInt("quantity"), rs.getInt("reserved_quantity"), rs.getLong("version"));
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final Path directory;
+    private final int maxBatch;
+    private final int queueCapacity;
+    private final long submitTimeoutMs;
+    private final int writeBehindBatchSize;
+    private final int maxBacklog;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLogWriter auditLogWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private LedgerShard[] shards = new LedgerShard[0];
+    private final List<LedgerJournal> journals = new ArrayList<>();
+    private LedgerWriteBehind writeBehind;
+
+    public StockLedger(@Value("${inventory.ledger.enabled:false}") boolean enabled,
+                       @Value("${inventory.ledger.shards:0}") int shards,
+                       @Value("${inventory.ledger.dir:data/ledger}") String directory,
+                       @Value("${inventory.ledger.max-batch:256}") int maxBatch,
+                       @Value("${inventory.ledger.queue-capacity:10000}") int queueCapacity,
+                       @Value("${inventory.ledger.submit-timeout-ms:1000}") long submitTimeoutMs,
+                       @Value("${inventory.ledger.write-behind.batch-size:1000}") int writeBehindBatchSize,
+                       @Value("${inventory.ledger.write-behind.max-backlog:100000}") int maxBacklog,
+                       @Value("${inventory.ledger.journal.segment-bytes:16777216}") long segmentBytes,
+                       @Value("${inventory.ledger.journal.fsync:true}") boolean fsync,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       AuditLogWriter auditLogWriter,
+                       ApplicationEventPublisher eventPublisher) {
+        if (maxBatch < 1 || queueCapacity < 1 || writeBehindBatchSize < 1 || maxBacklog < 1) {
+            throw new IllegalArgumentException("inventory.ledger batch sizes and capacities must be >= 1");
+        }
+        this.enabled = enabled;
+        this.shardCount = shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        this.directory = Paths.get(directory);
+        this.maxBatch = maxBatch;
+        this.queueCapacity = queueCapacity;
+        this.submitTimeoutMs = submitTimeoutMs;
+        this.writeBehindBatchSize = writeBehindBatchSize;
+        this.maxBacklog = maxBacklog;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditLogWriter = auditLogWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> previousSegments = listSegments();
+
+        writeBehind = new LedgerWriteBehind(jdbcTemplate, transactionTemplate, auditLogWriter,
+                eventPublisher, writeBehindBatchSize, maxBacklog);
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, writeBehind, this::load, queueCapacity, maxBatch, submitTimeoutMs);
+        }
+
+        Map<Long, String> skusById = new HashMap<>();
+        jdbcTemplate.query(SELECT_ITEMS, rs -> {
+            LedgerSku row = ROW_MAPPER.mapRow(rs, 0);
+            skusById.put(row.itemId(), row.sku());
+            shardFor(row.sku()).register(row);
+        });
+        int replayed = replay(previousSegments, skusById);
+
+        for (int i = 0; i < shardCount; i++) {
+            LedgerJournal journal = new LedgerJournal(directory.resolve("shard-" + i), segmentBytes, fsync);
+            journals.add(journal);
+            shards[i].start(journal);
+        }
+        writeBehind.start(shards);
+        log.info("Stock ledger started: {} SKUs over {} shards, {} journal records replayed",
+                skusById.size(), shardCount, replayed);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (!enabled) {
+            return;
+        }
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        writeBehind.stop(10_000);
+        for (LedgerJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * Applies one stock delta and returns once it is durable in the shard journal.
+     * Throws {@link com.inventory.engine.exception.SkuNotFoundException} or
+     * {@link com.inventory.engine.exception.InsufficientStockException} for rejected requests.
+     */
+    public StockUpdateResponse apply(StockUpdateRequest request) {
+        if (!enabled) {
+            throw new IllegalArgumentException(
+                    "LEDGER write mode needs the stock ledger (inventory.ledger.enabled=true)");
+        }
+        try {
+            return shardFor(request.getSku()).submit(request.getSku(), request.getQuantityChange()).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /** Waits until every acknowledged mutation has been written to the database; a no-op when disabled. */
+    public void flush() {
+        if (enabled && !writeBehind.flush(30_000)) {
+            log.warn("Ledger write-behind did not catch up within 30s ({} entries pending)",
+                    writeBehind.getBacklog());
+        }
+    }
+
+    public LedgerStats getStats() {
+        if (!enabled) {
+            return new LedgerStats(false, 0, 0, 0, 0, 0, 0, 0, 0, 0, null);
+        }
+        int skus = 0;
+        int queued = 0;
+        int failed = 0;
+        long appended = 0;
+        long journalBytes = 0;
+        int journalSegments = 0;
+        for (LedgerShard shard : shards) {
+            skus += shard.getSkuCount();
+            queued += shard.getQueueDepth();
+            appended += shard.getAppendedSequence();
+            journalBytes += shard.getJournalBytes();
+            journalSegments += shard.getJournalSegments();
+            failed += shard.isFailed() ? 1 : 0;
+        }
+        return new LedgerStats(true, shards.length, skus, appended, writeBehind.getPersistedTotal(),
+                writeBehind.getBacklog(), queued, journalBytes, journalSegments, failed,
+                writeBehind.getLastPersistAt());
+    }
+
+    private LedgerShard shardFor(String sku) {
+        int hash = sku.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    /** Loads a SKU created after startup; runs on its shard's thread. */
+    private Optional<LedgerSku> load(String sku) {
+        return jdbcTemplate.query(SELECT_ITEMS + " WHERE sku = ?", ROW_MAPPER, sku).stream().findFirst();
+    }
+
+    /**
+     * Re-applies records a previous run synced but never persisted, writes them
+     * to the database, and then deletes the old segments; the new journals start
+     * empty. Records are applied per item in version order, so a change in shard
+     * count between runs does not matter.
+     */
+    private int replay(List<Path> previousSegments, Map<Long, String> skusById) throws IOException {
+        List<LedgerJournal.Entry> records = new ArrayList<>();
+        for (Path file : previousSegments) {
+            try {
+                records.addAll(LedgerJournal.read(file));
+            } catch (LedgerJournal.CorruptJournalException e) {
+                // Only a record that was being written when the process died can be torn.
+                log.warn("{}; replaying the {} records before it", e.getMessage(), e.getIntact().size());
+                records.addAll(e.getIntact());
+            }
+        }
+        records.sort(Comparator.comparingLong(LedgerJournal.Entry::itemId)
+                .thenComparingLong(LedgerJournal.Entry::version));
+
+        List<LedgerEntry> replayed = new ArrayList<>();
+        for (LedgerJournal.Entry record : records) {
+            String sku = skusById.get(record.itemId());
+            if (sku == null) {
+                log.warn("Skipping journal record for unknown item id {}", record.itemId());
+                continue;
+            }
+            LedgerEntry entry = shardFor(sku).replay(sku, record);
+            if (entry != null) {
+                replayed.add(entry);
+            }
+        }
+        replayed.sort(Comparator.comparingLong(LedgerEntry::timestamp));
+        for (int from = 0; from < replayed.size(); from += writeBehindBatchSize) {
+            writeBehind.persist(replayed.subList(from, Math.min(from + writeBehindBatchSize, replayed.size())));
+        }
+
+        for (Path file : previousSegments) {
+            Files.delete(file);
+        }
+        return replayed.size();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> shardDirs = Files.newDirectoryStream(directory, SHARD_DIR_GLOB)) {
+            for (Path shardDir : shardDirs) {
+                try (DirectoryStream<Path> segments = Files.newDirectoryStream(shardDir, LedgerJournal.SEGMENT_GLOB)) {
+                    segments.forEach(files::add);
+                }
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,263 @@
+package com.inventory.engine.loadgen;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.config.ThreadingConfig;
+import com.inventory.engine.dto.ConcurrencyTestResult;
+import com.inventory.engine.dto.InvariantCheckResult;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.exception.StockConflictException;
+import com.inventory.engine.ledger.StockLedger;
+import com.inventory.engine.repository.InventoryLogRepository;
+import com.inventory.engine.repository.InventoryRepository;
+import com.inventory.engine.service.InventoryService;
+import com.inventory.engine.service.RetryStats;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Fires bursts of concurrent stock updates at one SKU through the
+ * {@link InventoryService} bean, i.e. through its Spring proxy exactly like a
+ * controller call, and sorts every request into one outcome: committed,
+ * version conflict (retries exhausted), insufficient stock, or other error.
+ */
+@Component
+public class ConcurrencySimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencySimulator.class);
+
+    public static final int MAX_REQUESTS = 10_000;
+    public static final int MAX_RUNS = 10_000;
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final InventoryService inventoryService;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryLogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final StockLedger stockLedger;
+    private final AsyncTaskExecutor executor;
+
+    public ConcurrencySimulator(InventoryService inventoryService,
+                                InventoryRepository inventoryRepository,
+                                InventoryLogRepository logRepository,
+                                AuditLogWriter auditLogWriter,
+                                StockLedger stockLedger,
+                                @Qualifier(ThreadingConfig.LOAD_SIMULATOR_EXECUTOR) AsyncTaskExecutor executor) {
+        this.inventoryService = inventoryService;
+        this.inventoryRepository = inventoryRepository;
+        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.stockLedger = stockLedger;
+        this.executor = executor;
+    }
+
+    /**
+     * Simulates concurrent load by firing {@code requests} single-unit deductions
+     * in parallel against the same SKU. Requests run on the shared simulator
+     * executor: one virtual thread each when virtual threads are enabled,
+     * otherwise a fixed platform pool.
+     */
+    public ConcurrencyTestResult simulate(String sku, int requests, WriteMode mode) {
+        checkRange("requests", requests, MAX_REQUESTS);
+        Burst burst = fire(sku, requests, mode, i -> -1, true);
+
+        ConcurrencyTestResult result = new ConcurrencyTestResult();
+        result.setTotalRequests(requests);
+        result.setWriteCount(requests);
+        result.setSuccessCount(burst.committed());
+        result.setConflictCount(burst.conflicts());
+        result.setInsufficientStockCount(burst.insufficientStock());
+        result.setErrorCount(burst.errors());
+        result.setDurationMs(burst.durationMs);
+        result.setRetryCount(burst.retryStats.getRetries());
+        result.setAttemptLatenciesMicros(burst.retryStats.getAttemptLatenciesMicros());
+        result.setLatency(LoadGenerator.summarize(burst.latencies));
+        result.setConflictRate((double) burst.conflicts() / requests);
+        result.setRetryRate((double) burst.retryStats.getRetries() / requests);
+        result.setThreading(threading());
+        flushPendingWrites();
+        inventoryRepository.findBySku(sku).ifPresent(item -> {
+            result.setFinalQuantity(item.getQuantity());
+            result.setFinalVersion(item.getVersion());
+        });
+
+        log.info("Concurrency test complete: {} total, {} committed, {} conflicts, {} insufficient, {} errors, {} retries, {}ms",
+                requests, burst.committed(), burst.conflicts(), burst.insufficientStock(), burst.errors(),
+                burst.retryStats.getRetries(), burst.durationMs);
+        return result;
+    }
+
+    /**
+     * Runs {@code runs} bursts of {@code requestsPerRun} concurrent updates with
+     * random deltas (biased towards deductions, so stock regularly runs out) and
+     * after every burst checks, against the database:
+     * <ul>
+     *   <li>quantity = initial quantity + sum of committed deltas, and never negative;</li>
+     *   <li>sum of the SKU's logged quantity changes moved by exactly the committed deltas.</li>
+     * </ul>
+     * Ledger write-behind and the audit outbox are flushed before each check. Meant for a SKU that no other
+     * traffic touches while the check runs.
+     */
+    public InvariantCheckResult verify(String sku, int runs, int requestsPerRun, WriteMode mode, Long seed) {
+        checkRange("runs", runs, MAX_RUNS);
+        checkRange("requests", requestsPerRun, MAX_REQUESTS);
+        long startTime = System.currentTimeMillis();
+
+        flushPendingWrites();
+        int initialQuantity = currentQuantity(sku);
+        long initialLogged = logRepository.sumQuantityChangeBySku(sku);
+        Random random = new Random(seed != null ? seed : ThreadLocalRandom.current().nextLong());
+
+        InvariantCheckResult result = new InvariantCheckResult();
+        List<String> violations = new ArrayList<>();
+        int violationCount = 0;
+        long committedDelta = 0;
+        int quantity = initialQuantity;
+
+        for (int run = 1; run <= runs; run++) {
+            int[] deltas = new int[requestsPerRun];
+            for (int i = 0; i < deltas.length; i++) {
+                int magnitude = 1 + random.nextInt(3);
+                deltas[i] = random.nextInt(5) < 3 ? -magnitude : magnitude;
+            }
+            Burst burst = fire(sku, requestsPerRun, mode, i -> deltas[i], false);
+            committedDelta += burst.committedDelta.sum();
+
+            flushPendingWrites();
+            quantity = currentQuantity(sku);
+            long loggedDelta = logRepository.sumQuantityChangeBySku(sku) - initialLogged;
+            String violation = null;
+            if (quantity != initialQuantity + committedDelta) {
+                violation = "quantity " + quantity + " != initial " + initialQuantity
+                        + " + committed " + committedDelta;
+            } else if (loggedDelta != committedDelta) {
+                violation = "logged delta " + loggedDelta + " != committed " + committedDelta;
+            } else if (quantity < 0) {
+                violation = "negative quantity " + quantity;
+            }
+            if (violation != null) {
+                violationCount++;
+                if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+                    violations.add("run " + run + ": " + violation);
+                }
+                // Re-base so that one lost update is reported once, not in every later run.
+                initialQuantity = quantity - (int) committedDelta;
+                initialLogged = logRepository.sumQuantityChangeBySku(sku) - committedDelta;
+            }
+
+            result.setCommittedCount(result.getCommittedCount() + burst.committed());
+            result.setConflictCount(result.getConflictCount() + burst.conflicts());
+            result.setInsufficientStockCount(result.getInsufficientStockCount() + burst.insufficientStock());
+            result.setErrorCount(result.getErrorCount() + burst.errors());
+        }
+
+        result.setSku(sku);
+        result.setWriteMode(mode);
+        result.setRuns(runs);
+        result.setRequestsPerRun(requestsPerRun);
+        result.setInitialQuantity(quantity - (int) committedDelta);
+        result.setFinalQuantity(quantity);
+        result.setCommittedDelta(committedDelta);
+        result.setLoggedDelta(logRepository.sumQuantityChangeBySku(sku) - initialLogged);
+        result.setViolationCount(violationCount);
+        result.setViolations(violations);
+        result.setDurationMs(System.currentTimeMillis() - startTime);
+
+        log.info("Invariant check on {}: {} runs x {} requests, {} committed, {} violations, {}ms",
+                sku, runs, requestsPerRun, result.getCommittedCount(), violationCount, result.getDurationMs());
+        return result;
+    }
+
+    private Burst fire(String sku, int requests, WriteMode mode, IntUnaryOperator delta, boolean keepLatencies) {
+        Burst burst = new Burst(keepLatencies);
+        long startTime = System.currentTimeMillis();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int change = delta.applyAsInt(i);
+            futures.add(CompletableFuture.runAsync(() -> burst.update(sku, change, mode), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+        burst.durationMs = System.currentTimeMillis() - startTime;
+        return burst;
+    }
+
+    private void flushPendingWrites() {
+        stockLedger.flush();
+        auditLogWriter.flush();
+    }
+
+    private int currentQuantity(String sku) {
+        return inventoryRepository.findBySku(sku)
+                .map(InventoryItem::getQuantity)
+                .orElseThrow(() -> new SkuNotFoundException(sku));
+    }
+
+    private String threading() {
+        return executor instanceof VirtualThreadTaskExecutor ? "VIRTUAL" : "PLATFORM";
+    }
+
+    private static void checkRange(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + " must be between 1 and " + max);
+        }
+    }
+
+    private final class Burst {
+
+        final RetryStats retryStats;
+        final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        final LongAdder committed = new LongAdder();
+        final LongAdder committedDelta = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder insufficientStock = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        long durationMs;
+
+        Burst(boolean keepLatencies) {
+            this.retryStats = new RetryStats(keepLatencies);
+        }
+
+        void update(String sku, int change, WriteMode mode) {
+            long start = System.nanoTime();
+            try {
+                inventoryService.updateStock(new StockUpdateRequest(sku, change, mode), retryStats);
+                committed.increment();
+                committedDelta.add(change);
+            } catch (StockConflictException e) {
+                conflicts.increment();
+            } catch (InsufficientStockException e) {
+                insufficientStock.increment();
+            } catch (RuntimeException e) {
+                errors.increment();
+                log.debug("Simulated update failed", e);
+            } finally {
+                latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        }
+
+        int committed() { return committed.intValue(); }
+
+        int conflicts() { return conflicts.intValue(); }
+
+        int insufficientStock() { return insufficientStock.intValue(); }
+
+        int errors() { return errors.intValue(); }
+    }
+}
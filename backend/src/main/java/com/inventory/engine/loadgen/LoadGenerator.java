@@ -0,0 +1,264 @@
+package com.inventory.engine.loadgen;
+
+import com.inventory.engine.cluster.ClusterRouter;
+import com.inventory.engine.config.ThreadingConfig;
+import com.inventory.engine.dto.ConcurrencyTestResult;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.LatencySummary;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.ThroughputSample;
+import com.inventory.engine.dto.WorkloadSpec;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.StockConflictException;
+import com.inventory.engine.service.InventoryService;
+import com.inventory.engine.service.RetryStats;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator on top of {@link InventoryService}.
+ *
+ * <p>Operations are scheduled at fixed intervals from the start of the run and
+ * handed to the simulator executor without waiting for earlier ones, so a slow
+ * service builds up a backlog instead of quietly lowering the offered load.
+ * Latency is measured from each operation's scheduled start, not from when a
+ * thread picked it up, which keeps queueing delay in the percentiles
+ * (no coordinated omission).
+ */
+@Component
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final InventoryService inventoryService;
+    private final ClusterRouter clusterRouter;
+    private final AsyncTaskExecutor executor;
+
+    public LoadGenerator(InventoryService inventoryService, ClusterRouter clusterRouter,
+                         @Qualifier(ThreadingConfig.LOAD_SIMULATOR_EXECUTOR) AsyncTaskExecutor executor) {
+        this.inventoryService = inventoryService;
+        this.clusterRouter = clusterRouter;
+        this.executor = executor;
+    }
+
+    public ConcurrencyTestResult run(WorkloadSpec spec) {
+        List<String> skus = selectSkus(spec);
+        long seed = spec.getSeed() != null ? spec.getSeed() : ThreadLocalRandom.current().nextLong();
+        Random random = new Random(seed);
+        // Shuffle so that the hot ranks land on SKUs from every warehouse.
+        Collections.shuffle(skus, random);
+        ZipfianDistribution distribution = new ZipfianDistribution(skus.size(), spec.getZipfExponent());
+
+        Run run = new Run(spec);
+        long rate = spec.getTargetOpsPerSecond();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(spec.getDurationSeconds());
+        run.nextSampleAt = start + SAMPLE_INTERVAL_NANOS;
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * 1_000_000_000L / rate;
+            if (scheduledAt >= end) {
+                break;
+            }
+            run.awaitUntil(scheduledAt, start);
+
+            boolean read = random.nextDouble() < spec.getReadRatio();
+            String sku = skus.get(distribution.sample(random));
+            int change = 1 + random.nextInt(spec.getMaxQuantityChange());
+            int delta = random.nextDouble() < spec.getRestockRatio() ? change : -change;
+
+            if (run.inFlight.get() >= spec.getMaxInFlight()) {
+                run.dropped++;
+                continue;
+            }
+            run.inFlight.incrementAndGet();
+            if (read) {
+                run.reads++;
+                executor.execute(() -> run.read(sku, scheduledAt));
+            } else {
+                run.writes++;
+                executor.execute(() -> run.write(sku, delta, scheduledAt));
+            }
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (run.inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            run.awaitUntil(Math.min(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1), drainDeadline), start);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        run.sample(elapsedNanos);
+
+        ConcurrencyTestResult result = run.toResult(elapsedNanos);
+        result.setThreading(executor instanceof VirtualThreadTaskExecutor ? "VIRTUAL" : "PLATFORM");
+        log.info("Load test complete: {} ops at {}/s target, {}/s achieved, p99 {}us, {} conflicts, {} errors, {} dropped (seed {})",
+                result.getTotalRequests(), rate, Math.round(result.getAchievedOpsPerSecond()),
+                result.getLatency().getP99Micros(), result.getConflictCount(), result.getErrorCount(),
+                result.getDroppedCount(), seed);
+        return result;
+    }
+
+    private List<String> selectSkus(WorkloadSpec spec) {
+        List<String> warehouses = spec.getWarehouses();
+        List<String> skus = new ArrayList<>();
+        for (InventoryItemSnapshot item : inventoryService.getAllItems()) {
+            if ((warehouses == null || warehouses.isEmpty() || warehouses.contains(item.getWarehouseId()))
+                    && (!spec.isOwnedSkusOnly() || clusterRouter.owns(item.getSku()))) {
+                skus.add(item.getSku());
+            }
+        }
+        if (skus.isEmpty()) {
+            throw new IllegalArgumentException("No SKUs found for warehouses " + warehouses);
+        }
+        return skus;
+    }
+
+    static LatencySummary summarize(Histogram histogram) {
+        return new LatencySummary(
+                histogram.getTotalCount(),
+                histogram.getTotalCount() > 0 ? histogram.getMean() : 0,
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue());
+    }
+
+    /** State of one run. Counters are shared with the worker threads; the rest is dispatcher-only. */
+    private final class Run {
+
+        final WorkloadSpec spec;
+        final RetryStats retryStats = new RetryStats(false);
+        final Recorder recorder = new Recorder(3);
+        final Histogram total = new Histogram(3);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final LongAdder successes = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder insufficientStock = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder intervalConflicts = new LongAdder();
+        final LongAdder intervalErrors = new LongAdder();
+        final List<ThroughputSample> timeline = new ArrayList<>();
+        Histogram interval;
+        long nextSampleAt;
+        int reads;
+        int writes;
+        int dropped;
+
+        final WriteMode writeMode;
+
+        Run(WorkloadSpec spec) {
+            this.spec = spec;
+            this.writeMode = clusterRouter.localWriteMode(spec.getWriteMode());
+        }
+
+        void read(String sku, long scheduledAt) {
+            try {
+                inventoryService.getItem(sku);
+                successes.increment();
+            } catch (RuntimeException e) {
+                failed(e);
+            } finally {
+                completed(scheduledAt);
+            }
+        }
+
+        void write(String sku, int delta, long scheduledAt) {
+            try {
+                inventoryService.updateStock(new StockUpdateRequest(sku, delta, writeMode), retryStats);
+                successes.increment();
+            } catch (StockConflictException e) {
+                conflicts.increment();
+                intervalConflicts.increment();
+            } catch (InsufficientStockException e) {
+                insufficientStock.increment();
+            } catch (RuntimeException e) {
+                failed(e);
+            } finally {
+                completed(scheduledAt);
+            }
+        }
+
+        private void failed(RuntimeException e) {
+            errors.increment();
+            intervalErrors.increment();
+            if (!(e instanceof IllegalArgumentException)) {
+                log.debug("Load test operation failed", e);
+            }
+        }
+
+        private void completed(long scheduledAt) {
+            recorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt)));
+            inFlight.decrementAndGet();
+        }
+
+        /** Parks until {@code deadline}, taking throughput samples as their intervals end. */
+        void awaitUntil(long deadline, long start) {
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                if (now >= nextSampleAt) {
+                    sample(nextSampleAt - start);
+                    nextSampleAt += SAMPLE_INTERVAL_NANOS;
+                    continue;
+                }
+                LockSupport.parkNanos(Math.min(deadline, nextSampleAt) - now);
+            }
+            while (now >= nextSampleAt) {
+                sample(nextSampleAt - start);
+                nextSampleAt += SAMPLE_INTERVAL_NANOS;
+            }
+        }
+
+        void sample(long offsetNanos) {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            timeline.add(new ThroughputSample(
+                    TimeUnit.NANOSECONDS.toMillis(offsetNanos),
+                    interval.getTotalCount(),
+                    intervalConflicts.sumThenReset(),
+                    intervalErrors.sumThenReset(),
+                    interval.getValueAtPercentile(99)));
+        }
+
+        ConcurrencyTestResult toResult(long elapsedNanos) {
+            ConcurrencyTestResult result = new ConcurrencyTestResult();
+            int completed = (int) total.getTotalCount();
+            result.setTotalRequests(reads + writes);
+            result.setReadCount(reads);
+            result.setWriteCount(writes);
+            result.setSuccessCount((int) successes.sum());
+            result.setConflictCount((int) conflicts.sum());
+            result.setInsufficientStockCount((int) insufficientStock.sum());
+            result.setErrorCount((int) errors.sum());
+            result.setDroppedCount(dropped);
+            result.setRetryCount(retryStats.getRetries());
+            result.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.setTargetOpsPerSecond(spec.getTargetOpsPerSecond());
+            result.setAchievedOpsPerSecond(completed * 1e9 / elapsedNanos);
+            result.setConflictRate(writes > 0 ? (double) conflicts.sum() / writes : 0);
+            result.setRetryRate(writes > 0 ? (double) retryStats.getRetries() / writes : 0);
+            result.setLatency(summarize(total));
+            result.setThroughputTimeline(timeline);
+            return result;
+        }
+    }
+}
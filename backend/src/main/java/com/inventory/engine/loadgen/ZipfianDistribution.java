@@ -0,0 +1,35 @@
+package com.inventory.engine.loadgen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over ranks {@code 0..n-1}: rank {@code k} is drawn with
+ * probability proportional to {@code 1 / (k + 1)^exponent}. The cumulative
+ * distribution is built once, so each sample is a binary search.
+ */
+final class ZipfianDistribution {
+
+    private final double[] cumulative;
+
+    ZipfianDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be >= 1");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+}
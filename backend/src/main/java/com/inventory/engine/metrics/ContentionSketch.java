@@ -0,0 +1,78 @@
+package com.inventory.engine.metrics;
+
+import com.inventory.engine.dto.ContendedSku;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Space-saving top-K sketch (Metwally et al.): at most {@code capacity}
+ * counters, each SKU's count an upper bound on its true weight and
+ * {@code count - error} a lower bound. An unmonitored SKU takes over the
+ * smallest counter and inherits its count as error, so any SKU heavier than
+ * total / capacity is guaranteed to be monitored.
+ *
+ * <p>Offers only come from conflicting or queued writes, which already cost a
+ * database round trip, so a lock and a linear minimum scan are cheap enough.
+ */
+final class ContentionSketch {
+
+    private final int capacity;
+    private final HashMap<String, Entry> entries;
+
+    ContentionSketch(int capacity) {
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    int capacity() { return capacity; }
+
+    synchronized void offer(String sku, String warehouseId, long weight) {
+        Entry entry = entries.get(sku);
+        if (entry == null) {
+            if (entries.size() < capacity) {
+                entry = new Entry(sku);
+            } else {
+                entry = minimum();
+                entries.remove(entry.sku);
+                entry.sku = sku;
+                entry.error = entry.count;
+            }
+            entries.put(sku, entry);
+        }
+        entry.count += weight;
+        entry.warehouseId = warehouseId;
+    }
+
+    synchronized List<ContendedSku> top(int limit) {
+        List<ContendedSku> top = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            top.add(new ContendedSku(entry.sku, entry.warehouseId, entry.count, entry.error));
+        }
+        top.sort(Comparator.comparingLong(ContendedSku::getCount).reversed());
+        return top.size() > limit ? List.copyOf(top.subList(0, limit)) : top;
+    }
+
+    private Entry minimum() {
+        Entry minimum = null;
+        for (Entry entry : entries.values()) {
+            if (minimum == null || entry.count < minimum.count) {
+                minimum = entry;
+            }
+        }
+        return minimum;
+    }
+
+    private static final class Entry {
+        String sku;
+        String warehouseId;
+        long count;
+        long error;
+
+        Entry(String sku) {
+            this.sku = sku;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.inventory.engine.metrics;
+
+import com.inventory.engine.dto.ContendedSku;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.idempotency.IdempotencyKeyTakenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Micrometer timers for the database write paths, plus a top-K of the SKUs
+ * whose writes contend the most.
+ *
+ * <ul>
+ *   <li>{@code inventory.stock.update} - one stock transaction, commit included,
+ *       tagged {@code mode}, {@code warehouse} and {@code outcome}.</li>
+ *   <li>{@code inventory.stock.update.stage} - the row read ({@code find}), the
+ *       row write ({@code save}, or {@code apply} for ATOMIC's guarded UPDATE) and
+ *       the audit insert ({@code log}) of that transaction, tagged {@code mode},
+ *       {@code stage} and {@code warehouse}.</li>
+ *   <li>{@code inventory.stock.contention} - optimistic-lock conflicts plus
+ *       requests that queued behind another in a coalesced batch, by warehouse.</li>
+ * </ul>
+ *
+ * <p>Meters are registered on first use and kept per warehouse in arrays
+ * indexed by enum ordinal, so the hot path is one map lookup on the row's own
+ * warehouse id and never builds a tag or meter id.
+ */
+@Component
+public class StockUpdateMetrics {
+
+    public enum Stage {
+        FIND, SAVE, APPLY, LOG;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum Outcome {
+        SUCCESS, CONFLICT, INSUFFICIENT_STOCK, NOT_FOUND, DUPLICATE, ERROR;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String UNKNOWN_WAREHOUSE = "unknown";
+    private static final WriteMode[] MODES = WriteMode.values();
+    private static final Stage[] STAGES = Stage.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final ContentionSketch contention;
+    private final ConcurrentHashMap<String, WarehouseMeters> warehouses = new ConcurrentHashMap<>();
+
+    public StockUpdateMetrics(MeterRegistry registry,
+                              @Value("${inventory.metrics.contention.capacity:64}") int contentionCapacity) {
+        if (contentionCapacity < 1) {
+            throw new IllegalArgumentException("inventory.metrics.contention.capacity must be >= 1");
+        }
+        this.registry = registry;
+        this.contention = new ContentionSketch(contentionCapacity);
+    }
+
+    /** Starts timing one stock transaction. */
+    public Sample start(WriteMode mode) {
+        return new Sample(mode, System.nanoTime());
+    }
+
+    public void stop(Sample sample, Outcome outcome) {
+        long now = System.nanoTime();
+        WarehouseMeters meters = meters(sample.warehouseId);
+        int modeIndex = sample.mode.ordinal();
+        meters.transaction(modeIndex, outcome).record(now - sample.start, TimeUnit.NANOSECONDS);
+        for (Stage stage : STAGES) {
+            if ((sample.recorded & (1 << stage.ordinal())) != 0) {
+                meters.stage(modeIndex, stage).record(sample.stageNanos[stage.ordinal()], TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /** Stops a sample whose transaction failed with {@code failure}. */
+    public void stop(Sample sample, Throwable failure) {
+        stop(sample, outcomeOf(failure));
+    }
+
+    /** Counts {@code weight} writes to {@code sku} that had to wait for, or retry after, another one. */
+    public void recordContention(String sku, String warehouseId, int weight) {
+        if (weight < 1) {
+            return;
+        }
+        meters(warehouseId).contention().increment(weight);
+        contention.offer(sku, warehouseId, weight);
+    }
+
+    /** The most contended SKUs since startup, most contended first. */
+    public List<ContendedSku> getTopContended(int limit) {
+        if (limit < 1 || limit > contention.capacity()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + contention.capacity());
+        }
+        return contention.top(limit);
+    }
+
+    private static Outcome outcomeOf(Throwable failure) {
+        if (failure instanceof ObjectOptimisticLockingFailureException) {
+            return Outcome.CONFLICT;
+        }
+        if (failure instanceof InsufficientStockException) {
+            return Outcome.INSUFFICIENT_STOCK;
+        }
+        if (failure instanceof SkuNotFoundException) {
+            return Outcome.NOT_FOUND;
+        }
+        if (failure instanceof IdempotencyKeyTakenException) {
+            return Outcome.DUPLICATE;
+        }
+        return Outcome.ERROR;
+    }
+
+    private WarehouseMeters meters(String warehouseId) {
+        String key = warehouseId != null ? warehouseId : UNKNOWN_WAREHOUSE;
+        WarehouseMeters meters = warehouses.get(key);
+        return meters != null ? meters : warehouses.computeIfAbsent(key, WarehouseMeters::new);
+    }
+
+    /**
+     * Timings of one transaction. Stages are timed as laps: {@link #mark} where
+     * the first stage begins, {@link #lap} as each one ends.
+     */
+    public static final class Sample {
+
+        private final WriteMode mode;
+        private final long start;
+        private final long[] stageNanos = new long[STAGES.length];
+        private int recorded;
+        private long lapStart;
+        private String warehouseId;
+
+        private Sample(WriteMode mode, long start) {
+            this.mode = mode;
+            this.start = start;
+            this.lapStart = start;
+        }
+
+        public void mark() {
+            lapStart = System.nanoTime();
+        }
+
+        public void lap(Stage stage) {
+            long now = System.nanoTime();
+            stageNanos[stage.ordinal()] += now - lapStart;
+            recorded |= 1 << stage.ordinal();
+            lapStart = now;
+        }
+
+        public void warehouse(String warehouseId) {
+            this.warehouseId = warehouseId;
+        }
+
+        /** The warehouse of the row this transaction read, or null if it never found one. */
+        public String getWarehouseId() { return warehouseId; }
+    }
+
+    private final class WarehouseMeters {
+
+        private final String warehouseId;
+        private final AtomicReferenceArray<Timer> transactions =
+                new AtomicReferenceArray<>(MODES.length * OUTCOMES.length);
+        private final AtomicReferenceArray<Timer> stages =
+                new AtomicReferenceArray<>(MODES.length * STAGES.length);
+        private volatile Counter contention;
+
+        WarehouseMeters(String warehouseId) {
+            this.warehouseId = warehouseId;
+        }
+
+        Timer transaction(int modeIndex, Outcome outcome) {
+            int index = modeIndex * OUTCOMES.length + outcome.ordinal();
+            Timer timer = transactions.get(index);
+            if (timer == null) {
+                // Registering an existing id returns the same timer, so racing threads agree.
+                timer = Timer.builder("inventory.stock.update")
+                        .description("Stock write transactions, commit included")
+                        .tag("mode", MODES[modeIndex].name())
+                        .tag("warehouse", warehouseId)
+                        .tag("outcome", outcome.tag)
+                        .register(registry);
+                transactions.set(index, timer);
+            }
+            return timer;
+        }
+
+        Timer stage(int modeIndex, Stage stage) {
+            int index = modeIndex * STAGES.length + stage.ordinal();
+            Timer timer = stages.get(index);
+            if (timer == null) {
+                timer = Timer.builder("inventory.stock.update.stage")
+                        .description("Statements within a stock write transaction")
+                        .tag("mode", MODES[modeIndex].name())
+                        .tag("stage", stage.tag)
+                        .tag("warehouse", warehouseId)
+                        .register(registry);
+                stages.set(index, timer);
+            }
+            return timer;
+        }
+
+        Counter contention() {
+            Counter counter = contention;
+            if (counter == null) {
+                counter = Counter.builder("inventory.stock.contention")
+                        .description("Writes that retried after or queued behind another write to the same SKU")
+                        .tag("warehouse", warehouseId)
+                        .register(registry);
+                contention = counter;
+            }
+            return counter;
+        }
+    }
+}
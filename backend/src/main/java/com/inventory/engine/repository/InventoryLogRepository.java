@@ -1,23 +1,81 @@
 package com.inventory.engine.repository;
 
 import com.inventory.engine.entity.InventoryLog;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryLogRepository extends JpaRepository<InventoryLog, Long> {
 
     /**
-     * Leverages the composite index (warehouse_id, timestamp) for
-     * high-performance range queries across warehouse activity logs.
+     * First page of a warehouse/time-range scan in {@code (timestamp, id)} order.
+     * Leverages the composite index (warehouse_id, timestamp): the range is an
+     * index condition and the scan stops after {@code limit} rows. When
+     * inventory_logs is partitioned, the same timestamp bounds prune the scan to
+     * the partitions that overlap the range (at execution time once the driver
+     * switches to a generic prepared plan).
      */
-    List<InventoryLog> findByWarehouseIdAndTimestampBetween(
-            String warehouseId, Instant start, Instant end);
+    @Query(value = """
+            SELECT * FROM inventory_logs
+             WHERE warehouse_id = :warehouseId
+               AND timestamp BETWEEN :start AND :end
+             ORDER BY timestamp, id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<InventoryLog> findPage(@Param("warehouseId") String warehouseId,
+                                @Param("start") Instant start,
+                                @Param("end") Instant end,
+                                @Param("limit") int limit);
+
+    /**
+     * Next page after a keyset position. {@code timestamp >= :afterTimestamp}
+     * becomes the lower index bound, so each page starts where the previous one
+     * ended instead of re-reading the rows before it; the id tie-break is a filter.
+     */
+    @Query(value = """
+            SELECT * FROM inventory_logs
+             WHERE warehouse_id = :warehouseId
+               AND timestamp BETWEEN :start AND :end
+               AND timestamp >= :afterTimestamp
+               AND (timestamp > :afterTimestamp OR id > :afterId)
+             ORDER BY timestamp, id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<InventoryLog> findPageAfter(@Param("warehouseId") String warehouseId,
+                                     @Param("start") Instant start,
+                                     @Param("end") Instant end,
+                                     @Param("afterTimestamp") Instant afterTimestamp,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
+    /**
+     * Forward-only cursor over the same range. The JDBC fetch size makes the
+     * driver pull rows in chunks instead of materializing the whole result;
+     * it must be consumed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM InventoryLog l WHERE l.warehouseId = :warehouseId "
+            + "AND l.timestamp BETWEEN :start AND :end ORDER BY l.timestamp, l.id")
+    Stream<InventoryLog> streamByWarehouse(@Param("warehouseId") String warehouseId,
+                                           @Param("start") Instant start,
+                                           @Param("end") Instant end);
 
     List<InventoryLog> findBySkuOrderByTimestampDesc(String sku);
 
+    @Query("SELECT COALESCE(SUM(l.quantityChange), 0) FROM InventoryLog l WHERE l.sku = :sku")
+    long sumQuantityChangeBySku(@Param("sku") String sku);
+
     List<InventoryLog> findTop50ByOrderByTimestampDesc();
 }
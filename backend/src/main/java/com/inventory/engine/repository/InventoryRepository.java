@@ -1,9 +1,14 @@
 package com.inventory.engine.repository;
 
 import com.inventory.engine.entity.InventoryItem;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +18,40 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
     Optional<InventoryItem> findBySku(String sku);
 
     List<InventoryItem> findByWarehouseId(String warehouseId);
+
+    /**
+     * Reads the row with {@code SELECT ... FOR UPDATE}, holding the row lock until
+     * the surrounding transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryItem i WHERE i.sku = :sku")
+    Optional<InventoryItem> findBySkuForUpdate(@Param("sku") String sku);
+
+    /**
+     * Locks the given rows in SKU order. Every multi-row writer acquires its
+     * locks in this same canonical order, so two batches can never deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryItem i WHERE i.sku IN :skus ORDER BY i.sku")
+    List<InventoryItem> findAllBySkuForUpdate(@Param("skus") Collection<String> skus);
+
+    /**
+     * Applies a stock delta in one guarded statement instead of a
+     * read-modify-write cycle. The row lock taken by the UPDATE serializes
+     * concurrent writers, so there is nothing for the @Version check to reject.
+     * Returns empty when the SKU does not exist or the delta would take the
+     * quantity below what open reservations hold. Must be called inside a
+     * read-write transaction.
+     */
+    @Query(value = """
+            UPDATE inventory_items
+               SET quantity = quantity + :delta,
+                   version = version + 1,
+                   updated_at = NOW()
+             WHERE sku = :sku
+               AND quantity + :delta >= reserved_quantity
+            RETURNING sku, warehouse_id AS "warehouseId", quantity,
+                      reserved_quantity AS "reservedQuantity", version
+            """, nativeQuery = true)
+    Optional<StockLevel> applyDelta(@Param("sku") String sku, @Param("delta") int delta);
 }
@@ -0,0 +1,17 @@
+package com.inventory.engine.repository;
+
+/**
+ * Projection of the columns returned by {@link InventoryRepository#applyDelta}.
+ */
+public interface StockLevel {
+
+    String getSku();
+
+    String getWarehouseId();
+
+    Integer getQuantity();
+
+    Integer getReservedQuantity();
+
+    Long getVersion();
+}
@@ -0,0 +1,39 @@
+package com.inventory.engine.repository;
+
+import com.inventory.engine.entity.StockPosition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockPositionRepository extends JpaRepository<StockPosition, StockPosition.Key> {
+
+    List<StockPosition> findBySkuOrderByWarehouseId(String sku);
+
+    /** Creates an empty position of {@code sku} in {@code warehouseId}; a no-op when it exists. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO stock_positions (sku, warehouse_id, quantity, version, created_at, updated_at)
+            VALUES (:sku, :warehouseId, 0, 0, NOW(), NOW())
+            ON CONFLICT (sku, warehouse_id) DO NOTHING
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("sku") String sku, @Param("warehouseId") String warehouseId);
+
+    /**
+     * Locks the item's positions in the given warehouses, in warehouse order.
+     * Writers that also lock the item's {@code inventory_items} row take that
+     * lock first, so item rows always precede positions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM StockPosition p WHERE p.sku = :sku AND p.warehouseId IN :warehouseIds "
+            + "ORDER BY p.warehouseId")
+    List<StockPosition> findAllForUpdate(@Param("sku") String sku,
+                                         @Param("warehouseIds") Collection<String> warehouseIds);
+}
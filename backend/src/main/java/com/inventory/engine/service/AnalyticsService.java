@@ -0,0 +1,126 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.dto.HourlyMovement;
+import com.inventory.engine.dto.SkuMovement;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Stock movement analytics served from {@code stock_movement_rollups}. Every
+ * query reads at most one row per SKU and hour in the requested window, so the
+ * cost is independent of how many log rows the window contains.
+ */
+@Service
+public class AnalyticsService {
+
+    public static final Duration MAX_RANGE = Duration.ofDays(92);
+    public static final int MAX_TOP_MOVERS = 100;
+
+    private static final String HOURLY_SELECT = """
+            SELECT warehouse_id, bucket_start, sum(movement_count) AS movement_count,
+                   sum(units_in) AS units_in, sum(units_out) AS units_out, sum(net_change) AS net_change
+              FROM stock_movement_rollups
+             WHERE bucket_start >= ? AND bucket_start < ?
+            """;
+
+    private static final String HOURLY_GROUP = """
+             GROUP BY warehouse_id, bucket_start
+             ORDER BY bucket_start, warehouse_id
+            """;
+
+    private static final String TOP_MOVERS_SELECT = """
+            SELECT sku, warehouse_id, sum(movement_count) AS movement_count,
+                   sum(units_in) AS units_in, sum(units_out) AS units_out, sum(net_change) AS net_change,
+                   min(min_resulting_quantity) AS min_resulting, max(max_resulting_quantity) AS max_resulting
+              FROM stock_movement_rollups
+             WHERE bucket_start >= ? AND bucket_start < ?
+            """;
+
+    private static final String TOP_MOVERS_GROUP = """
+             GROUP BY sku, warehouse_id
+             ORDER BY sum(units_in) + sum(units_out) DESC, sku
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Movement per warehouse per hour for the hours overlapping {@code [start, end)},
+     * optionally for a single warehouse.
+     */
+    public List<HourlyMovement> getHourlyMovements(String warehouseId, Instant start, Instant end) {
+        Timestamp from = bucketFloor(start);
+        Timestamp to = checkedEnd(start, end);
+        if (warehouseId == null) {
+            return jdbcTemplate.query(HOURLY_SELECT + HOURLY_GROUP, AnalyticsService::hourlyRow, from, to);
+        }
+        return jdbcTemplate.query(HOURLY_SELECT + " AND warehouse_id = ?\n" + HOURLY_GROUP,
+                AnalyticsService::hourlyRow, from, to, warehouseId);
+    }
+
+    /**
+     * SKUs with the most units moved (in plus out) in the hours overlapping
+     * {@code [start, end)}, optionally within a single warehouse.
+     */
+    public List<SkuMovement> getTopMovers(String warehouseId, Instant start, Instant end, int limit) {
+        if (limit < 1 || limit > MAX_TOP_MOVERS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_MOVERS);
+        }
+        Timestamp from = bucketFloor(start);
+        Timestamp to = checkedEnd(start, end);
+        if (warehouseId == null) {
+            return jdbcTemplate.query(TOP_MOVERS_SELECT + TOP_MOVERS_GROUP,
+                    AnalyticsService::skuRow, from, to, limit);
+        }
+        return jdbcTemplate.query(TOP_MOVERS_SELECT + " AND warehouse_id = ?\n" + TOP_MOVERS_GROUP,
+                AnalyticsService::skuRow, from, to, warehouseId, limit);
+    }
+
+    private static Timestamp bucketFloor(Instant start) {
+        return Timestamp.from(start.truncatedTo(ChronoUnit.HOURS));
+    }
+
+    private static Timestamp checkedEnd(Instant start, Instant end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("end must be after start");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("range must not exceed " + MAX_RANGE.toDays() + " days");
+        }
+        return Timestamp.from(end);
+    }
+
+    private static HourlyMovement hourlyRow(ResultSet rs, int rowNum) throws SQLException {
+        return new HourlyMovement(
+                rs.getString("warehouse_id"),
+                rs.getTimestamp("bucket_start").toInstant(),
+                rs.getLong("movement_count"),
+                rs.getLong("units_in"),
+                rs.getLong("units_out"),
+                rs.getLong("net_change"));
+    }
+
+    private static SkuMovement skuRow(ResultSet rs, int rowNum) throws SQLException {
+        return new SkuMovement(
+                rs.getString("sku"),
+                rs.getString("warehouse_id"),
+                rs.getLong("movement_count"),
+                rs.getLong("units_in"),
+                rs.getLong("units_out"),
+                rs.getLong("net_change"),
+                rs.getObject("min_resulting", Integer.class),
+                rs.getObject("max_resulting", Integer.class));
+    }
+}
@@ -1,157 +1,522 @@
 package com.inventory.engine.service;
 
-import com.inventory.engine.dto.ConcurrencyTestResult;
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.cache.InventoryCache;
+import com.inventory.engine.dto.AuditStats;
+import com.inventory.engine.dto.BatchMode;
+import com.inventory.engine.dto.BatchStockUpdateRequest;
+import com.inventory.engine.dto.BatchStockUpdateResponse;
+import com.inventory.engine.dto.CacheStats;
+import com.inventory.engine.dto.IdempotencyStats;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.InventoryLogEntry;
+import com.inventory.engine.dto.LedgerStats;
+import com.inventory.engine.dto.LogPage;
 import com.inventory.engine.dto.StockUpdateRequest;
 import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.dto.WriteMode;
 import com.inventory.engine.entity.InventoryItem;
 import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.SkuNotFoundException;
 import com.inventory.engine.exception.StockConflictException;
+import com.inventory.engine.idempotency.IdempotencyStore;
+import com.inventory.engine.ledger.StockLedger;
+import com.inventory.engine.metrics.StockUpdateMetrics;
+import com.inventory.engine.metrics.StockUpdateMetrics.Outcome;
+import com.inventory.engine.metrics.StockUpdateMetrics.Stage;
 import com.inventory.engine.repository.InventoryLogRepository;
 import com.inventory.engine.repository.InventoryRepository;
+import com.inventory.engine.repository.StockLevel;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryService {
 
     private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
 
+    public static final int MAX_LOG_PAGE_SIZE = 5000;
+
     private final InventoryRepository inventoryRepository;
     private final InventoryLogRepository logRepository;
+    private final StockRetryPolicy retryPolicy;
+    private final StockUpdateCoalescer coalescer;
+    private final StockLedger stockLedger;
+    private final IdempotencyStore idempotencyStore;
+    private final AuditLogWriter auditLogWriter;
+    private final InventoryCache inventoryCache;
+    private final StockUpdateMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final EntityManager entityManager;
+    private final WriteMode defaultWriteMode;
 
     public InventoryService(InventoryRepository inventoryRepository,
-                            InventoryLogRepository logRepository) {
+                            InventoryLogRepository logRepository,
+                            StockRetryPolicy retryPolicy,
+                            StockUpdateCoalescer coalescer,
+                            StockLedger stockLedger,
+                            IdempotencyStore idempotencyStore,
+                            AuditLogWriter auditLogWriter,
+                            InventoryCache inventoryCache,
+                            StockUpdateMetrics metrics,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            EntityManager entityManager,
+                            @Value("${inventory.write-mode:OPTIMISTIC}") WriteMode defaultWriteMode) {
         this.inventoryRepository = inventoryRepository;
         this.logRepository = logRepository;
+        this.retryPolicy = retryPolicy;
+        this.coalescer = coalescer;
+        this.stockLedger = stockLedger;
+        this.idempotencyStore = idempotencyStore;
+        this.auditLogWriter = auditLogWriter;
+        this.inventoryCache = inventoryCache;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.defaultWriteMode = defaultWriteMode;
+    }
+
+    public List<InventoryItemSnapshot> getAllItems() {
+        return inventoryCache.getAll(inventoryRepository::findAll);
     }
 
-    public List<InventoryItem> getAllItems() {
-        return inventoryRepository.findAll();
+    public List<InventoryItemSnapshot> getItemsByWarehouse(String warehouseId) {
+        return inventoryCache.getByWarehouse(warehouseId,
+                () -> inventoryRepository.findByWarehouseId(warehouseId));
     }
 
-    public List<InventoryItem> getItemsByWarehouse(String warehouseId) {
-        return inventoryRepository.findByWarehouseId(warehouseId);
+    public InventoryItemSnapshot getItem(String sku) {
+        return inventoryCache.get(sku, () -> inventoryRepository.findBySku(sku))
+                .orElseThrow(() -> new SkuNotFoundException(sku));
+    }
+
+    public CacheStats getCacheStats() {
+        return inventoryCache.getStats();
+    }
+
+    public AuditStats getAuditStats() {
+        return auditLogWriter.getStats();
+    }
+
+    public LedgerStats getLedgerStats() {
+        return stockLedger.getStats();
     }
 
     /**
-     * Updates stock for a given SKU. If another transaction has modified the same
+     * Updates stock for a given SKU using the request's {@link WriteMode}, or the
+     * deployment default when none is given.
+     *
+     * <p>In OPTIMISTIC mode, if another transaction has modified the same
      * row since it was read, JPA's @Version check triggers an
-     * ObjectOptimisticLockingFailureException, which we catch and translate
-     * into a domain-specific StockConflictException.
+     * ObjectOptimisticLockingFailureException. Conflicts are retried server-side
+     * according to {@link StockRetryPolicy}, each attempt re-reading the row in a
+     * fresh transaction; only once the policy is exhausted is the conflict
+     * translated into a domain-specific StockConflictException.
+     *
+     * <p>While the stock ledger is enabled it owns every quantity, so all
+     * requests take the LEDGER path regardless of the mode they name.
      */
-    @Transactional
     public StockUpdateResponse updateStock(StockUpdateRequest request) {
-        InventoryItem item = inventoryRepository.findBySku(request.getSku())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "SKU not found: " + request.getSku()));
+        return updateStock(request, null);
+    }
+
+    /**
+     * As {@link #updateStock(StockUpdateRequest)}, applied at most once per
+     * {@code idempotencyKey}: a repeat gets the first request's response without
+     * touching inventory_items. See {@link IdempotencyStore}.
+     */
+    public StockUpdateResponse updateStock(String idempotencyKey, StockUpdateRequest request) {
+        return idempotencyStore.execute(idempotencyKey, request, this::updateStock);
+    }
+
+    public IdempotencyStats getIdempotencyStats() {
+        return idempotencyStore.getStats();
+    }
+
+    /** As {@link #updateStock(StockUpdateRequest)}, recording attempts and retries into {@code stats}. */
+    public StockUpdateResponse updateStock(StockUpdateRequest request, RetryStats stats) {
+        WriteMode mode = request.getWriteMode() != null ? request.getWriteMode() : defaultWriteMode;
+        if (mode == WriteMode.LEDGER || stockLedger.isEnabled()) {
+            long attemptStart = System.nanoTime();
+            try {
+                return applyToLedger(request);
+            } finally {
+                recordAttempt(stats, attemptStart);
+            }
+        }
+        if (mode == WriteMode.COALESCED) {
+            long attemptStart = System.nanoTime();
+            try {
+                return awaitCoalesced(request);
+            } finally {
+                recordAttempt(stats, attemptStart);
+            }
+        }
+        if (mode == WriteMode.ATOMIC) {
+            long attemptStart = System.nanoTime();
+            StockUpdateMetrics.Sample sample = metrics.start(WriteMode.ATOMIC);
+            try {
+                StockUpdateResponse response =
+                        transactionTemplate.execute(status -> applyAtomicStockUpdate(request, sample));
+                metrics.stop(sample, Outcome.SUCCESS);
+                return response;
+            } catch (RuntimeException ex) {
+                metrics.stop(sample, ex);
+                throw ex;
+            } finally {
+                recordAttempt(stats, attemptStart);
+            }
+        }
+        return updateStockOptimistically(request, stats);
+    }
+
+    /**
+     * The ledger has no database transaction to claim a key in, so a keyed
+     * request claims it up front and records the response once acknowledged.
+     */
+    private StockUpdateResponse applyToLedger(StockUpdateRequest request) {
+        if (request.getIdempotencyKey() == null) {
+            return stockLedger.apply(request);
+        }
+        idempotencyStore.claim(request);
+        StockUpdateResponse response;
+        try {
+            response = stockLedger.apply(request);
+        } catch (RuntimeException ex) {
+            idempotencyStore.release(request);
+            throw ex;
+        }
+        idempotencyStore.complete(request, response);
+        return response;
+    }
+
+    private StockUpdateResponse updateStockOptimistically(StockUpdateRequest request, RetryStats stats) {
+        long deadline = System.nanoTime() + retryPolicy.getTimeBudgetNanos();
+
+        for (int attempt = 1; ; attempt++) {
+            long attemptStart = System.nanoTime();
+            StockUpdateMetrics.Sample sample = metrics.start(WriteMode.OPTIMISTIC);
+            try {
+                StockUpdateResponse response =
+                        transactionTemplate.execute(status -> applyStockUpdate(request, sample));
+                metrics.stop(sample, Outcome.SUCCESS);
+                recordAttempt(stats, attemptStart);
+                return response;
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                metrics.stop(sample, Outcome.CONFLICT);
+                metrics.recordContention(request.getSku(), sample.getWarehouseId(), 1);
+                recordAttempt(stats, attemptStart);
+                long backoffMs = retryPolicy.backoffMillis(attempt);
+                long resumeAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+                if (attempt >= retryPolicy.getMaxAttempts() || resumeAt - deadline > 0) {
+                    log.warn("Optimistic lock conflict on SKU: {} (gave up after {} attempts)",
+                            request.getSku(), attempt);
+                    throw new StockConflictException(request.getSku());
+                }
+                if (stats != null) {
+                    stats.recordRetry();
+                }
+                sleepQuietly(backoffMs, request.getSku());
+            } catch (RuntimeException ex) {
+                metrics.stop(sample, ex);
+                recordAttempt(stats, attemptStart);
+                throw ex;
+            }
+        }
+    }
+
+    private StockUpdateResponse awaitCoalesced(StockUpdateRequest request) {
+        StockUpdateResponse response;
+        try {
+            response = coalescer.submit(request).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        if (!response.isSuccess()) {
+            throw new InsufficientStockException(request.getSku(), response.getMessage());
+        }
+        return response;
+    }
+
+    private static void recordAttempt(RetryStats stats, long attemptStart) {
+        if (stats != null) {
+            stats.recordAttempt(System.nanoTime() - attemptStart);
+        }
+    }
+
+    private StockUpdateResponse applyStockUpdate(StockUpdateRequest request, StockUpdateMetrics.Sample sample) {
+        claimIdempotencyKey(request);
+        sample.mark();
+        Optional<InventoryItem> found = inventoryRepository.findBySku(request.getSku());
+        sample.lap(Stage.FIND);
+        InventoryItem item = found.orElseThrow(() -> new SkuNotFoundException(request.getSku()));
+        sample.warehouse(item.getWarehouseId());
 
         int newQuantity = item.getQuantity() + request.getQuantityChange();
-        if (newQuantity < 0) {
-            throw new IllegalArgumentException(
-                    "Insufficient stock for SKU " + request.getSku()
-                    + ". Current: " + item.getQuantity()
-                    + ", requested change: " + request.getQuantityChange());
+        if (newQuantity < item.getReservedQuantity()) {
+            throw insufficientStock(request, item);
         }
 
         item.setQuantity(newQuantity);
 
+        InventoryItem saved;
         try {
-            InventoryItem saved = inventoryRepository.saveAndFlush(item);
-
-            logRepository.save(new InventoryLog(
-                    saved.getWarehouseId(),
-                    saved.getSku(),
-                    request.getQuantityChange() >= 0 ? "RESTOCK" : "DEDUCT",
-                    request.getQuantityChange(),
-                    saved.getQuantity(),
-                    "Stock updated via API"
-            ));
-
-            return new StockUpdateResponse(
-                    true,
-                    "Stock updated successfully",
-                    saved.getSku(),
-                    saved.getQuantity(),
-                    saved.getVersion()
-            );
-        } catch (ObjectOptimisticLockingFailureException ex) {
-            log.warn("Optimistic lock conflict on SKU: {}", request.getSku());
-            throw new StockConflictException(request.getSku());
+            saved = inventoryRepository.saveAndFlush(item);
+        } finally {
+            // Also timed when the flush fails the version check.
+            sample.lap(Stage.SAVE);
         }
+        writeLog(saved.getWarehouseId(), saved.getSku(), request.getQuantityChange(), saved.getQuantity());
+        sample.lap(Stage.LOG);
+        eventPublisher.publishEvent(new StockChangedEvent(saved.getSku(), saved.getWarehouseId(),
+                request.getQuantityChange(), saved.getQuantity(), item.getReservedQuantity(), saved.getVersion()));
+
+        return recordIdempotencyKey(request, new StockUpdateResponse(
+                true,
+                "Stock updated successfully",
+                saved.getSku(),
+                saved.getQuantity(),
+                saved.getVersion()
+        ));
     }
 
     /**
-     * Simulates concurrent load by firing multiple stock updates in parallel
-     * against the same SKU. Returns a summary showing how many succeeded vs.
-     * how many hit optimistic lock conflicts.
+     * Single-statement variant of {@link #applyStockUpdate}: the delta is applied
+     * by {@link InventoryRepository#applyDelta}, so there is no read round trip and
+     * no version conflict to retry. The row is only read again to explain a rejection.
      */
-    public ConcurrencyTestResult simulateConcurrentUpdates(String sku, int concurrentRequests) {
-        long startTime = System.currentTimeMillis();
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger conflictCount = new AtomicInteger(0);
-
-        ExecutorService executor = Executors.newFixedThreadPool(
-                Math.min(concurrentRequests, 20));
-
-        List<CompletableFuture<Void>> futures = new java.util.ArrayList<>();
-
-        for (int i = 0; i < concurrentRequests; i++) {
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                try {
-                    updateStock(new StockUpdateRequest(sku, -1));
-                    successCount.incrementAndGet();
-                } catch (StockConflictException e) {
-                    conflictCount.incrementAndGet();
-                } catch (Exception e) {
-                    conflictCount.incrementAndGet();
-                }
-            }, executor);
-            futures.add(future);
+    private StockUpdateResponse applyAtomicStockUpdate(StockUpdateRequest request,
+                                                       StockUpdateMetrics.Sample sample) {
+        claimIdempotencyKey(request);
+        sample.mark();
+        StockLevel level = inventoryRepository
+                .applyDelta(request.getSku(), request.getQuantityChange())
+                .orElse(null);
+        sample.lap(Stage.APPLY);
+
+        if (level == null) {
+            InventoryItem item = inventoryRepository.findBySku(request.getSku())
+                    .orElseThrow(() -> new SkuNotFoundException(request.getSku()));
+            sample.warehouse(item.getWarehouseId());
+            throw insufficientStock(request, item);
         }
+        sample.warehouse(level.getWarehouseId());
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        executor.shutdown();
+        writeLog(level.getWarehouseId(), level.getSku(), request.getQuantityChange(), level.getQuantity());
+        sample.lap(Stage.LOG);
+        eventPublisher.publishEvent(new StockChangedEvent(level.getSku(), level.getWarehouseId(),
+                request.getQuantityChange(), level.getQuantity(), level.getReservedQuantity(),
+                level.getVersion()));
 
-        long durationMs = System.currentTimeMillis() - startTime;
+        return recordIdempotencyKey(request, new StockUpdateResponse(
+                true,
+                "Stock updated successfully",
+                level.getSku(),
+                level.getQuantity(),
+                level.getVersion()
+        ));
+    }
 
-        InventoryItem finalState = inventoryRepository.findBySku(sku)
-                .orElse(null);
+    /** First statement of a keyed write's transaction, so a duplicate rolls back before touching stock. */
+    private void claimIdempotencyKey(StockUpdateRequest request) {
+        if (request.getIdempotencyKey() != null) {
+            idempotencyStore.claim(request);
+        }
+    }
+
+    private StockUpdateResponse recordIdempotencyKey(StockUpdateRequest request, StockUpdateResponse response) {
+        if (request.getIdempotencyKey() != null) {
+            idempotencyStore.complete(request, response);
+        }
+        return response;
+    }
+
+    private void writeLog(String warehouseId, String sku, int quantityChange, int resultingQuantity) {
+        auditLogWriter.record(newLog(warehouseId, sku, quantityChange, resultingQuantity));
+    }
 
-        ConcurrencyTestResult result = new ConcurrencyTestResult();
-        result.setTotalRequests(concurrentRequests);
-        result.setSuccessCount(successCount.get());
-        result.setConflictCount(conflictCount.get());
-        result.setDurationMs(durationMs);
+    private static InventoryLog newLog(String warehouseId, String sku, int quantityChange,
+                                       int resultingQuantity) {
+        return new InventoryLog(
+                warehouseId,
+                sku,
+                quantityChange >= 0 ? "RESTOCK" : "DEDUCT",
+                quantityChange,
+                resultingQuantity,
+                "Stock updated via API"
+        );
+    }
 
-        if (finalState != null) {
-            result.setFinalQuantity(finalState.getQuantity());
-            result.setFinalVersion(finalState.getVersion());
+    private static InsufficientStockException insufficientStock(StockUpdateRequest request, InventoryItem item) {
+        return new InsufficientStockException(request.getSku(), item.getQuantity(), item.getReservedQuantity(),
+                request.getQuantityChange());
+    }
+
+    private static void sleepQuietly(long millis, String sku) {
+        if (millis <= 0) {
+            return;
         }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockConflictException(sku);
+        }
+    }
 
-        log.info("Concurrency test complete: {} total, {} success, {} conflicts, {}ms",
-                concurrentRequests, successCount.get(), conflictCount.get(), durationMs);
+    /**
+     * Applies many stock deltas in one transaction. All affected rows are locked
+     * up front in SKU order, so concurrent batches serialize instead of
+     * deadlocking and the @Version check can never fail. Lines are evaluated in
+     * request order against the running quantity of their SKU; in ALL_OR_NOTHING
+     * mode a single rejected line rolls the whole batch back.
+     */
+    public BatchStockUpdateResponse updateStockBatch(BatchStockUpdateRequest request) {
+        if (stockLedger.isEnabled()) {
+            throw new IllegalArgumentException(
+                    "Batch updates are unavailable while the stock ledger owns quantities");
+        }
+        List<StockUpdateRequest> lines = request.getItems();
+        BatchMode mode = request.getMode() != null ? request.getMode() : BatchMode.ALL_OR_NOTHING;
+        Set<String> skus = new TreeSet<>();
+        for (StockUpdateRequest line : lines) {
+            skus.add(line.getSku());
+        }
+
+        return transactionTemplate.execute(status -> {
+            Map<String, InventoryItem> items = new HashMap<>();
+            for (InventoryItem item : inventoryRepository.findAllBySkuForUpdate(skus)) {
+                items.put(item.getSku(), item);
+            }
 
-        return result;
+            StockUpdateResponse[] results = new StockUpdateResponse[lines.size()];
+            List<InventoryLog> logs = new ArrayList<>(lines.size());
+            int rejected = 0;
+
+            for (int i = 0; i < lines.size(); i++) {
+                StockUpdateRequest line = lines.get(i);
+                InventoryItem item = items.get(line.getSku());
+                if (item == null) {
+                    results[i] = StockUpdateResponse.conflict(line.getSku(), "SKU not found: " + line.getSku());
+                    rejected++;
+                    continue;
+                }
+                int newQuantity = item.getQuantity() + line.getQuantityChange();
+                if (newQuantity < item.getReservedQuantity()) {
+                    results[i] = StockUpdateResponse.conflict(
+                            line.getSku(), insufficientStock(line, item).getMessage());
+                    rejected++;
+                    continue;
+                }
+                item.setQuantity(newQuantity);
+                logs.add(newLog(item.getWarehouseId(), item.getSku(), line.getQuantityChange(), newQuantity));
+                results[i] = new StockUpdateResponse(
+                        true, "Stock updated successfully", item.getSku(), newQuantity, null);
+            }
+
+            if (rejected > 0 && mode == BatchMode.ALL_OR_NOTHING) {
+                status.setRollbackOnly();
+                for (int i = 0; i < results.length; i++) {
+                    if (results[i].isSuccess()) {
+                        results[i] = StockUpdateResponse.conflict(
+                                results[i].getSku(), "Not applied: batch rolled back");
+                    }
+                }
+                return new BatchStockUpdateResponse(false, mode, 0, lines.size(), Arrays.asList(results));
+            }
+
+            inventoryRepository.flush();
+            auditLogWriter.record(logs);
+            Map<String, Integer> netChanges = new TreeMap<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].isSuccess()) {
+                    results[i].setVersion(items.get(results[i].getSku()).getVersion());
+                    netChanges.merge(lines.get(i).getSku(), lines.get(i).getQuantityChange(), Integer::sum);
+                }
+            }
+            netChanges.forEach((sku, change) -> {
+                InventoryItem item = items.get(sku);
+                eventPublisher.publishEvent(new StockChangedEvent(sku, item.getWarehouseId(),
+                        change, item.getQuantity(), item.getReservedQuantity(), item.getVersion()));
+            });
+            return new BatchStockUpdateResponse(
+                    true, mode, lines.size() - rejected, rejected, Arrays.asList(results));
+        });
+    }
+
+    /**
+     * Queries one page of inventory logs using the composite index on
+     * (warehouse_id, timestamp), continuing after {@code cursor} when given.
+     */
+    public LogPage queryLogsByWarehouseAndTimeRange(
+            String warehouseId, Instant start, Instant end, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LOG_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LOG_PAGE_SIZE);
+        }
+        // Fetch one extra row to learn whether another page exists.
+        List<InventoryLog> rows;
+        if (cursor == null) {
+            rows = logRepository.findPage(warehouseId, start, end, limit + 1);
+        } else {
+            LogCursor after = LogCursor.decode(cursor);
+            rows = logRepository.findPageAfter(warehouseId, start, end,
+                    after.getTimestamp(), after.getId(), limit + 1);
+        }
+        int size = Math.min(rows.size(), limit);
+        List<InventoryLogEntry> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(InventoryLogEntry.from(rows.get(i)));
+        }
+        if (rows.size() <= limit) {
+            return new LogPage(page, null);
+        }
+        return new LogPage(page, LogCursor.after(rows.get(limit - 1)).encode());
     }
 
     /**
-     * Queries inventory logs using the composite index on (warehouse_id, timestamp).
+     * Streams every log in the range to {@code sink} in (timestamp, id) order
+     * with constant memory: rows arrive from a fetch-size-bounded cursor and are
+     * detached from the persistence context once handed over.
      */
-    public List<InventoryLog> queryLogsByWarehouseAndTimeRange(
-            String warehouseId, Instant start, Instant end) {
-        return logRepository.findByWarehouseIdAndTimestampBetween(warehouseId, start, end);
+    public void streamLogsByWarehouseAndTimeRange(
+            String warehouseId, Instant start, Instant end, Consumer<InventoryLogEntry> sink) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<InventoryLog> logs = logRepository.streamByWarehouse(warehouseId, start, end)) {
+                logs.forEach(row -> {
+                    entityManager.detach(row);
+                    sink.accept(InventoryLogEntry.from(row));
+                });
+            }
+        });
     }
 
-    public List<InventoryLog> getRecentLogs() {
-        return logRepository.findTop50ByOrderByTimestampDesc();
+    public List<InventoryLogEntry> getRecentLogs() {
+        return logRepository.findTop50ByOrderByTimestampDesc().stream().map(InventoryLogEntry::from).toList();
     }
 
     @Transactional
@@ -176,6 +541,7 @@ public class InventoryService {
                     new InventoryItem(row[0], row[1], Integer.parseInt(row[2]), row[3]));
         }
 
+        inventoryCache.clear();
         log.info("Seeded {} inventory items", items.length);
     }
 }
@@ -0,0 +1,55 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.entity.InventoryLog;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in a {@code (timestamp, id)}-ordered log scan, encoded as an
+ * opaque URL-safe token so clients cannot depend on its contents.
+ */
+final class LogCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Instant timestamp;
+    private final long id;
+
+    private LogCursor(Instant timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    static LogCursor after(InventoryLog last) {
+        return new LogCursor(last.getTimestamp(), last.getId());
+    }
+
+    static LogCursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(DECODER.decode(token));
+            LogCursor cursor = new LogCursor(
+                    Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()), buffer.getLong());
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + Long.BYTES)
+                .putLong(timestamp.getEpochSecond())
+                .putInt(timestamp.getNano())
+                .putLong(id);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    Instant getTimestamp() { return timestamp; }
+
+    long getId() { return id; }
+}
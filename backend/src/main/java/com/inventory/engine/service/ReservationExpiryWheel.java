@@ -0,0 +1,117 @@
+package com.inventory.engine.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel of reservation deadlines. Each slot covers one tick; a
+ * hold lands in the slot of its deadline tick with the number of full wheel
+ * turns still to wait, so advancing the wheel only visits the slots that came
+ * due instead of every open hold. Holds that are committed or released are
+ * cancelled in O(1) and dropped when their slot comes round.
+ *
+ * <p>{@link #schedule} and {@link #cancel} may be called from any thread; the
+ * slots themselves are only touched by the thread calling {@link #advance}.
+ */
+final class ReservationExpiryWheel {
+
+    private final long tickMs;
+    private final long startMs;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] slots;
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<Long, Timeout> scheduled = new ConcurrentHashMap<>();
+    /** Next tick to process, counted from {@code startMs}. */
+    private long tick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ReservationExpiryWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs < 1 || wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException(
+                    "inventory.reservations.tick-ms must be >= 1 and wheel-size a power of two");
+        }
+        this.tickMs = tickMs;
+        this.startMs = startMs;
+        this.mask = wheelSize - 1;
+        this.slots = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+    }
+
+    /** Tracks a hold until {@code expiresAtMs}; a hold that is already tracked is left alone. */
+    void schedule(long reservationId, String sku, long expiresAtMs) {
+        Timeout timeout = new Timeout(reservationId, sku, expiresAtMs);
+        if (scheduled.putIfAbsent(reservationId, timeout) == null) {
+            additions.add(timeout);
+        }
+    }
+
+    void cancel(long reservationId) {
+        Timeout timeout = scheduled.remove(reservationId);
+        if (timeout != null) {
+            timeout.cancelled = true;
+        }
+    }
+
+    int size() { return scheduled.size(); }
+
+    /** Wall-clock time at which the next unprocessed tick is due. */
+    long nextTickAt() {
+        return startMs + (tick + 1) * tickMs;
+    }
+
+    /** Processes every tick that has fully elapsed by {@code nowMs} and returns the holds that expired. */
+    List<Timeout> advance(long nowMs) {
+        transferAdditions();
+        List<Timeout> expired = new ArrayList<>();
+        long lastDueTick = (nowMs - startMs) / tickMs - 1;
+        while (tick <= lastDueTick) {
+            ArrayDeque<Timeout> slot = slots[(int) (tick & mask)];
+            for (int n = slot.size(); n > 0; n--) {
+                Timeout timeout = slot.poll();
+                if (timeout.cancelled) {
+                    continue;
+                }
+                if (timeout.rounds > 0) {
+                    timeout.rounds--;
+                    slot.add(timeout);
+                } else if (scheduled.remove(timeout.reservationId, timeout)) {
+                    expired.add(timeout);
+                }
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    private void transferAdditions() {
+        for (Timeout timeout; (timeout = additions.poll()) != null; ) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // Round up: a hold never fires before its deadline.
+            long deadlineTick = Math.max(tick, Math.floorDiv(timeout.expiresAtMs - startMs + tickMs - 1, tickMs) - 1);
+            timeout.rounds = (deadlineTick - tick) / slots.length;
+            slots[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    static final class Timeout {
+        final long reservationId;
+        final String sku;
+        final long expiresAtMs;
+        long rounds;
+        volatile boolean cancelled;
+
+        Timeout(long reservationId, String sku, long expiresAtMs) {
+            this.reservationId = reservationId;
+            this.sku = sku;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.dto.ReservationRequest;
+import com.inventory.engine.dto.ReservationResponse;
+import com.inventory.engine.dto.ReservationStats;
+import com.inventory.engine.dto.ReservationStatus;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.ReservationNotFoundException;
+import com.inventory.engine.exception.ReservationNotHeldException;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.ledger.StockLedger;
+import com.inventory.engine.repository.InventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds, commits and releases stock reservations. {@code inventory_items.reserved_quantity}
+ * is the reservation index: it is kept in step with the HELD rows of
+ * {@code stock_reservations} by single statements that change both, so
+ * available-to-promise is one column subtraction on the item row (and on the
+ * cached snapshot) and no reservation or log rows are ever summed.
+ *
+ * <p>Holding and releasing bump the item version but write no audit log: only
+ * a commit, which deducts on-hand stock, leaves an {@code InventoryLog} row.
+ * Deadlines are tracked in a {@link ReservationExpiryWheel}, so expiring holds
+ * costs work proportional to the holds that expire. Each node expires the holds
+ * it knows about; on startup, and every {@code orphan-sweep-interval-ms}, it also
+ * picks up overdue holds from the status/expiry index, e.g. those created by a
+ * node that has since died.
+ *
+ * <p>Reservations are rejected while the stock ledger owns quantities.
+ */
+@Service
+public class ReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final int ORPHAN_SWEEP_LIMIT = 10_000;
+
+    private static final String HOLD_SQL = """
+            WITH held AS (
+                UPDATE inventory_items
+                   SET reserved_quantity = reserved_quantity + ?,
+                       version = version + 1,
+                       updated_at = NOW()
+                 WHERE sku = ?
+                   AND quantity - reserved_quantity >= ?
+                RETURNING sku, warehouse_id, quantity, reserved_quantity, version
+            ), reservation AS (
+                INSERT INTO stock_reservations (sku, warehouse_id, quantity, status, created_at, expires_at)
+                SELECT sku, warehouse_id, ?, 'HELD', ?, ?
+                  FROM held
+                RETURNING id
+            )
+            SELECT reservation.id, held.*
+              FROM reservation, held
+            """;
+
+    /** Resolves one HELD reservation; the item update takes the units out of on-hand stock when asked to. */
+    private static final String RESOLVE_SQL = """
+            WITH resolved AS (
+                UPDATE stock_reservations
+                   SET status = ?, resolved_at = ?
+                 WHERE id = ? AND status = 'HELD'
+                RETURNING id, sku, quantity
+            )
+            UPDATE inventory_items i
+               SET quantity = i.quantity - CASE WHEN ? THEN r.quantity ELSE 0 END,
+                   reserved_quantity = i.reserved_quantity - r.quantity,
+                   version = i.version + 1,
+                   updated_at = NOW()
+              FROM resolved r
+             WHERE i.sku = r.sku
+            RETURNING r.id, r.quantity AS held, i.sku, i.warehouse_id, i.quantity, i.reserved_quantity, i.version
+            """;
+
+    /** Expires overdue HELD reservations of one SKU and returns the item row once. */
+    private static final String EXPIRE_SQL = """
+            WITH expired AS (
+                UPDATE stock_reservations
+                   SET status = 'EXPIRED', resolved_at = ?
+                 WHERE id = ANY (?) AND status = 'HELD' AND expires_at <= ?
+                RETURNING quantity
+            ), total AS (
+                SELECT count(*) AS holds, sum(quantity) AS units FROM expired
+            )
+            UPDATE inventory_items i
+               SET reserved_quantity = i.reserved_quantity - t.units,
+                   version = i.version + 1,
+                   updated_at = NOW()
+              FROM total t
+             WHERE i.sku = ? AND t.holds > 0
+            RETURNING t.holds, i.sku, i.warehouse_id, i.quantity, i.reserved_quantity, i.version
+            """;
+
+    private static final String SELECT_HELD = """
+            SELECT id, sku, expires_at FROM stock_reservations
+             WHERE status = 'HELD'
+            """;
+
+    private static final String SELECT_OVERDUE = SELECT_HELD + """
+               AND expires_at <= ?
+             ORDER BY expires_at
+             LIMIT ?
+            """;
+
+    private final InventoryRepository inventoryRepository;
+    private final StockLedger stockLedger;
+    private final AuditLogWriter auditLogWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long defaultTtlSeconds;
+    private final long maxTtlSeconds;
+    private final long orphanSweepIntervalMs;
+    private final ReservationExpiryWheel wheel;
+
+    private final AtomicLong heldTotal = new AtomicLong();
+    private final AtomicLong committedTotal = new AtomicLong();
+    private final AtomicLong releasedTotal = new AtomicLong();
+    private final AtomicLong expiredTotal = new AtomicLong();
+    private final AtomicLong expiryFailures = new AtomicLong();
+    private volatile Instant lastExpiryAt;
+    private volatile boolean running;
+    private Thread sweeper;
+
+    public ReservationService(InventoryRepository inventoryRepository,
+                              StockLedger stockLedger,
+                              AuditLogWriter auditLogWriter,
+                              ApplicationEventPublisher eventPublisher,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.reservations.default-ttl-seconds:900}") long defaultTtlSeconds,
+                              @Value("${inventory.reservations.max-ttl-seconds:86400}") long maxTtlSeconds,
+                              @Value("${inventory.reservations.tick-ms:1000}") long tickMs,
+                              @Value("${inventory.reservations.wheel-size:4096}") int wheelSize,
+                              @Value("${inventory.reservations.orphan-sweep-interval-ms:60000}") long orphanSweepIntervalMs) {
+        this.inventoryRepository = inventoryRepository;
+        this.stockLedger = stockLedger;
+        this.auditLogWriter = auditLogWriter;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.orphanSweepIntervalMs = orphanSweepIntervalMs;
+        this.wheel = new ReservationExpiryWheel(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void start() {
+        if (stockLedger.isEnabled()) {
+            // Expiring a hold bumps the row version behind the ledger's back.
+            Integer held = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM stock_reservations WHERE status = 'HELD'", Integer.class);
+            if (held != null && held > 0) {
+                log.warn("Stock ledger enabled: {} held reservations will not expire until it is disabled", held);
+            }
+            return;
+        }
+        jdbcTemplate.query(SELECT_HELD, rs -> {
+            wheel.schedule(rs.getLong("id"), rs.getString("sku"), rs.getTimestamp("expires_at").getTime());
+        });
+        running = true;
+        sweeper = new Thread(this::run, "reservation-expiry");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (sweeper != null) {
+            sweeper.join(TimeUnit.SECONDS.toMillis(5));
+            sweeper.interrupt();
+        }
+    }
+
+    /**
+     * Sets {@code quantity} units aside if that many are available, in one
+     * statement that both raises the item's reserved quantity and records the hold.
+     */
+    public ReservationResponse hold(ReservationRequest request) {
+        requireLedgerDisabled();
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new IllegalArgumentException("ttlSeconds must not exceed " + maxTtlSeconds);
+        }
+        String sku = request.getSku();
+        int quantity = request.getQuantity();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(ttlSeconds);
+
+        ReservationResponse response = transactionTemplate.execute(status -> {
+            List<ReservationResponse> rows = jdbcTemplate.query(HOLD_SQL, (rs, rowNum) -> {
+                ReservationResponse held = toResponse(rs, rs.getLong("id"), ReservationStatus.HELD,
+                        quantity, expiresAt);
+                publish(rs, 0);
+                return held;
+            }, quantity, sku, quantity, quantity, Timestamp.from(now), Timestamp.from(expiresAt));
+            return rows.isEmpty() ? null : rows.get(0);
+        });
+        if (response == null) {
+            InventoryItem item = inventoryRepository.findBySku(sku)
+                    .orElseThrow(() -> new SkuNotFoundException(sku));
+            throw new InsufficientStockException(sku, item.getQuantity(), item.getReservedQuantity(), -quantity);
+        }
+        wheel.schedule(response.getReservationId(), sku, expiresAt.toEpochMilli());
+        heldTotal.incrementAndGet();
+        return response;
+    }
+
+    /** Deducts the held units from on-hand stock and writes the audit log row for the sale. */
+    public ReservationResponse commit(long reservationId) {
+        ReservationResponse response = resolve(reservationId, ReservationStatus.COMMITTED);
+        committedTotal.incrementAndGet();
+        return response;
+    }
+
+    /** Returns the held units to available stock. */
+    public ReservationResponse release(long reservationId) {
+        ReservationResponse response = resolve(reservationId, ReservationStatus.RELEASED);
+        releasedTotal.incrementAndGet();
+        return response;
+    }
+
+    /** The SKU of a reservation in any status, or null if there is no such reservation. */
+    public String findSku(long reservationId) {
+        List<String> skus = jdbcTemplate.queryForList(
+                "SELECT sku FROM stock_reservations WHERE id = ?", String.class, reservationId);
+        return skus.isEmpty() ? null : skus.get(0);
+    }
+
+    public ReservationStats getStats() {
+        return new ReservationStats(wheel.size(), heldTotal.get(), committedTotal.get(), releasedTotal.get(),
+                expiredTotal.get(), expiryFailures.get(), lastExpiryAt);
+    }
+
+    private ReservationResponse resolve(long reservationId, ReservationStatus outcome) {
+        requireLedgerDisabled();
+        boolean deduct = outcome == ReservationStatus.COMMITTED;
+        ReservationResponse response = transactionTemplate.execute(status -> {
+            List<ReservationResponse> rows = jdbcTemplate.query(RESOLVE_SQL, (rs, rowNum) -> {
+                int held = rs.getInt("held");
+                ReservationResponse resolved = toResponse(rs, reservationId, outcome, held, null);
+                publish(rs, deduct ? -held : 0);
+                if (deduct) {
+                    auditLogWriter.record(new InventoryLog(rs.getString("warehouse_id"), rs.getString("sku"),
+                            "DEDUCT", -held, rs.getInt("quantity"), "Reservation " + reservationId + " committed"));
+                }
+                return resolved;
+            }, outcome.name(), Timestamp.from(Instant.now()), reservationId, deduct);
+            return rows.isEmpty() ? null : rows.get(0);
+        });
+        if (response == null) {
+            List<String> current = jdbcTemplate.queryForList(
+                    "SELECT status FROM stock_reservations WHERE id = ?", String.class, reservationId);
+            if (current.isEmpty()) {
+                throw new ReservationNotFoundException(reservationId);
+            }
+            throw new ReservationNotHeldException(reservationId, ReservationStatus.valueOf(current.get(0)));
+        }
+        wheel.cancel(reservationId);
+        return response;
+    }
+
+    private void run() {
+        long nextOrphanSweep = orphanSweepIntervalMs > 0
+                ? System.currentTimeMillis() + orphanSweepIntervalMs
+                : Long.MAX_VALUE;
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextOrphanSweep) {
+                    scheduleOverdue(now);
+                    nextOrphanSweep = now + orphanSweepIntervalMs;
+                }
+                List<ReservationExpiryWheel.Timeout> expired = wheel.advance(now);
+                if (!expired.isEmpty()) {
+                    expire(expired);
+                }
+                long sleepMs = wheel.nextTickAt() - System.currentTimeMillis();
+                if (sleepMs > 0) {
+                    Thread.sleep(sleepMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Reservation expiry sweep failed, retrying in {}ms: {}", RETRY_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Picks up overdue holds this node is not tracking; the wheel ignores the ones it already has. */
+    private void scheduleOverdue(long now) {
+        jdbcTemplate.query(SELECT_OVERDUE, rs -> {
+            wheel.schedule(rs.getLong("id"), rs.getString("sku"), rs.getTimestamp("expires_at").getTime());
+        }, new Timestamp(now), ORPHAN_SWEEP_LIMIT);
+    }
+
+    /**
+     * Expires due holds one SKU at a time, in SKU order, so each transaction locks
+     * a single item row. A failed SKU is retried a second later.
+     */
+    private void expire(List<ReservationExpiryWheel.Timeout> due) {
+        Map<String, List<ReservationExpiryWheel.Timeout>> bySku = new TreeMap<>();
+        for (ReservationExpiryWheel.Timeout timeout : due) {
+            bySku.computeIfAbsent(timeout.sku, sku -> new ArrayList<>()).add(timeout);
+        }
+        for (Map.Entry<String, List<ReservationExpiryWheel.Timeout>> group : bySku.entrySet()) {
+            List<ReservationExpiryWheel.Timeout> timeouts = group.getValue();
+            Long[] ids = new Long[timeouts.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = timeouts.get(i).reservationId;
+            }
+            Timestamp now = Timestamp.from(Instant.now());
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPIRE_SQL, ps -> {
+                    ps.setTimestamp(1, now);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+                    ps.setTimestamp(3, now);
+                    ps.setString(4, group.getKey());
+                }, rs -> {
+                    expiredTotal.addAndGet(rs.getInt("holds"));
+                    publish(rs, 0);
+                }));
+                lastExpiryAt = now.toInstant();
+            } catch (RuntimeException e) {
+                expiryFailures.incrementAndGet();
+                log.warn("Expiring {} reservations of SKU {} failed, retrying: {}",
+                        ids.length, group.getKey(), e.getMessage());
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+                for (ReservationExpiryWheel.Timeout timeout : timeouts) {
+                    wheel.schedule(timeout.reservationId, timeout.sku, Math.max(timeout.expiresAtMs, retryAt));
+                }
+            }
+        }
+    }
+
+    private void requireLedgerDisabled() {
+        if (stockLedger.isEnabled()) {
+            throw new IllegalArgumentException(
+                    "Reservations are unavailable while the stock ledger owns quantities");
+        }
+    }
+
+    private void publish(ResultSet rs, int quantityChange) throws SQLException {
+        eventPublisher.publishEvent(new StockChangedEvent(rs.getString("sku"), rs.getString("warehouse_id"),
+                quantityChange, rs.getInt("quantity"), rs.getInt("reserved_quantity"), rs.getLong("version")));
+    }
+
+    private static ReservationResponse toResponse(ResultSet rs, long reservationId, ReservationStatus status,
+                                                  int quantity, Instant expiresAt) throws SQLException {
+        return new ReservationResponse(reservationId, status, rs.getString("sku"), quantity, expiresAt,
+                rs.getInt("quantity"), rs.getInt("reserved_quantity"), rs.getLong("version"));
+    }
+}
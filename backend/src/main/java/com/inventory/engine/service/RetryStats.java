@@ -0,0 +1,43 @@
+package com.inventory.engine.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe accumulator for the attempts made by {@link InventoryService#updateStock}
+ * while a load simulation or load test is running.
+ */
+public class RetryStats {
+
+    private final AtomicInteger retries = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Long> attemptLatenciesMicros = new ConcurrentLinkedQueue<>();
+    private final boolean keepLatencies;
+
+    public RetryStats() {
+        this(true);
+    }
+
+    /** @param keepLatencies false to only count retries, e.g. for long-running load tests */
+    public RetryStats(boolean keepLatencies) {
+        this.keepLatencies = keepLatencies;
+    }
+
+    void recordAttempt(long elapsedNanos) {
+        if (keepLatencies) {
+            attemptLatenciesMicros.add(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+    }
+
+    void recordRetry() {
+        retries.incrementAndGet();
+    }
+
+    public int getRetries() { return retries.get(); }
+
+    public List<Long> getAttemptLatenciesMicros() {
+        return new ArrayList<>(attemptLatenciesMicros);
+    }
+}
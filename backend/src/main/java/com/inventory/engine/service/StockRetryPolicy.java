@@ -0,0 +1,52 @@
+package com.inventory.engine.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side retry policy for optimistic-lock conflicts. Attempts are capped
+ * both by count and by a per-request time budget, and backoff uses "full jitter"
+ * (a uniform delay between zero and the exponential ceiling) so that callers
+ * that collided once do not collide again on the next attempt.
+ */
+@Component
+public class StockRetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long timeBudgetMs;
+
+    public StockRetryPolicy(
+            @Value("${inventory.retry.max-attempts:5}") int maxAttempts,
+            @Value("${inventory.retry.initial-backoff-ms:2}") long initialBackoffMs,
+            @Value("${inventory.retry.max-backoff-ms:50}") long maxBackoffMs,
+            @Value("${inventory.retry.time-budget-ms:500}") long timeBudgetMs) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("inventory.retry.max-attempts must be >= 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = Math.max(0, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    public int getMaxAttempts() { return maxAttempts; }
+
+    public long getTimeBudgetNanos() { return TimeUnit.MILLISECONDS.toNanos(timeBudgetMs); }
+
+    /**
+     * Returns the delay before the attempt following {@code failedAttempt} (1-based).
+     */
+    public long backoffMillis(int failedAttempt) {
+        int shift = Math.min(failedAttempt - 1, 30);
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << shift);
+        if (ceiling <= 0) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,294 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.idempotency.IdempotencyKeyTakenException;
+import com.inventory.engine.idempotency.IdempotencyStore;
+import com.inventory.engine.metrics.StockUpdateMetrics;
+import com.inventory.engine.metrics.StockUpdateMetrics.Outcome;
+import com.inventory.engine.metrics.StockUpdateMetrics.Stage;
+import com.inventory.engine.repository.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group-commit engine for hot SKUs. Concurrent requests for the same SKU are
+ * gathered for a short window (or until a batch fills up), checked against the
+ * current quantity in arrival order, and then applied as one net delta in a
+ * single transaction that also batch-inserts every accepted request's log row.
+ *
+ * <p>Only one batch per SKU is in flight at a time and the row is read with
+ * {@code SELECT ... FOR UPDATE}, so batches never hit an optimistic-lock conflict.
+ */
+@Component
+public class StockUpdateCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(StockUpdateCoalescer.class);
+
+    private enum State { IDLE, SCHEDULED, RUNNING, RETIRED }
+
+    private final InventoryRepository inventoryRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final IdempotencyStore idempotencyStore;
+    private final StockUpdateMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService executor;
+    private final ConcurrentHashMap<String, SkuQueue> queues = new ConcurrentHashMap<>();
+
+    public StockUpdateCoalescer(InventoryRepository inventoryRepository,
+                                AuditLogWriter auditLogWriter,
+                                IdempotencyStore idempotencyStore,
+                                StockUpdateMetrics metrics,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.coalescer.window-micros:2000}") long windowMicros,
+                                @Value("${inventory.coalescer.max-batch-size:64}") int maxBatchSize,
+                                @Value("${inventory.coalescer.threads:4}") int threads) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("inventory.coalescer.max-batch-size must be >= 1");
+        }
+        this.inventoryRepository = inventoryRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.idempotencyStore = idempotencyStore;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowMicros = Math.max(0, windowMicros);
+        this.maxBatchSize = maxBatchSize;
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a request for the next batch of its SKU. The future completes after
+     * the batch commits, with a rejected response if the request would have taken
+     * the quantity below zero, or exceptionally if the batch itself failed or the
+     * request's idempotency key was already taken.
+     */
+    public CompletableFuture<StockUpdateResponse> submit(StockUpdateRequest request) {
+        Pending pending = new Pending(request);
+        // A queue that drained is removed from the map; retry on the one that replaces it.
+        while (!queues.computeIfAbsent(request.getSku(), SkuQueue::new).enqueue(pending)) {
+            Thread.onSpinWait();
+        }
+        return pending.future;
+    }
+
+    /** SKUs with a queue: requests waiting or a batch committing. */
+    int activeQueues() {
+        return queues.size();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Delayed drains still run after shutdown(), so queued requests are flushed.
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Stock coalescer did not drain within 10s; pending requests abandoned");
+        }
+    }
+
+    /**
+     * Returns one response per request, null for a keyed request whose key was
+     * already taken: it is left out of the batch.
+     */
+    private StockUpdateResponse[] applyBatch(String sku, List<Pending> batch, StockUpdateMetrics.Sample sample) {
+        List<StockUpdateRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request);
+        }
+        Set<String> taken = idempotencyStore.claimAll(requests);
+        sample.mark();
+        Optional<InventoryItem> found = inventoryRepository.findBySkuForUpdate(sku);
+        sample.lap(Stage.FIND);
+        InventoryItem item = found.orElseThrow(() -> new SkuNotFoundException(sku));
+        sample.warehouse(item.getWarehouseId());
+
+        StockUpdateResponse[] responses = new StockUpdateResponse[batch.size()];
+        int[] resulting = new int[batch.size()];
+        boolean[] applied = new boolean[batch.size()];
+        List<InventoryLog> logs = new ArrayList<>(batch.size());
+        Set<String> keys = new HashSet<>();
+        int quantity = item.getQuantity();
+
+        for (int i = 0; i < batch.size(); i++) {
+            String key = batch.get(i).request.getIdempotencyKey();
+            // A key repeated within one batch is only possible once its first request was evicted from memory.
+            if (key != null && (taken.contains(key) || !keys.add(key))) {
+                continue;
+            }
+            int change = batch.get(i).request.getQuantityChange();
+            int next = quantity + change;
+            if (next < item.getReservedQuantity()) {
+                responses[i] = StockUpdateResponse.conflict(sku, new InsufficientStockException(
+                        sku, quantity, item.getReservedQuantity(), change).getMessage());
+                continue;
+            }
+            quantity = next;
+            resulting[i] = quantity;
+            applied[i] = true;
+            logs.add(new InventoryLog(
+                    item.getWarehouseId(),
+                    sku,
+                    change >= 0 ? "RESTOCK" : "DEDUCT",
+                    change,
+                    quantity,
+                    "Stock updated via API"
+            ));
+        }
+
+        if (logs.isEmpty()) {
+            idempotencyStore.completeAll(requests, responses);
+            return responses;
+        }
+
+        int netChange = quantity - item.getQuantity();
+        item.setQuantity(quantity);
+        InventoryItem saved = inventoryRepository.saveAndFlush(item);
+        sample.lap(Stage.SAVE);
+        auditLogWriter.record(logs);
+        sample.lap(Stage.LOG);
+        eventPublisher.publishEvent(new StockChangedEvent(sku, saved.getWarehouseId(),
+                netChange, quantity, item.getReservedQuantity(), saved.getVersion()));
+
+        for (int i = 0; i < responses.length; i++) {
+            if (applied[i]) {
+                responses[i] = new StockUpdateResponse(
+                        true, "Stock updated successfully", sku, resulting[i], saved.getVersion());
+            }
+        }
+        idempotencyStore.completeAll(requests, responses);
+        return responses;
+    }
+
+    private static final class Pending {
+        final StockUpdateRequest request;
+        final CompletableFuture<StockUpdateResponse> future = new CompletableFuture<>();
+
+        Pending(StockUpdateRequest request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * Per-SKU queue. At most one drain task is scheduled or running at a time;
+     * a running drain keeps taking batches until the queue is empty, so requests
+     * that arrive while a batch is committing form the next batch. An emptied
+     * queue retires and leaves the map, so only SKUs with traffic in flight
+     * hold one.
+     */
+    private final class SkuQueue implements Runnable {
+
+        private final String sku;
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<Pending> pending = new ArrayList<>();
+        private State state = State.IDLE;
+        private ScheduledFuture<?> scheduled;
+
+        SkuQueue(String sku) {
+            this.sku = sku;
+        }
+
+        /** False once the queue has retired; the caller must use the SKU's next queue. */
+        boolean enqueue(Pending item) {
+            lock.lock();
+            try {
+                if (state == State.RETIRED) {
+                    return false;
+                }
+                pending.add(item);
+                if (state == State.IDLE) {
+                    state = State.SCHEDULED;
+                    scheduled = pending.size() >= maxBatchSize || windowMicros == 0
+                            ? executor.schedule(this, 0, TimeUnit.MICROSECONDS)
+                            : executor.schedule(this, windowMicros, TimeUnit.MICROSECONDS);
+                } else if (state == State.SCHEDULED && pending.size() >= maxBatchSize
+                        && scheduled.cancel(false)) {
+                    scheduled = executor.schedule(this, 0, TimeUnit.MICROSECONDS);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                List<Pending> batch;
+                lock.lock();
+                try {
+                    if (pending.isEmpty()) {
+                        state = State.RETIRED;
+                        queues.remove(sku, this);
+                        return;
+                    }
+                    state = State.RUNNING;
+                    if (pending.size() <= maxBatchSize) {
+                        batch = pending;
+                        pending = new ArrayList<>();
+                    } else {
+                        batch = new ArrayList<>(pending.subList(0, maxBatchSize));
+                        pending.subList(0, maxBatchSize).clear();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                flush(batch);
+            }
+        }
+
+        private void flush(List<Pending> batch) {
+            StockUpdateMetrics.Sample sample = metrics.start(WriteMode.COALESCED);
+            try {
+                StockUpdateResponse[] responses =
+                        transactionTemplate.execute(status -> applyBatch(sku, batch, sample));
+                metrics.stop(sample, Outcome.SUCCESS);
+                // Every request after the first waited for a write to the same SKU.
+                metrics.recordContention(sku, sample.getWarehouseId(), batch.size() - 1);
+                for (int i = 0; i < batch.size(); i++) {
+                    Pending item = batch.get(i);
+                    if (responses[i] != null) {
+                        item.future.complete(responses[i]);
+                    } else {
+                        item.future.completeExceptionally(
+                                new IdempotencyKeyTakenException(item.request.getIdempotencyKey()));
+                    }
+                }
+            } catch (RuntimeException ex) {
+                metrics.stop(sample, ex);
+                log.warn("Coalesced batch of {} for SKU {} failed: {}", batch.size(), sku, ex.getMessage());
+                for (Pending item : batch) {
+                    item.future.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.cache.InventoryCache;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.TransferRequest;
+import com.inventory.engine.dto.TransferResponse;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.entity.StockPosition;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.ledger.StockLedger;
+import com.inventory.engine.repository.InventoryRepository;
+import com.inventory.engine.repository.StockPositionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Moves stock between warehouses.
+ *
+ * <p>An item's stock in its home warehouse is its {@code inventory_items} row;
+ * its stock anywhere else is a {@link StockPosition} keyed by
+ * {@code (sku, warehouse_id)}, created empty on the first transfer in. Only
+ * transfers move stock into or out of positions, so every other path (single
+ * and batch updates, reservations, the cache, alerts, forecasts and imports)
+ * sees items only.
+ *
+ * <p>A catalog import can move an item's home to a warehouse where it already
+ * has a position. Those units are home stock from then on: a transfer touching
+ * the home warehouse folds the position into the item row, and
+ * {@link #getPositions} reports the two as one.
+ *
+ * <p>A transfer first locks the item row, then the positions it touches in
+ * warehouse order. Every writer that takes an item row lock takes it before
+ * any position lock, so transfers in opposite directions serialize instead of
+ * deadlocking and never hit a version conflict to retry. The debit, the
+ * credit and the paired TRANSFER_OUT/TRANSFER_IN log rows commit together.
+ */
+@Service
+public class TransferService {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockPositionRepository positionRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final InventoryCache inventoryCache;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransferService(InventoryRepository inventoryRepository,
+                           StockPositionRepository positionRepository,
+                           AuditLogWriter auditLogWriter,
+                           InventoryCache inventoryCache,
+                           StockLedger stockLedger,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.positionRepository = positionRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.inventoryCache = inventoryCache;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TransferResponse transfer(TransferRequest request) {
+        String sku = request.getSku();
+        String from = request.getFromWarehouseId();
+        String to = request.getToWarehouseId();
+        int quantity = request.getQuantity();
+        if (stockLedger.isEnabled()) {
+            throw new IllegalArgumentException(
+                    "Transfers are unavailable while the stock ledger owns quantities");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("fromWarehouseId and toWarehouseId must differ");
+        }
+
+        return transactionTemplate.execute(status -> {
+            InventoryItem item = inventoryRepository.findBySkuForUpdate(sku)
+                    .orElseThrow(() -> new SkuNotFoundException(sku));
+            String home = item.getWarehouseId();
+            if (!to.equals(home)) {
+                positionRepository.createIfAbsent(sku, to);
+            }
+            Set<String> warehouses = new TreeSet<>(List.of(from, to));
+            Map<String, StockPosition> positions = new HashMap<>();
+            for (StockPosition position : positionRepository.findAllForUpdate(sku, warehouses)) {
+                positions.put(position.getWarehouseId(), position);
+            }
+            int homeBefore = item.getQuantity();
+            StockPosition homePosition = positions.remove(home);
+            if (homePosition != null) {
+                // Same warehouse, so no units move and no log row is written.
+                item.setQuantity(item.getQuantity() + homePosition.getQuantity());
+                positionRepository.delete(homePosition);
+            }
+
+            int sourceQuantity;
+            if (from.equals(home)) {
+                if (item.getQuantity() - quantity < item.getReservedQuantity()) {
+                    throw new InsufficientStockException(sku, item.getQuantity(), item.getReservedQuantity(),
+                            -quantity);
+                }
+                sourceQuantity = item.getQuantity() - quantity;
+                item.setQuantity(sourceQuantity);
+            } else {
+                StockPosition source = positions.get(from);
+                if (source == null || source.getQuantity() < quantity) {
+                    throw new InsufficientStockException(sku, "Insufficient stock for SKU " + sku + " in "
+                            + from + ". Current: " + (source != null ? source.getQuantity() : 0)
+                            + ", requested change: " + -quantity);
+                }
+                sourceQuantity = source.getQuantity() - quantity;
+                source.setQuantity(sourceQuantity);
+            }
+            int targetQuantity;
+            if (to.equals(home)) {
+                targetQuantity = item.getQuantity() + quantity;
+                item.setQuantity(targetQuantity);
+            } else {
+                StockPosition target = positions.get(to);
+                targetQuantity = target.getQuantity() + quantity;
+                target.setQuantity(targetQuantity);
+            }
+            inventoryRepository.flush();
+
+            List<InventoryLog> logs = new ArrayList<>(2);
+            logs.add(new InventoryLog(from, sku, "TRANSFER_OUT", -quantity, sourceQuantity, "Transfer to " + to));
+            logs.add(new InventoryLog(to, sku, "TRANSFER_IN", quantity, targetQuantity, "Transfer from " + from));
+            auditLogWriter.record(logs);
+
+            if (home.equals(from) || home.equals(to)) {
+                eventPublisher.publishEvent(new StockChangedEvent(sku, home, item.getQuantity() - homeBefore,
+                        item.getQuantity(), item.getReservedQuantity(), item.getVersion()));
+            }
+            return new TransferResponse(sku, quantity,
+                    stockPosition(from, home, item, positions), stockPosition(to, home, item, positions));
+        });
+    }
+
+    /** The item's stock in every warehouse that has some, home first. */
+    public List<InventoryItemSnapshot> getPositions(String sku) {
+        InventoryItemSnapshot item = inventoryCache.get(sku, () -> inventoryRepository.findBySku(sku))
+                .orElseThrow(() -> new SkuNotFoundException(sku));
+        List<InventoryItemSnapshot> positions = new ArrayList<>();
+        positions.add(item);
+        for (StockPosition position : positionRepository.findBySkuOrderByWarehouseId(sku)) {
+            if (position.getWarehouseId().equals(item.getWarehouseId())) {
+                positions.set(0, item.withStock(item.getQuantity() + position.getQuantity(),
+                        item.getReservedQuantity(), item.getVersion(), item.getUpdatedAt()));
+                continue;
+            }
+            positions.add(new InventoryItemSnapshot(null, sku, item.getProductName(), position.getQuantity(), 0,
+                    position.getWarehouseId(), position.getVersion(), position.getCreatedAt(),
+                    position.getUpdatedAt()));
+        }
+        return positions;
+    }
+
+    private static TransferResponse.StockPosition stockPosition(String warehouseId, String home, InventoryItem item,
+                                                                Map<String, StockPosition> positions) {
+        if (warehouseId.equals(home)) {
+            return new TransferResponse.StockPosition(warehouseId, item.getQuantity(), item.getVersion());
+        }
+        StockPosition position = positions.get(warehouseId);
+        return new TransferResponse.StockPosition(warehouseId, position.getQuantity(), position.getVersion());
+    }
+}
@@ -0,0 +1,6 @@
+package com.inventory.engine.stream;
+
+import com.inventory.engine.dto.StockStreamEvent;
+
+/** A stream event with its JSON payload, or a null payload for a merged event not yet encoded. */
+record EncodedEvent(StockStreamEvent event, String json) {}
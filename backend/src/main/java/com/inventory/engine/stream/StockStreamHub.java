@@ -0,0 +1,213 @@
+package com.inventory.engine.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.StockStreamEvent;
+import com.inventory.engine.dto.StreamStats;
+import com.inventory.engine.event.CatalogImportedEvent;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.service.InventoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed stock changes out to {@code /api/inventory/stream}
+ * subscribers. Each commit is numbered, kept in a replay ring and offered to
+ * every subscriber's buffer from memory, so N dashboards cost one JSON
+ * encoding, N buffer inserts and no database reads.
+ *
+ * <p>Event ids are {@code <epoch>-<sequence>}, where the epoch identifies this
+ * node's run. A reconnecting client that sends its last id (the browser's
+ * {@code Last-Event-ID}) gets the changes it missed from the ring, coalesced
+ * per SKU; one from another run, or too far behind, gets a fresh snapshot
+ * from the read cache instead.
+ */
+@Component
+public class StockStreamHub {
+
+    private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long coalesceMs;
+    private final long heartbeatMs;
+    private final long timeoutMs;
+    private final int senderThreads;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /** Orders sequence numbers, the replay ring and the subscriber buffers. */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final EncodedEvent[] ring;
+    private long nextSequence = 1;
+    private final List<StockSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private ScheduledExecutorService sender;
+
+    public StockStreamHub(InventoryService inventoryService,
+                          ObjectMapper objectMapper,
+                          @Value("${inventory.stream.buffer-size:256}") int bufferSize,
+                          @Value("${inventory.stream.replay-size:10000}") int replaySize,
+                          @Value("${inventory.stream.coalesce-ms:100}") long coalesceMs,
+                          @Value("${inventory.stream.heartbeat-ms:15000}") long heartbeatMs,
+                          @Value("${inventory.stream.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${inventory.stream.sender-threads:4}") int senderThreads) {
+        if (bufferSize < 1 || replaySize < 1 || senderThreads < 1 || heartbeatMs < 1) {
+            throw new IllegalArgumentException(
+                    "inventory.stream buffer-size, replay-size, sender-threads and heartbeat-ms must be >= 1");
+        }
+        this.inventoryService = inventoryService;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.ring = new EncodedEvent[replaySize];
+        this.coalesceMs = coalesceMs;
+        this.heartbeatMs = heartbeatMs;
+        this.timeoutMs = timeoutMs;
+        this.senderThreads = senderThreads;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        sender = Executors.newScheduledThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.scheduleWithFixedDelay(() -> subscribers.forEach(StockSubscriber::heartbeat),
+                heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(StockSubscriber::close);
+        sender.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        // Encoded once, outside the lock; the sequence is not part of the payload.
+        String json = encode(StockStreamEvent.from(0, event));
+        lock.lock();
+        try {
+            long sequence = nextSequence++;
+            EncodedEvent encoded = new EncodedEvent(StockStreamEvent.from(sequence, event), json);
+            ring[(int) (sequence % ring.length)] = encoded;
+            for (StockSubscriber subscriber : subscribers) {
+                subscriber.offer(encoded);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Imports are not streamed change by change; subscribers are told to reload instead. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        subscribers.forEach(StockSubscriber::requestReload);
+    }
+
+    /**
+     * Opens a stream of changes to {@code warehouseId} (all warehouses when null),
+     * resuming after {@code lastEventId} when it is still in the replay window.
+     */
+    public SseEmitter subscribe(String warehouseId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        StockSubscriber subscriber = new StockSubscriber(emitter, warehouseId, epoch, bufferSize, coalesceMs,
+                sender, this);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        Long resumeAfter = parseSequence(lastEventId);
+        boolean replayed = false;
+        long sequence;
+        lock.lock();
+        try {
+            sequence = nextSequence - 1;
+            if (resumeAfter != null && resumeAfter <= sequence && sequence - resumeAfter <= ring.length) {
+                for (long s = resumeAfter + 1; s <= sequence; s++) {
+                    subscriber.offer(ring[(int) (s % ring.length)]);
+                }
+                replayed = true;
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        if (replayed) {
+            resumed.increment();
+            subscriber.start(null, sequence);
+        } else {
+            // Changes committed from here on are already buffered; the client
+            // keeps whichever of snapshot and change has the higher version.
+            snapshots.increment();
+            List<InventoryItemSnapshot> items = warehouseId != null
+                    ? inventoryService.getItemsByWarehouse(warehouseId)
+                    : inventoryService.getAllItems();
+            subscriber.start(items, sequence);
+        }
+        return emitter;
+    }
+
+    public StreamStats getStats() {
+        long published;
+        lock.lock();
+        try {
+            published = nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+        return new StreamStats(subscribers.size(), published, delivered.sum(), coalesced.sum(),
+                dropped.sum(), resumed.sum(), snapshots.sum());
+    }
+
+    String encode(StockStreamEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode stock stream event", e);
+        }
+    }
+
+    void unsubscribe(StockSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    void recordDelivered(int events) { delivered.add(events); }
+
+    void recordCoalesced() { coalesced.increment(); }
+
+    void recordDropped() { dropped.increment(); }
+
+    /** Returns the sequence of an id from this run, or null for a missing, foreign or malformed id. */
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
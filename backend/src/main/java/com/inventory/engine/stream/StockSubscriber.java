@@ -0,0 +1,179 @@
+package com.inventory.engine.stream;
+
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.StockStreamEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One open stream. Changes are buffered per SKU, in the order of their latest
+ * change, and written by a sender thread at most once per coalescing window;
+ * a SKU that changes again before then is merged into its pending event. The
+ * buffer holds at most {@code capacity} SKUs: on overflow the oldest pending
+ * event is dropped and the next flush tells the client to reload, as it does
+ * after a bulk import. Unmerged events reuse the JSON the hub encoded once for
+ * all subscribers.
+ *
+ * <p>Only one flush per subscriber runs at a time, so a slow client occupies at
+ * most one sender thread and never delays the publishing thread.
+ */
+final class StockSubscriber {
+
+    private final SseEmitter emitter;
+    private final String warehouseId;
+    private final String epoch;
+    private final int capacity;
+    private final long coalesceMs;
+    private final ScheduledExecutorService sender;
+    private final StockStreamHub hub;
+
+    private final LinkedHashMap<String, EncodedEvent> pending = new LinkedHashMap<>();
+    private int dropped;
+    private boolean reload;
+    private boolean started;
+    private boolean flushScheduled;
+    private volatile boolean closed;
+
+    StockSubscriber(SseEmitter emitter, String warehouseId, String epoch, int capacity, long coalesceMs,
+                    ScheduledExecutorService sender, StockStreamHub hub) {
+        this.emitter = emitter;
+        this.warehouseId = warehouseId;
+        this.epoch = epoch;
+        this.capacity = capacity;
+        this.coalesceMs = coalesceMs;
+        this.sender = sender;
+        this.hub = hub;
+    }
+
+    /** Buffers a change; never blocks. */
+    synchronized void offer(EncodedEvent encoded) {
+        StockStreamEvent event = encoded.event();
+        if (closed || (warehouseId != null && !warehouseId.equals(event.getWarehouseId()))) {
+            return;
+        }
+        EncodedEvent previous = pending.remove(event.getSku());
+        if (previous != null) {
+            // The merged event is encoded when it is sent.
+            encoded = new EncodedEvent(previous.event().merge(event), null);
+            hub.recordCoalesced();
+        }
+        pending.put(event.getSku(), encoded);
+        if (pending.size() > capacity) {
+            Iterator<EncodedEvent> oldest = pending.values().iterator();
+            oldest.next();
+            oldest.remove();
+            dropped++;
+            hub.recordDropped();
+        }
+        scheduleFlush();
+    }
+
+    /** Makes the next flush tell the client to reload everything. */
+    synchronized void requestReload() {
+        if (!closed) {
+            reload = true;
+            scheduleFlush();
+        }
+    }
+
+    /** Sends the initial state and starts flushing what was buffered meanwhile. */
+    void start(List<InventoryItemSnapshot> snapshot, long sequence) {
+        try {
+            if (snapshot != null) {
+                emitter.send(SseEmitter.event().id(eventId(sequence)).name("snapshot")
+                        .data(snapshot, MediaType.APPLICATION_JSON));
+            } else {
+                emitter.send(SseEmitter.event().comment("resumed"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+            return;
+        }
+        synchronized (this) {
+            started = true;
+            scheduleFlush();
+        }
+    }
+
+    void heartbeat() {
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            close();
+        }
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            hub.unsubscribe(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed by the container.
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (started && !flushScheduled && (!pending.isEmpty() || reload)) {
+            flushScheduled = true;
+            sender.schedule(this::flush, coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Writes everything pending in one send, so the client socket is flushed once per window. */
+    private void flush() {
+        List<EncodedEvent> batch;
+        int overflow;
+        boolean reloadAll;
+        synchronized (this) {
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            overflow = dropped;
+            dropped = 0;
+            reloadAll = reload;
+            reload = false;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> data = new LinkedHashSet<>();
+        if (reloadAll) {
+            data.addAll(SseEmitter.event().name("reload").data("{}", MediaType.APPLICATION_JSON).build());
+        }
+        if (overflow > 0) {
+            data.addAll(SseEmitter.event().name("overflow")
+                    .data(Map.of("dropped", overflow), MediaType.APPLICATION_JSON).build());
+        }
+        for (EncodedEvent encoded : batch) {
+            String json = encoded.json() != null ? encoded.json() : hub.encode(encoded.event());
+            data.addAll(SseEmitter.event().id(eventId(encoded.event().getSequence())).name("stock")
+                    .data(json).build());
+        }
+        try {
+            emitter.send(data);
+            hub.recordDelivered(batch.size());
+        } catch (IOException | IllegalStateException e) {
+            close();
+            return;
+        }
+        synchronized (this) {
+            flushScheduled = false;
+            scheduleFlush();
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+}
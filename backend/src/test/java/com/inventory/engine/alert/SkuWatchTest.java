@@ -0,0 +1,94 @@
+package com.inventory.engine.alert;
+
+import com.inventory.engine.dto.LowStockTransition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkuWatchTest {
+
+    @Test
+    void goesLowBelowTheThresholdAndRecoversOnlyAtTheClearLevel() {
+        SkuWatch watch = new SkuWatch("SKU-1", "WH-EAST", 10, 15, 1, 20);
+        assertFalse(watch.isLow());
+
+        assertNull(watch.observe(2, 10));
+        assertEquals(LowStockTransition.LOW, watch.observe(3, 9));
+        assertNull(watch.observe(4, 2));
+        // Back above the threshold but under the clear level: still low.
+        assertNull(watch.observe(5, 12));
+        assertNull(watch.observe(6, 14));
+        assertTrue(watch.isLow());
+        assertEquals(LowStockTransition.RECOVERED, watch.observe(7, 15));
+        // Between the two levels again: stays clear.
+        assertNull(watch.observe(8, 12));
+        assertFalse(watch.isLow());
+        assertEquals(LowStockTransition.LOW, watch.observe(9, 0));
+        assertEquals(9, watch.version());
+        assertEquals(0, watch.quantity());
+    }
+
+    @Test
+    void startsLowWhenCreatedUnderTheThreshold() {
+        SkuWatch watch = new SkuWatch("SKU-1", "WH-EAST", 10, 15, 4, 3);
+        assertTrue(watch.isLow());
+        assertNull(watch.observe(5, 1));
+        assertEquals(LowStockTransition.RECOVERED, watch.observe(6, 40));
+    }
+
+    @Test
+    void olderWritesCannotUndoANewerState() {
+        SkuWatch watch = new SkuWatch("SKU-1", "WH-EAST", 10, 15, 1, 20);
+        assertEquals(LowStockTransition.LOW, watch.observe(5, 3));
+
+        // Listeners can deliver an earlier commit late.
+        assertNull(watch.observe(4, 50));
+        assertTrue(watch.isLow());
+        assertEquals(5, watch.version());
+        assertEquals(3, watch.quantity());
+    }
+
+    @Test
+    void withoutHysteresisTheLevelsCoincide() {
+        SkuWatch watch = new SkuWatch("SKU-1", "WH-EAST", 10, 10, 1, 10);
+        assertEquals(LowStockTransition.LOW, watch.observe(2, 9));
+        assertEquals(LowStockTransition.RECOVERED, watch.observe(3, 10));
+    }
+
+    @Test
+    void aCrossingDeliveredConcurrentlyIsReportedOnce() throws Exception {
+        SkuWatch watch = new SkuWatch("SKU-1", "WH-EAST", 10, 15, 1, 20);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<LowStockTransition>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return watch.observe(2, 5);
+                }));
+            }
+            start.countDown();
+            int low = 0;
+            for (Future<LowStockTransition> result : results) {
+                if (result.get() == LowStockTransition.LOW) {
+                    low++;
+                }
+            }
+            assertEquals(1, low);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
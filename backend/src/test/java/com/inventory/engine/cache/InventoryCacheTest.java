@@ -0,0 +1,140 @@
+package com.inventory.engine.cache;
+
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.entity.InventoryItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryCacheTest {
+
+    @Test
+    void overflowEvictsTheOldestEntriesDownToTheLowWaterMark() {
+        InventoryCache cache = new InventoryCache(100, 60_000);
+        for (int i = 0; i <= 100; i++) {
+            load(cache, i);
+        }
+
+        // 101 entries tripped eviction down to 90.
+        assertEquals(90, cache.getStats().getSize());
+        assertEquals(11, cache.getStats().getEvictions());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(sku(10), () -> {
+            loads.incrementAndGet();
+            return Optional.of(item(10));
+        });
+        cache.get(sku(11), () -> {
+            loads.incrementAndGet();
+            return Optional.of(item(11));
+        });
+        assertEquals(1, loads.get(), "only the 11 oldest entries are evicted");
+    }
+
+    @Test
+    void entriesOfOneListingAreEvictedInLoadOrder() {
+        InventoryCache cache = new InventoryCache(100, 60_000);
+        cache.getAll(() -> items(0, 100));
+        load(cache, 100);
+
+        assertEquals(90, cache.getStats().getSize());
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i <= 100; i++) {
+            int n = i;
+            cache.get(sku(n), () -> {
+                loads.incrementAndGet();
+                return Optional.of(item(n));
+            });
+            if (i == 10) {
+                assertEquals(11, loads.get());
+            }
+        }
+    }
+
+    @Test
+    void listingLargerThanTheBoundIsReadThroughWithoutTouchingEntries() {
+        InventoryCache cache = new InventoryCache(100, 60_000);
+        for (int i = 0; i < 50; i++) {
+            load(cache, i);
+        }
+        AtomicInteger listings = new AtomicInteger();
+
+        for (int round = 0; round < 2; round++) {
+            List<InventoryItemSnapshot> all = cache.getAll(() -> {
+                listings.incrementAndGet();
+                return items(0, 1_000);
+            });
+            assertEquals(1_000, all.size());
+        }
+
+        assertEquals(2, listings.get());
+        assertEquals(50, cache.getStats().getSize());
+        assertEquals(0, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void listingWithinTheBoundIsServedFromCache() {
+        InventoryCache cache = new InventoryCache(100, 60_000);
+        AtomicInteger listings = new AtomicInteger();
+
+        List<InventoryItemSnapshot> first = cache.getAll(() -> {
+            listings.incrementAndGet();
+            return items(0, 80);
+        });
+        List<InventoryItemSnapshot> second = cache.getAll(() -> {
+            listings.incrementAndGet();
+            return items(0, 80);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, listings.get());
+    }
+
+    @Test
+    void bulkLoadStaysLinear() {
+        InventoryCache cache = new InventoryCache(10_000, 60_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            load(cache, i);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(cache.getStats().getSize() <= 10_000);
+        // One full scan per put would take minutes here.
+        assertTrue(elapsedMs < 10_000, "100k puts took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void rejectsANonPositiveBound() {
+        assertThrows(IllegalArgumentException.class, () -> new InventoryCache(0, 60_000));
+    }
+
+    private static void load(InventoryCache cache, int i) {
+        cache.get(sku(i), () -> Optional.of(item(i)));
+    }
+
+    private static List<InventoryItem> items(int from, int to) {
+        List<InventoryItem> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(item(i));
+        }
+        return items;
+    }
+
+    private static InventoryItem item(int i) {
+        InventoryItem item = new InventoryItem(sku(i), "Item " + i, 10, "WH-EAST");
+        item.setVersion(1L);
+        return item;
+    }
+
+    private static String sku(int i) {
+        return String.format("SKU-%06d", i);
+    }
+}
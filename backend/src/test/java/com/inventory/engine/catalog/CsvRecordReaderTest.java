@@ -0,0 +1,113 @@
+package com.inventory.engine.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void splitsPlainFieldsOnCommas() throws IOException {
+        assertEquals(List.of(
+                List.of("sku", "productName", "quantity", "warehouseId"),
+                List.of("SKU-1", "Servo", "10", "WH-EAST"),
+                List.of("SKU-2", "", "", "WH-WEST")),
+                readAll("sku,productName,quantity,warehouseId\nSKU-1,Servo,10,WH-EAST\nSKU-2,,,WH-WEST\n"));
+    }
+
+    @Test
+    void acceptsLfCrlfAndAMissingFinalLineBreak() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f")),
+                readAll("a,b\r\nc,d\ne,f"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        assertEquals(List.of(
+                List.of("SKU-1", "Bolt, hex \"M8\"", "5"),
+                List.of("SKU-2", "line one\nline two\r\nline three", "7")),
+                readAll("SKU-1,\"Bolt, hex \"\"M8\"\"\",5\r\n"
+                        + "SKU-2,\"line one\nline two\r\nline three\",7\r\n"));
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        assertEquals(List.of(List.of("12\" pipe", "x")), readAll("12\" pipe,x\n"));
+    }
+
+    @Test
+    void emptyQuotedFieldAndEmptyLine() throws IOException {
+        assertEquals(List.of(List.of("", "a"), List.of("")), readAll("\"\",a\n\n"));
+    }
+
+    @Test
+    void unterminatedQuotedFieldIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> readAll("SKU-1,\"never closed\n"));
+    }
+
+    @Test
+    void recordsSpanningBufferRefillsAreUnchanged() throws IOException {
+        String csv = "SKU-1,\"a \"\"b\"\"\r\nc\",3\r\nSKU-2,d,4\r\n";
+        assertEquals(readAll(csv), readAll(new OneCharReader(csv)));
+
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            name.append(i % 10 == 0 ? "\"\"" : "x");
+        }
+        List<List<String>> records = readAll("SKU-1,\"" + name + "\"\r\nSKU-2,y\r\n");
+        assertEquals(2, records.size());
+        assertEquals(name.toString().replace("\"\"", "\""), records.get(0).get(1));
+        assertEquals(List.of("SKU-2", "y"), records.get(1));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertFalse(new CsvRecordReader(new StringReader("")).next(new ArrayList<>()));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        return readAll(new StringReader(csv));
+    }
+
+    private static List<List<String>> readAll(Reader input) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(input);
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        while (reader.next(fields)) {
+            records.add(List.copyOf(fields));
+        }
+        return records;
+    }
+
+    /** Hands out one character per read, so every lookahead crosses a refill. */
+    private static final class OneCharReader extends Reader {
+
+        private final String text;
+        private int position;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
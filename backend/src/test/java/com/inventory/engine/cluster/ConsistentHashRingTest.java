@@ -0,0 +1,129 @@
+package com.inventory.engine.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int VIRTUAL_NODES = 128;
+    private static final int KEYS = 30_000;
+
+    private static final ClusterNode A = node("node-a");
+    private static final ClusterNode B = node("node-b");
+    private static final ClusterNode C = node("node-c");
+    private static final ClusterNode D = node("node-d");
+
+    @Test
+    void spreadsSkusEvenlyOverTheMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A, B, C), VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf(sku(i)).id(), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            double share = count.getValue() / (double) KEYS;
+            assertTrue(share > 0.25 && share < 0.42, count.getKey() + " owns " + share);
+        }
+    }
+
+    @Test
+    void ownershipSharesCoverTheWholeRing() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A, B, C), VIRTUAL_NODES);
+
+        Map<String, Double> shares = ring.ownership();
+        assertEquals(List.of("node-a", "node-b", "node-c"), List.copyOf(shares.keySet()));
+        assertEquals(1.0, shares.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9);
+        for (double share : shares.values()) {
+            assertTrue(share > 0.25 && share < 0.42, "share " + share);
+        }
+    }
+
+    @Test
+    void aSingleNodeOwnsEverything() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A), 1);
+
+        assertEquals(Map.of("node-a", 1.0), ring.ownership());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(A, ring.ownerOf(sku(i)));
+        }
+    }
+
+    @Test
+    void placementDoesNotDependOnMemberOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A, B, C), VIRTUAL_NODES);
+        ConsistentHashRing shuffled = new ConsistentHashRing(List.of(C, A, B), VIRTUAL_NODES);
+
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(ring.ownerOf(sku(i)), shuffled.ownerOf(sku(i)));
+        }
+    }
+
+    @Test
+    void aJoiningNodeOnlyTakesKeysOverAndTakesAboutItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(A, B, C), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(A, B, C, D), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            ClusterNode from = before.ownerOf(sku(i));
+            ClusterNode to = after.ownerOf(sku(i));
+            if (!from.equals(to)) {
+                assertEquals(D, to, sku(i) + " moved between existing members");
+                moved++;
+            }
+        }
+        double share = moved / (double) KEYS;
+        assertTrue(share > 0.18 && share < 0.32, "joining node took " + share);
+    }
+
+    @Test
+    void aLeavingNodeOnlyGivesUpItsOwnKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(A, B, C), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(A, C), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            ClusterNode from = before.ownerOf(sku(i));
+            ClusterNode to = after.ownerOf(sku(i));
+            if (!from.equals(to)) {
+                assertEquals(B, from, sku(i) + " moved although its owner stayed");
+                moved++;
+            } else {
+                assertNotEquals(B, from);
+            }
+        }
+        double share = moved / (double) KEYS;
+        assertTrue(share > 0.25 && share < 0.42, "leaving node gave up " + share);
+    }
+
+    @Test
+    void hashIsStableAndSpreadsSimilarKeys() {
+        assertEquals(ConsistentHashRing.hash("SKU-000001"), ConsistentHashRing.hash("SKU-000001"));
+        long high = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (ConsistentHashRing.hash(sku(i)) < 0) {
+                high++;
+            }
+        }
+        // Sequential SKUs land on both halves of the signed range.
+        assertTrue(high > 400 && high < 600, "negative hashes: " + high);
+    }
+
+    private static String sku(int i) {
+        return String.format("SKU-%06d", i);
+    }
+
+    private static ClusterNode node(String id) {
+        return new ClusterNode(id, URI.create("http://" + id + ":8080"));
+    }
+}
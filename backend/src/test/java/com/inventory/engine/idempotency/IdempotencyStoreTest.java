@@ -0,0 +1,199 @@
+package com.inventory.engine.idempotency;
+
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.exception.IdempotencyKeyInProgressException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final IdempotencyStore store = new IdempotencyStore(jdbcTemplate, 3600, 100);
+
+    @Test
+    void repeatAfterCompletionReplaysTheFirstResponse() {
+        CountingUpdate update = new CountingUpdate();
+
+        StockUpdateResponse first = store.execute("k1", request("SKU-1", -2), update);
+        StockUpdateResponse second = store.execute("k1", request("SKU-1", -2), update);
+
+        assertSame(first, second);
+        assertEquals(1, update.calls.get());
+        assertEquals(1, store.getStats().getExecuted());
+        assertEquals(1, store.getStats().getReplayed());
+    }
+
+    @Test
+    void concurrentRepeatsCollapseOntoTheRunningRequest() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Function<StockUpdateRequest, StockUpdateResponse> update = request -> {
+            calls.incrementAndGet();
+            running.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return applied(request, 8);
+        };
+
+        CompletableFuture<StockUpdateResponse> first =
+                CompletableFuture.supplyAsync(() -> store.execute("k1", request("SKU-1", -2), update));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<StockUpdateResponse> repeat =
+                CompletableFuture.supplyAsync(() -> store.execute("k1", request("SKU-1", -2), update));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (store.getStats().getCollapsed() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        finish.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), repeat.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, store.getStats().getCollapsed());
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        CountingUpdate update = new CountingUpdate();
+        store.execute("k1", request("SKU-1", -2), update);
+
+        assertThrows(IllegalArgumentException.class, () -> store.execute("k1", request("SKU-1", -3), update));
+        assertThrows(IllegalArgumentException.class, () -> store.execute("k1", request("SKU-2", -2), update));
+        assertEquals(1, update.calls.get());
+    }
+
+    @Test
+    void failedRequestFreesItsKeyForARetry() {
+        assertThrows(IllegalStateException.class, () -> store.execute("k1", request("SKU-1", -2), request -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        CountingUpdate update = new CountingUpdate();
+        store.execute("k1", request("SKU-1", -2), update);
+        assertEquals(1, update.calls.get());
+    }
+
+    @Test
+    void keyTakenInTheDatabaseReturnsTheStoredResponse() {
+        StockUpdateResponse stored = new StockUpdateResponse(true, "Stock updated successfully", "SKU-1", 8, 3L);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<StockUpdateResponse>>any(), eq("k1")))
+                .thenReturn(List.of(stored));
+
+        StockUpdateResponse response = store.execute("k1", request("SKU-1", -2), request -> {
+            throw new IdempotencyKeyTakenException(request.getIdempotencyKey());
+        });
+
+        assertSame(stored, response);
+        assertEquals(1, store.getStats().getStoredReplays());
+    }
+
+    @Test
+    void keyTakenWithoutAStoredResultIsStillInProgress() {
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<StockUpdateResponse>>any(), eq("k1")))
+                .thenReturn(List.of());
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> store.execute("k1", request("SKU-1", -2), request -> {
+                    throw new IdempotencyKeyTakenException(request.getIdempotencyKey());
+                }));
+    }
+
+    @Test
+    void oldestKeysAreEvictedPastMaxEntries() {
+        IdempotencyStore small = new IdempotencyStore(jdbcTemplate, 3600, 2);
+        CountingUpdate update = new CountingUpdate();
+        small.execute("k1", request("SKU-1", -1), update);
+        small.execute("k2", request("SKU-1", -1), update);
+        small.execute("k3", request("SKU-1", -1), update);
+
+        assertEquals(2, small.getStats().getEntries());
+        small.execute("k3", request("SKU-1", -1), update);
+        assertEquals(3, update.calls.get());
+        // Evicted from memory: runs again, and the database claim decides.
+        small.execute("k1", request("SKU-1", -1), update);
+        assertEquals(4, update.calls.get());
+    }
+
+    @Test
+    void completeAllRecordsSuccessesAndReleasesRejections() {
+        List<StockUpdateRequest> requests = List.of(
+                keyed("ok", -1), keyed("rejected", -50), request("SKU-1", -1), keyed("taken", -1));
+        StockUpdateResponse[] responses = {
+                new StockUpdateResponse(true, "Stock updated successfully", "SKU-1", 9, 4L),
+                StockUpdateResponse.conflict("SKU-1", "Insufficient stock"),
+                new StockUpdateResponse(true, "Stock updated successfully", "SKU-1", 8, 4L),
+                null};
+
+        store.completeAll(requests, responses);
+
+        ArgumentCaptor<List<Object[]>> completed = argsCaptor();
+        verify(jdbcTemplate).batchUpdate(ArgumentMatchers.contains("UPDATE"), completed.capture());
+        assertEquals(1, completed.getValue().size());
+        assertEquals(List.of(9, 4L, "ok"), List.of(completed.getValue().get(0)));
+        ArgumentCaptor<List<Object[]>> released = argsCaptor();
+        verify(jdbcTemplate).batchUpdate(ArgumentMatchers.contains("DELETE"), released.capture());
+        assertEquals(List.of("rejected"), List.of(released.getValue().get(0)));
+    }
+
+    @Test
+    void rejectsBlankAndOverlongKeys() {
+        CountingUpdate update = new CountingUpdate();
+        assertThrows(IllegalArgumentException.class, () -> store.execute(" ", request("SKU-1", -1), update));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute("k".repeat(101), request("SKU-1", -1), update));
+        assertEquals(0, update.calls.get());
+    }
+
+    private static StockUpdateRequest request(String sku, int change) {
+        return new StockUpdateRequest(sku, change);
+    }
+
+    private static StockUpdateRequest keyed(String key, int change) {
+        StockUpdateRequest request = request("SKU-1", change);
+        request.setIdempotencyKey(key);
+        return request;
+    }
+
+    private static StockUpdateResponse applied(StockUpdateRequest request, int quantity) {
+        return new StockUpdateResponse(true, "Stock updated successfully", request.getSku(), quantity, 2L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Object[]>> argsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static final class CountingUpdate implements Function<StockUpdateRequest, StockUpdateResponse> {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public StockUpdateResponse apply(StockUpdateRequest request) {
+            return applied(request, 10 - calls.incrementAndGet());
+        }
+    }
+}
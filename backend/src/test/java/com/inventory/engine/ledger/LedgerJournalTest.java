@@ -0,0 +1,218 @@
+package com.inventory.engine.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerJournalTest {
+
+    private static final int RECORD = LedgerJournal.RECORD_BYTES;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBackSyncedRecordsAndStopsAtPreallocatedSpace() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 10 * RECORD, false)) {
+            assertEquals(1, journal.append(7, -2, 8, 11, 1_000));
+            assertEquals(2, journal.append(7, 5, 13, 12, 2_000));
+            assertEquals(3, journal.append(9, -1, 0, 4, 3_000));
+            journal.sync();
+        }
+
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        assertEquals(10 * RECORD, Files.size(segments.get(0)));
+        assertEquals(List.of(
+                new LedgerJournal.Entry(7, -2, 8, 11, 1_000),
+                new LedgerJournal.Entry(7, 5, 13, 12, 2_000),
+                new LedgerJournal.Entry(9, -1, 0, 4, 3_000)), LedgerJournal.read(segments.get(0)));
+    }
+
+    @Test
+    void rollsToANewSegmentNamedAfterItsFirstSequence() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 3 * RECORD, false)) {
+            for (int i = 1; i <= 7; i++) {
+                journal.append(1, 1, i, i, i);
+            }
+            journal.sync();
+            assertEquals(3, journal.getSegmentCount());
+            assertEquals(7L * RECORD, journal.getLiveBytes());
+        }
+
+        List<Path> segments = segments();
+        assertEquals(List.of("00000000000000000001.seg", "00000000000000000004.seg", "00000000000000000007.seg"),
+                segments.stream().map(path -> path.getFileName().toString()).toList());
+        assertEquals(List.of(3, 3, 1), sizes(segments));
+    }
+
+    @Test
+    void checksumMismatchIsReportedWithTheIntactPrefix() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 10 * RECORD, false)) {
+            for (int i = 1; i <= 4; i++) {
+                journal.append(1, 1, i, i, i);
+            }
+            journal.sync();
+        }
+        Path segment = segments().get(0);
+        flipByte(segment, 2 * RECORD + 13);
+
+        LedgerJournal.CorruptJournalException ex = assertThrows(LedgerJournal.CorruptJournalException.class,
+                () -> LedgerJournal.read(segment));
+        assertEquals(2, ex.getIntact().size());
+        assertEquals(2, ex.getIntact().get(1).version());
+        assertTrue(ex.getMessage().contains("offset " + 2 * RECORD), ex.getMessage());
+    }
+
+    @Test
+    void partiallyWrittenLastRecordIsTorn() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 10 * RECORD, false)) {
+            journal.append(1, 1, 1, 1, 1);
+            journal.sync();
+        }
+        Path segment = segments().get(0);
+        // A crash mid-copy leaves the payload written but not its checksum.
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(RECORD);
+            file.writeLong(1);
+        }
+
+        LedgerJournal.CorruptJournalException ex = assertThrows(LedgerJournal.CorruptJournalException.class,
+                () -> LedgerJournal.read(segment));
+        assertEquals(1, ex.getIntact().size());
+    }
+
+    @Test
+    void nonZeroBytesPastTheLastWholeRecordAreTorn() throws IOException {
+        Path segment = dir.resolve("00000000000000000001.seg");
+        try (LedgerJournal journal = new LedgerJournal(dir, RECORD, false)) {
+            journal.append(1, 1, 1, 1, 1);
+            journal.sync();
+        }
+        byte[] record = Files.readAllBytes(segment);
+        Files.write(segment, new byte[] {0, 0, 1}, StandardOpenOption.APPEND);
+
+        LedgerJournal.CorruptJournalException ex = assertThrows(LedgerJournal.CorruptJournalException.class,
+                () -> LedgerJournal.read(segment));
+        assertEquals(1, ex.getIntact().size());
+
+        // A zero-filled remainder is just unused space.
+        Files.write(segment, Arrays.copyOf(record, RECORD + 3));
+        assertEquals(1, LedgerJournal.read(segment).size());
+    }
+
+    @Test
+    void discardWipesRecordsAppendedSinceTheLastSync() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 10 * RECORD, false)) {
+            journal.append(1, 1, 1, 1, 1);
+            journal.append(1, 1, 2, 2, 2);
+            journal.sync();
+            journal.append(1, 1, 3, 3, 3);
+            journal.append(1, 1, 4, 4, 4);
+            journal.discard();
+            assertEquals(3, journal.append(1, 1, 5, 3, 5));
+            journal.sync();
+        }
+
+        List<LedgerJournal.Entry> entries = LedgerJournal.read(segments().get(0));
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(LedgerJournal.Entry::version).toList());
+        assertEquals(5, entries.get(2).resultingQuantity());
+    }
+
+    @Test
+    void retireKeepsTheActiveSegmentAndAnyWithUnpersistedRecords() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 2 * RECORD, false)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.append(1, 1, i, i, i);
+            }
+            journal.sync();
+            assertEquals(0, journal.retire(1));
+            assertEquals(1, journal.retire(3));
+            assertEquals(2, journal.getSegmentCount());
+            assertEquals(1, journal.retire(Long.MAX_VALUE));
+            assertEquals(1, journal.getSegmentCount());
+        }
+        assertEquals(List.of("00000000000000000005.seg"),
+                segments().stream().map(path -> path.getFileName().toString()).toList());
+    }
+
+    @Test
+    void replayAppliesOnlyRecordsNewerThanTheLoadedVersion() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(dir, 10 * RECORD, false)) {
+            journal.append(42, -1, 9, 10, 1_000);
+            journal.append(42, -4, 5, 11, 2_000);
+            journal.append(42, 3, 8, 12, 3_000);
+            journal.append(99, 1, 1, 1, 4_000);
+            journal.sync();
+        }
+        LedgerShard shard = new LedgerShard(0, null, sku -> Optional.empty(), 16, 16, 100);
+        // The database row was checkpointed at version 11.
+        shard.register(new LedgerSku(42, "SKU-42", "WH-EAST", 5, 0, 11));
+
+        List<LedgerEntry> replayed = new ArrayList<>();
+        for (LedgerJournal.Entry record : LedgerJournal.read(segments().get(0))) {
+            if (record.itemId() == 42) {
+                LedgerEntry entry = shard.replay("SKU-42", record);
+                if (entry != null) {
+                    replayed.add(entry);
+                }
+            } else {
+                assertNull(shard.replay("SKU-99", record));
+            }
+        }
+
+        assertEquals(1, replayed.size());
+        LedgerEntry entry = replayed.get(0);
+        assertEquals("SKU-42", entry.sku());
+        assertEquals("WH-EAST", entry.warehouseId());
+        assertEquals(3, entry.delta());
+        assertEquals(8, entry.quantity());
+        assertEquals(12, entry.version());
+        assertNull(shard.replay("SKU-42", new LedgerJournal.Entry(42, 3, 8, 12, 3_000)));
+        assertNotNull(shard.replay("SKU-42", new LedgerJournal.Entry(42, -8, 0, 13, 5_000)));
+    }
+
+    @Test
+    void rejectsSegmentsSmallerThanOneRecord() {
+        assertThrows(IllegalArgumentException.class, () -> new LedgerJournal(dir, RECORD - 1, false));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static List<Integer> sizes(List<Path> segments) throws IOException {
+        List<Integer> sizes = new ArrayList<>();
+        for (Path segment : segments) {
+            sizes.add(LedgerJournal.read(segment).size());
+        }
+        return sizes;
+    }
+
+    private static void flipByte(Path file, long offset) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(offset);
+            int value = raf.read();
+            raf.seek(offset);
+            raf.write(value ^ 0xFF);
+        }
+    }
+}
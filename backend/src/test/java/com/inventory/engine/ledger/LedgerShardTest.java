@@ -0,0 +1,49 @@
+package com.inventory.engine.ledger;
+
+import com.inventory.engine.exception.SkuNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LedgerShardTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void unknownSkuIsLookedUpOnceWhileTheMissIsRemembered() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        LedgerShard shard = new LedgerShard(0, null, sku -> {
+            lookups.incrementAndGet();
+            return Optional.empty();
+        }, 16, 16, 100);
+
+        try (LedgerJournal journal = new LedgerJournal(dir, 10 * LedgerJournal.RECORD_BYTES, false)) {
+            shard.start(journal);
+            try {
+                for (int i = 0; i < 5; i++) {
+                    assertNotFound(shard.submit("SKU-NONE", -1));
+                }
+            } finally {
+                shard.stop();
+            }
+        }
+
+        assertEquals(1, lookups.get());
+    }
+
+    private static void assertNotFound(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SkuNotFoundException.class, e.getCause());
+    }
+}
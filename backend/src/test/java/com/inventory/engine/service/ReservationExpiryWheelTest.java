@@ -0,0 +1,124 @@
+package com.inventory.engine.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationExpiryWheelTest {
+
+    private static final long START = 1_000_000;
+
+    @Test
+    void neverFiresBeforeTheDeadlineAndAtMostOneTickAfter() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(10, 8, START);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 1; id <= 500; id++) {
+            long expiresAt = START + random.nextInt(2_000);
+            deadlines.put(id, expiresAt);
+            wheel.schedule(id, "SKU-" + id, expiresAt);
+        }
+
+        int fired = 0;
+        for (long now = START; now <= START + 2_100; now++) {
+            for (ReservationExpiryWheel.Timeout timeout : wheel.advance(now)) {
+                long expiresAt = deadlines.get(timeout.reservationId);
+                assertTrue(now >= expiresAt, "hold " + timeout.reservationId + " fired early at " + now);
+                assertTrue(now < expiresAt + 10, "hold " + timeout.reservationId + " fired late at " + now);
+                fired++;
+            }
+        }
+        assertEquals(500, fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void waitsFullTurnsForDeadlinesBeyondOneRevolution() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(10, 4, START);
+        // 4 ticks per turn: tick 20 is five turns out, in the same slot as tick 0.
+        wheel.schedule(1, "SKU-1", START + 205);
+
+        for (long now = START; now < START + 210; now += 10) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired early at " + (now - START));
+        }
+        assertEquals(List.of(1L), ids(wheel.advance(START + 210)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineOnATickBoundaryFiresOnThatBoundary() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(10, 8, START);
+        wheel.schedule(1, "SKU-1", START + 30);
+
+        assertTrue(wheel.advance(START + 29).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(START + 30)));
+    }
+
+    @Test
+    void cancelledHoldsNeverFire() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(10, 8, START);
+        wheel.schedule(1, "SKU-1", START + 50);
+        wheel.schedule(2, "SKU-2", START + 50);
+        wheel.schedule(3, "SKU-3", START + 500);
+        // Cancelled before the wheel picked it up.
+        wheel.cancel(1);
+        wheel.advance(START + 10);
+        // Cancelled while waiting in its slot, rounds to go.
+        wheel.cancel(3);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(2L), ids(wheel.advance(START + 1_000)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void scheduleIgnoresAHoldAlreadyTracked() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(10, 8, START);
+        wheel.schedule(1, "SKU-1", START + 20);
+        wheel.schedule(1, "SKU-1", START + 90);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(1L), ids(wheel.advance(START + 20)));
+        assertTrue(wheel.advance(START + 200).isEmpty());
+
+        // Once expired, the id can be tracked again.
+        wheel.schedule(1, "SKU-1", START + 250);
+        assertEquals(List.of(1L), ids(wheel.advance(START + 250)));
+    }
+
+    @Test
+    void overdueHoldFiresWhenTheCurrentTickElapses() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(10, 8, START);
+        wheel.advance(START + 100);
+        wheel.schedule(1, "SKU-1", START + 5);
+
+        assertEquals(START + 110, wheel.nextTickAt());
+        assertTrue(wheel.advance(START + 105).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(START + 110)));
+    }
+
+    @Test
+    void nextTickAtFollowsProcessedTicks() {
+        ReservationExpiryWheel wheel = new ReservationExpiryWheel(25, 8, START);
+        assertEquals(START + 25, wheel.nextTickAt());
+        wheel.advance(START + 80);
+        assertEquals(START + 100, wheel.nextTickAt());
+    }
+
+    @Test
+    void rejectsWheelSizesThatAreNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ReservationExpiryWheel(10, 6, START));
+        assertThrows(IllegalArgumentException.class, () -> new ReservationExpiryWheel(0, 8, START));
+    }
+
+    private static List<Long> ids(List<ReservationExpiryWheel.Timeout> timeouts) {
+        return timeouts.stream().map(timeout -> timeout.reservationId).toList();
+    }
+}
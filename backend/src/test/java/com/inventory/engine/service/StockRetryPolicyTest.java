@@ -0,0 +1,73 @@
+package com.inventory.engine.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockRetryPolicyTest {
+
+    @Test
+    void backoffStaysWithinTheExponentialCeiling() {
+        StockRetryPolicy policy = new StockRetryPolicy(10, 2, 50, 500);
+        long[] ceilings = {2, 4, 8, 16, 32, 50, 50, 50};
+        for (int attempt = 1; attempt <= ceilings.length; attempt++) {
+            for (int i = 0; i < 1_000; i++) {
+                long delay = policy.backoffMillis(attempt);
+                assertTrue(delay >= 0 && delay <= ceilings[attempt - 1],
+                        "attempt " + attempt + " waited " + delay + "ms");
+            }
+        }
+    }
+
+    @Test
+    void backoffIsJitteredAcrossTheWholeRange() {
+        StockRetryPolicy policy = new StockRetryPolicy(5, 8, 8, 500);
+        boolean[] seen = new boolean[9];
+        for (int i = 0; i < 10_000; i++) {
+            seen[(int) policy.backoffMillis(1)] = true;
+        }
+        for (int delay = 0; delay < seen.length; delay++) {
+            assertTrue(seen[delay], "never waited " + delay + "ms");
+        }
+    }
+
+    @Test
+    void largeAttemptNumbersDoNotOverflowTheShift() {
+        StockRetryPolicy policy = new StockRetryPolicy(5, 2, 50, 500);
+        for (int attempt : new int[] {31, 32, 64, Integer.MAX_VALUE}) {
+            long delay = policy.backoffMillis(attempt);
+            assertTrue(delay >= 0 && delay <= 50, "attempt " + attempt + " waited " + delay + "ms");
+        }
+    }
+
+    @Test
+    void zeroInitialBackoffNeverWaits() {
+        StockRetryPolicy policy = new StockRetryPolicy(5, 0, 50, 500);
+        assertEquals(0, policy.backoffMillis(1));
+        assertEquals(0, policy.backoffMillis(5));
+    }
+
+    @Test
+    void maxBackoffIsRaisedToTheInitialBackoff() {
+        StockRetryPolicy policy = new StockRetryPolicy(5, 20, 5, 500);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(policy.backoffMillis(3) <= 20);
+        }
+    }
+
+    @Test
+    void exposesAttemptCapAndTimeBudget() {
+        StockRetryPolicy policy = new StockRetryPolicy(7, 2, 50, 250);
+        assertEquals(7, policy.getMaxAttempts());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), policy.getTimeBudgetNanos());
+    }
+
+    @Test
+    void rejectsFewerThanOneAttempt() {
+        assertThrows(IllegalArgumentException.class, () -> new StockRetryPolicy(0, 2, 50, 500));
+    }
+}
@@ -0,0 +1,255 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.SkuNotFoundException;
+import com.inventory.engine.idempotency.IdempotencyKeyTakenException;
+import com.inventory.engine.idempotency.IdempotencyStore;
+import com.inventory.engine.metrics.StockUpdateMetrics;
+import com.inventory.engine.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockUpdateCoalescerTest {
+
+    private static final String SKU = "SKU-001";
+    private static final long WINDOW_MICROS = 200_000;
+
+    private final InventoryRepository repository = mock(InventoryRepository.class);
+    private final AuditLogWriter auditLogWriter = mock(AuditLogWriter.class);
+    private final IdempotencyStore idempotencyStore = mock(IdempotencyStore.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private StockUpdateCoalescer coalescer;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void appliesRequestsInArrivalOrderAndRejectsOnlyTheOnesThatWouldGoNegative() throws Exception {
+        InventoryItem item = stock(5, 0);
+        coalescer = coalescer(64);
+
+        List<CompletableFuture<StockUpdateResponse>> futures = submitAll(-3, -3, 4, -5, -1);
+
+        assertApplied(futures.get(0), 2);
+        assertRejected(futures.get(1));
+        assertApplied(futures.get(2), 6);
+        assertApplied(futures.get(3), 1);
+        assertApplied(futures.get(4), 0);
+        assertEquals(0, item.getQuantity());
+        verify(repository, times(1)).findBySkuForUpdate(SKU);
+        verify(repository, times(1)).saveAndFlush(item);
+
+        ArgumentCaptor<List<InventoryLog>> logs = logCaptor();
+        verify(auditLogWriter).record(logs.capture());
+        assertEquals(List.of(-3, 4, -5, -1),
+                logs.getValue().stream().map(InventoryLog::getQuantityChange).toList());
+
+        ArgumentCaptor<StockChangedEvent> event = ArgumentCaptor.forClass(StockChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(-5, event.getValue().getQuantityChange());
+        assertEquals(0, event.getValue().getQuantity());
+    }
+
+    @Test
+    void keepsReservedUnitsOutOfReach() throws Exception {
+        InventoryItem item = stock(10, 4);
+        coalescer = coalescer(64);
+
+        List<CompletableFuture<StockUpdateResponse>> futures = submitAll(-5, -2, -1);
+
+        assertApplied(futures.get(0), 5);
+        assertRejected(futures.get(1));
+        assertApplied(futures.get(2), 4);
+        assertEquals(4, item.getQuantity());
+    }
+
+    @Test
+    void batchWithNothingAcceptedWritesNothing() throws Exception {
+        stock(1, 0);
+        coalescer = coalescer(64);
+
+        List<CompletableFuture<StockUpdateResponse>> futures = submitAll(-2, -3);
+
+        assertRejected(futures.get(0));
+        assertRejected(futures.get(1));
+        verify(repository, never()).saveAndFlush(any());
+        verify(auditLogWriter, never()).record(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void splitsAtMaxBatchSizeAndKeepsOrderAcrossBatches() throws Exception {
+        InventoryItem item = stock(3, 0);
+        coalescer = coalescer(2);
+
+        List<CompletableFuture<StockUpdateResponse>> futures = submitAll(-1, -1, -1, -1, 2);
+
+        assertApplied(futures.get(0), 2);
+        assertApplied(futures.get(1), 1);
+        assertApplied(futures.get(2), 0);
+        assertRejected(futures.get(3));
+        assertApplied(futures.get(4), 2);
+        assertEquals(2, item.getQuantity());
+        verify(repository, times(3)).findBySkuForUpdate(SKU);
+    }
+
+    @Test
+    void leavesOutRequestsWhoseIdempotencyKeyIsTaken() throws Exception {
+        stock(10, 0);
+        when(idempotencyStore.claimAll(anyList())).thenReturn(Set.of("taken"));
+        coalescer = coalescer(64);
+
+        CompletableFuture<StockUpdateResponse> first = coalescer.submit(keyed(-1, "fresh"));
+        CompletableFuture<StockUpdateResponse> taken = coalescer.submit(keyed(-1, "taken"));
+        CompletableFuture<StockUpdateResponse> repeat = coalescer.submit(keyed(-1, "fresh"));
+        CompletableFuture<StockUpdateResponse> unkeyed = coalescer.submit(new StockUpdateRequest(SKU, -1));
+
+        assertApplied(first, 9);
+        assertInstanceOf(IdempotencyKeyTakenException.class, failure(taken));
+        assertInstanceOf(IdempotencyKeyTakenException.class, failure(repeat));
+        assertApplied(unkeyed, 8);
+
+        ArgumentCaptor<StockUpdateResponse[]> responses = ArgumentCaptor.forClass(StockUpdateResponse[].class);
+        verify(idempotencyStore).completeAll(anyList(), responses.capture());
+        assertNull(responses.getValue()[1]);
+        assertNull(responses.getValue()[2]);
+    }
+
+    @Test
+    void failsEveryRequestOfAFailedBatch() {
+        when(repository.findBySkuForUpdate(SKU)).thenReturn(Optional.empty());
+        coalescer = coalescer(64);
+
+        List<CompletableFuture<StockUpdateResponse>> futures = submitAll(-1, 1);
+
+        for (CompletableFuture<StockUpdateResponse> future : futures) {
+            assertInstanceOf(SkuNotFoundException.class, failure(future));
+        }
+    }
+
+    @Test
+    void drainedQueuesLeaveTheMap() throws Exception {
+        when(repository.findBySkuForUpdate(any())).thenAnswer(invocation ->
+                Optional.of(item(invocation.getArgument(0), 100, 0)));
+        when(repository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        coalescer = coalescer(64);
+
+        List<CompletableFuture<StockUpdateResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(coalescer.submit(new StockUpdateRequest("SKU-" + i, -1)));
+        }
+        assertTrue(coalescer.activeQueues() > 0);
+        for (CompletableFuture<StockUpdateResponse> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.activeQueues() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, coalescer.activeQueues());
+
+        // A SKU whose queue retired gets a new one.
+        assertTrue(coalescer.submit(new StockUpdateRequest("SKU-0", -1)).get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    void rejectsMaxBatchSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> coalescer(0));
+    }
+
+    private StockUpdateCoalescer coalescer(int maxBatchSize) {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new StockUpdateCoalescer(repository, auditLogWriter, idempotencyStore,
+                new StockUpdateMetrics(new SimpleMeterRegistry(), 64), eventPublisher, transactionManager,
+                WINDOW_MICROS, maxBatchSize, 1);
+    }
+
+    private InventoryItem stock(int quantity, int reserved) {
+        InventoryItem item = item(SKU, quantity, reserved);
+        when(repository.findBySkuForUpdate(SKU)).thenReturn(Optional.of(item));
+        when(repository.saveAndFlush(item)).thenAnswer(invocation -> {
+            item.setVersion(item.getVersion() + 1);
+            return item;
+        });
+        return item;
+    }
+
+    private static InventoryItem item(String sku, int quantity, int reserved) {
+        InventoryItem item = new InventoryItem(sku, "Test item", quantity, "WH-EAST");
+        item.setVersion(1L);
+        ReflectionTestUtils.setField(item, "reservedQuantity", reserved);
+        return item;
+    }
+
+    private List<CompletableFuture<StockUpdateResponse>> submitAll(int... changes) {
+        List<CompletableFuture<StockUpdateResponse>> futures = new ArrayList<>();
+        for (int change : changes) {
+            futures.add(coalescer.submit(new StockUpdateRequest(SKU, change)));
+        }
+        return futures;
+    }
+
+    private static StockUpdateRequest keyed(int change, String key) {
+        StockUpdateRequest request = new StockUpdateRequest(SKU, change);
+        request.setIdempotencyKey(key);
+        return request;
+    }
+
+    private static void assertApplied(CompletableFuture<StockUpdateResponse> future, int quantity) throws Exception {
+        StockUpdateResponse response = future.get(5, TimeUnit.SECONDS);
+        assertTrue(response.isSuccess(), response.getMessage());
+        assertEquals(quantity, response.getNewQuantity());
+    }
+
+    private static void assertRejected(CompletableFuture<StockUpdateResponse> future) throws Exception {
+        assertFalse(future.get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    private static Throwable failure(CompletableFuture<StockUpdateResponse> future) {
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return ex.getCause();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<InventoryLog>> logCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,216 @@
+package com.inventory.engine.service;
+
+import com.inventory.engine.audit.AuditLogWriter;
+import com.inventory.engine.cache.InventoryCache;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.TransferRequest;
+import com.inventory.engine.dto.TransferResponse;
+import com.inventory.engine.entity.InventoryItem;
+import com.inventory.engine.entity.InventoryLog;
+import com.inventory.engine.entity.StockPosition;
+import com.inventory.engine.event.StockChangedEvent;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.ledger.StockLedger;
+import com.inventory.engine.repository.InventoryRepository;
+import com.inventory.engine.repository.StockPositionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransferServiceTest {
+
+    private static final String SKU = "SKU-001";
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final StockPositionRepository positionRepository = mock(StockPositionRepository.class);
+    private final AuditLogWriter auditLogWriter = mock(AuditLogWriter.class);
+    private final StockLedger stockLedger = mock(StockLedger.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransferService service;
+
+    TransferServiceTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        service = new TransferService(inventoryRepository, positionRepository, auditLogWriter,
+                new InventoryCache(100, 60_000), stockLedger, eventPublisher, transactionManager);
+    }
+
+    @Test
+    void locksTheItemRowBeforePositionsAndPositionsInWarehouseOrder() {
+        item(10, 0, "WH-A");
+        positions(position("WH-B", 0), position("WH-C", 5));
+
+        service.transfer(new TransferRequest(SKU, "WH-C", "WH-B", 2));
+
+        InOrder order = inOrder(inventoryRepository, positionRepository);
+        order.verify(inventoryRepository).findBySkuForUpdate(SKU);
+        order.verify(positionRepository).createIfAbsent(SKU, "WH-B");
+        ArgumentCaptor<Collection<String>> locked = warehousesCaptor();
+        order.verify(positionRepository).findAllForUpdate(eq(SKU), locked.capture());
+        assertEquals(List.of("WH-B", "WH-C"), new ArrayList<>(locked.getValue()));
+    }
+
+    @Test
+    void movesHomeStockIntoAPositionWithPairedLogs() {
+        InventoryItem item = item(10, 2, "WH-A");
+        StockPosition target = position("WH-B", 1);
+        positions(target);
+
+        TransferResponse response = service.transfer(new TransferRequest(SKU, "WH-A", "WH-B", 5));
+
+        assertEquals(5, item.getQuantity());
+        assertEquals(6, target.getQuantity());
+        assertEquals(5, response.getFrom().getQuantity());
+        assertEquals(6, response.getTo().getQuantity());
+        List<InventoryLog> logs = recordedLogs();
+        assertEquals(List.of("TRANSFER_OUT", "TRANSFER_IN"), logs.stream().map(InventoryLog::getAction).toList());
+        assertEquals(List.of("WH-A", "WH-B"), logs.stream().map(InventoryLog::getWarehouseId).toList());
+        assertEquals(0, logs.stream().mapToInt(InventoryLog::getQuantityChange).sum());
+        StockChangedEvent event = publishedEvent();
+        assertEquals(-5, event.getQuantityChange());
+        assertEquals(5, event.getQuantity());
+    }
+
+    @Test
+    void reservedHomeUnitsCannotBeTransferred() {
+        InventoryItem item = item(10, 2, "WH-A");
+        positions(position("WH-B", 0));
+
+        assertThrows(InsufficientStockException.class,
+                () -> service.transfer(new TransferRequest(SKU, "WH-A", "WH-B", 9)));
+        assertEquals(10, item.getQuantity());
+        verify(auditLogWriter, never()).record(anyList());
+    }
+
+    @Test
+    void movesStockBetweenPositionsWithoutTouchingHome() {
+        InventoryItem item = item(10, 0, "WH-A");
+        StockPosition source = position("WH-C", 4);
+        StockPosition target = position("WH-B", 1);
+        positions(target, source);
+
+        service.transfer(new TransferRequest(SKU, "WH-C", "WH-B", 3));
+
+        assertEquals(1, source.getQuantity());
+        assertEquals(4, target.getQuantity());
+        assertEquals(10, item.getQuantity());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void positionCannotGoNegative() {
+        item(10, 0, "WH-A");
+        positions(position("WH-C", 2));
+
+        assertThrows(InsufficientStockException.class,
+                () -> service.transfer(new TransferRequest(SKU, "WH-C", "WH-A", 3)));
+    }
+
+    @Test
+    void positionInTheHomeWarehouseIsFoldedIntoHomeStock() {
+        // An import moved the item's home to WH-A, where it already had 6 units.
+        InventoryItem item = item(10, 0, "WH-A");
+        StockPosition stranded = position("WH-A", 6);
+        StockPosition target = position("WH-B", 0);
+        positions(stranded, target);
+
+        TransferResponse response = service.transfer(new TransferRequest(SKU, "WH-A", "WH-B", 12));
+
+        assertEquals(4, item.getQuantity());
+        assertEquals(12, target.getQuantity());
+        assertEquals(4, response.getFrom().getQuantity());
+        verify(positionRepository).delete(stranded);
+        assertEquals(-6, publishedEvent().getQuantityChange());
+    }
+
+    @Test
+    void positionsListingCountsAHomePositionAsHomeStock() {
+        InventoryItem item = item(10, 0, "WH-A");
+        when(inventoryRepository.findBySku(SKU)).thenReturn(Optional.of(item));
+        when(positionRepository.findBySkuOrderByWarehouseId(SKU))
+                .thenReturn(List.of(position("WH-A", 6), position("WH-B", 3)));
+
+        List<InventoryItemSnapshot> positions = service.getPositions(SKU);
+
+        assertEquals(List.of("WH-A", "WH-B"), positions.stream().map(InventoryItemSnapshot::getWarehouseId).toList());
+        assertEquals(16, positions.get(0).getQuantity());
+        assertEquals(3, positions.get(1).getQuantity());
+    }
+
+    @Test
+    void rejectsATransferWithinOneWarehouse() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.transfer(new TransferRequest(SKU, "WH-A", "WH-A", 1)));
+        verify(inventoryRepository, never()).findBySkuForUpdate(anyString());
+    }
+
+    private InventoryItem item(int quantity, int reserved, String home) {
+        InventoryItem item = new InventoryItem(SKU, "Servo", quantity, home);
+        item.setVersion(1L);
+        ReflectionTestUtils.setField(item, "reservedQuantity", reserved);
+        when(inventoryRepository.findBySkuForUpdate(SKU)).thenReturn(Optional.of(item));
+        return item;
+    }
+
+    private void positions(StockPosition... positions) {
+        when(positionRepository.findAllForUpdate(eq(SKU), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> warehouses = invocation.getArgument(1);
+            return List.of(positions).stream()
+                    .filter(position -> warehouses.contains(position.getWarehouseId()))
+                    .toList();
+        });
+    }
+
+    private static StockPosition position(String warehouseId, int quantity) {
+        StockPosition position = new StockPosition();
+        ReflectionTestUtils.setField(position, "sku", SKU);
+        ReflectionTestUtils.setField(position, "warehouseId", warehouseId);
+        ReflectionTestUtils.setField(position, "version", 1L);
+        position.setQuantity(quantity);
+        return position;
+    }
+
+    private List<InventoryLog> recordedLogs() {
+        ArgumentCaptor<List<InventoryLog>> logs = logsCaptor();
+        verify(auditLogWriter).record(logs.capture());
+        return logs.getValue();
+    }
+
+    private StockChangedEvent publishedEvent() {
+        ArgumentCaptor<StockChangedEvent> event = ArgumentCaptor.forClass(StockChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<InventoryLog>> logsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<String>> warehousesCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
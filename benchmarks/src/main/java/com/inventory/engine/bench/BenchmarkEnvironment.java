@@ -0,0 +1,94 @@
+package com.inventory.engine.bench;
+
+import com.inventory.engine.InventoryEngineApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One embedded PostgreSQL server plus one (non-web) application context per
+ * benchmark JVM, shared by every benchmark state in that fork. The schema is
+ * bootstrapped from {@code db/init.sql}, exactly as docker-compose does.
+ */
+final class BenchmarkEnvironment {
+
+    static final int SPREAD_SKU_COUNT = 1024;
+
+    private static BenchmarkEnvironment shared;
+    private static int references;
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkEnvironment() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("shared_buffers", "256MB")
+                .start();
+        execute(Files.readString(Path.of(System.getProperty("bench.schema", "../db/init.sql"))));
+        execute("""
+                INSERT INTO inventory_items (sku, product_name, quantity, warehouse_id)
+                SELECT 'BENCH-' || lpad(g::text, 4, '0'), 'Benchmark Item ' || g, 1000000,
+                       (ARRAY['WH-EAST','WH-WEST','WH-NORTH','WH-SOUTH'])[1 + g %% 4]
+                  FROM generate_series(0, %d) AS g
+                ON CONFLICT (sku) DO NOTHING
+                """.formatted(SPREAD_SKU_COUNT - 1));
+
+        // Passed as command-line arguments so they override application.properties.
+        context = new SpringApplicationBuilder(InventoryEngineApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.datasource.hikari.maximum-pool-size=80",
+                        "--logging.level.root=WARN");
+    }
+
+    static synchronized BenchmarkEnvironment acquire() {
+        if (shared == null) {
+            try {
+                shared = new BenchmarkEnvironment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not bootstrap benchmark schema", e);
+            }
+        }
+        references++;
+        return shared;
+    }
+
+    static synchronized void release() throws IOException {
+        if (--references == 0) {
+            shared.context.close();
+            shared.postgres.close();
+            shared = null;
+        }
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    DataSource dataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.inventory.engine.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmark suite and writes one JMH JSON result file per run to
+ * {@code target/jmh-results/}. {@link StockUpdateBenchmark} and
+ * {@link TransferBenchmark} are run once per contention level; everything else
+ * runs single-threaded, the serialization benchmarks with the GC profiler.
+ *
+ * <p>The optional first argument is a JMH include regex (default {@code .*}).
+ */
+public final class BenchmarkRunner {
+
+    private static final int[] CONTENTION_LEVELS = {1, 4, 16, 64};
+
+    /** Result file prefix of each benchmark run at every contention level. */
+    private static final Map<Class<?>, String> CONTENDED = Map.of(
+            StockUpdateBenchmark.class, "stock-update",
+            TransferBenchmark.class, "transfer");
+
+    private static final List<Class<?>> SINGLE_THREADED = List.of(
+            LogQueryBenchmark.class,
+            SerializationBenchmark.class,
+            LowStockCheckBenchmark.class,
+            WireFormatBenchmark.class);
+
+    /** Also run with the GC profiler, to report allocation per operation. */
+    private static final Set<Class<?>> ALLOCATION_PROFILED = Set.of(
+            SerializationBenchmark.class,
+            WireFormatBenchmark.class);
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Pattern pattern = Pattern.compile(include);
+        Path resultDir = Files.createDirectories(Path.of("target", "jmh-results"));
+
+        for (Map.Entry<Class<?>, String> benchmark : CONTENDED.entrySet()) {
+            if (!pattern.matcher(benchmark.getKey().getName()).find()) {
+                continue;
+            }
+            for (int threads : CONTENTION_LEVELS) {
+                run(new OptionsBuilder()
+                        .include(Pattern.quote(benchmark.getKey().getName()))
+                        .threads(threads), resultDir.resolve(benchmark.getValue() + "-t" + threads + ".json"));
+            }
+        }
+
+        for (Class<?> benchmark : SINGLE_THREADED) {
+            if (pattern.matcher(benchmark.getName()).find()) {
+                ChainedOptionsBuilder options = new OptionsBuilder().include(Pattern.quote(benchmark.getName()));
+                if (ALLOCATION_PROFILED.contains(benchmark)) {
+                    options.addProfiler(GCProfiler.class);
+                }
+                run(options, resultDir.resolve(benchmark.getSimpleName() + ".json"));
+            }
+        }
+    }
+
+    private static void run(ChainedOptionsBuilder options, Path resultFile) throws RunnerException {
+        new Runner(options
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.inventory.engine.bench;
+
+import com.inventory.engine.audit.LogPartitionManager;
+import com.inventory.engine.dto.LogPage;
+import com.inventory.engine.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warehouse/time-range log reads over a log table of 10^4 to 10^7 rows spread
+ * evenly over four warehouses and the last 30 days: the first keyset page, and
+ * a full streamed export of the window. The history is laid out in daily
+ * partitions first, so the short windows show partition pruning at work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogQueryBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int logRows;
+
+    @Param({"PT1H", "P1D"})
+    public String window;
+
+    private InventoryService inventoryService;
+    private Duration windowDuration;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkEnvironment environment = BenchmarkEnvironment.acquire();
+        inventoryService = environment.bean(InventoryService.class);
+        windowDuration = Duration.parse(window);
+
+        environment.execute("TRUNCATE inventory_logs");
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        environment.bean(LogPartitionManager.class).ensurePartitions(today.minusDays(31), today.plusDays(1));
+        environment.execute("""
+                INSERT INTO inventory_logs (warehouse_id, sku, action, quantity_change,
+                                            resulting_quantity, timestamp, details)
+                SELECT (ARRAY['WH-EAST','WH-WEST','WH-NORTH','WH-SOUTH'])[1 + g %% 4],
+                       'BENCH-' || lpad((g %% %d)::text, 4, '0'),
+                       'DEDUCT', -1, 1000, NOW() - (random() * INTERVAL '30 days'),
+                       'Stock updated via API'
+                  FROM generate_series(1, %d) AS g
+                """.formatted(BenchmarkEnvironment.SPREAD_SKU_COUNT, logRows));
+        environment.execute("ANALYZE inventory_logs");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkEnvironment.release();
+    }
+
+    @Benchmark
+    public LogPage firstPage() {
+        Instant end = Instant.now();
+        return inventoryService.queryLogsByWarehouseAndTimeRange(
+                "WH-EAST", end.minus(windowDuration), end, null, 500);
+    }
+
+    @Benchmark
+    public void streamWindow(Blackhole blackhole) {
+        Instant end = Instant.now();
+        inventoryService.streamLogsByWarehouseAndTimeRange(
+                "WH-EAST", end.minus(windowDuration), end, blackhole::consume);
+    }
+}
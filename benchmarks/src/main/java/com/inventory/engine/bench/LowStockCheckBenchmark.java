@@ -0,0 +1,57 @@
+package com.inventory.engine.bench;
+
+import com.inventory.engine.alert.LowStockAlerter;
+import com.inventory.engine.event.StockChangedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the low-stock check that runs after every committed write:
+ * {@code LowStockAlerter.onStockChanged} for an unwatched SKU, and for a
+ * watched SKU whose quantity moves inside its hysteresis band (checked, but no
+ * crossing). The event is built per call, as the write path builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LowStockCheckBenchmark {
+
+    private static final String WATCHED = "BENCH-0000";
+    private static final String UNWATCHED = "BENCH-0001";
+
+    private LowStockAlerter alerter;
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        alerter = BenchmarkEnvironment.acquire().bean(LowStockAlerter.class);
+        // 1,000,000 units on hand against a threshold of 500,000: never crosses.
+        alerter.setThreshold(WATCHED, 500_000);
+        version = 1_000_000;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        alerter.clearThreshold(WATCHED);
+        BenchmarkEnvironment.release();
+    }
+
+    @Benchmark
+    public void watched() {
+        long v = ++version;
+        alerter.onStockChanged(new StockChangedEvent(WATCHED, "WH-EAST", -1,
+                1_000_000 - (int) (v & 1023), 0, v));
+    }
+
+    @Benchmark
+    public void unwatched() {
+        long v = ++version;
+        alerter.onStockChanged(new StockChangedEvent(UNWATCHED, "WH-WEST", -1,
+                1_000_000 - (int) (v & 1023), 0, v));
+    }
+}
@@ -0,0 +1,64 @@
+package com.inventory.engine.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.entity.InventoryItem;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of item listings as served by {@code GET /api/inventory},
+ * using an ObjectMapper configured the way Spring MVC configures its own.
+ * No database is involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private List<InventoryItem> entities;
+    private List<InventoryItemSnapshot> snapshots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Method onCreate = ReflectionUtils.findMethod(InventoryItem.class, "onCreate");
+        ReflectionUtils.makeAccessible(onCreate);
+
+        entities = new ArrayList<>(items);
+        snapshots = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            InventoryItem item = new InventoryItem(
+                    String.format("BENCH-%05d", i), "Benchmark Item " + i, 1000 + i, "WH-EAST");
+            item.setId((long) i);
+            item.setVersion((long) i % 7);
+            ReflectionUtils.invokeMethod(onCreate, item);
+            entities.add(item);
+            snapshots.add(InventoryItemSnapshot.from(item));
+        }
+    }
+
+    @Benchmark
+    public byte[] entityList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] snapshotList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshots);
+    }
+}
@@ -0,0 +1,83 @@
+package com.inventory.engine.bench;
+
+import com.inventory.engine.dto.StockUpdateRequest;
+import com.inventory.engine.dto.StockUpdateResponse;
+import com.inventory.engine.dto.WriteMode;
+import com.inventory.engine.exception.StockConflictException;
+import com.inventory.engine.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code InventoryService.updateStock} under contention. {@code HOT} sends every
+ * thread to one SKU; {@code SPREAD} picks uniformly from
+ * {@link BenchmarkEnvironment#SPREAD_SKU_COUNT} SKUs. Thread counts (1/4/16/64)
+ * are supplied by {@link BenchmarkRunner}. Requests that still conflict after
+ * server-side retries are reported through the {@code conflicts} counter.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockUpdateBenchmark {
+
+    @Param({"OPTIMISTIC", "ATOMIC", "COALESCED", "LEDGER"})
+    public WriteMode mode;
+
+    @Param({"HOT", "SPREAD"})
+    public String distribution;
+
+    private InventoryService inventoryService;
+    private String[] skus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (mode == WriteMode.LEDGER) {
+            // Each parameter combination runs in its own fork, so this reaches a fresh context.
+            System.setProperty("inventory.ledger.enabled", "true");
+            System.setProperty("inventory.ledger.dir", Files.createTempDirectory("bench-ledger").toString());
+        }
+        inventoryService = BenchmarkEnvironment.acquire().bean(InventoryService.class);
+        if ("HOT".equals(distribution)) {
+            skus = new String[] {"SKU-001"};
+        } else {
+            skus = new String[BenchmarkEnvironment.SPREAD_SKU_COUNT];
+            for (int i = 0; i < skus.length; i++) {
+                skus[i] = String.format("BENCH-%04d", i);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkEnvironment.release();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public StockUpdateResponse updateStock(Outcomes outcomes) {
+        String sku = skus.length == 1 ? skus[0] : skus[ThreadLocalRandom.current().nextInt(skus.length)];
+        try {
+            return inventoryService.updateStock(new StockUpdateRequest(sku, 1, mode));
+        } catch (StockConflictException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+}
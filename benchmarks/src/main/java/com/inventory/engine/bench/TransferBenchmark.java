@@ -0,0 +1,84 @@
+package com.inventory.engine.bench;
+
+import com.inventory.engine.dto.TransferRequest;
+import com.inventory.engine.dto.TransferResponse;
+import com.inventory.engine.exception.InsufficientStockException;
+import com.inventory.engine.service.TransferService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TransferService.transfer} under bidirectional load: every call moves
+ * one unit between an item's home warehouse and a second warehouse, in a
+ * random direction, so concurrent transfers lock the same two rows in opposite
+ * request order. {@code HOT} uses one item; {@code SPREAD} picks uniformly from
+ * {@link BenchmarkEnvironment#SPREAD_SKU_COUNT} items. Thread counts
+ * (1/4/16/64) are supplied by {@link BenchmarkRunner}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+
+    private static final String[] WAREHOUSES = {"WH-EAST", "WH-WEST", "WH-NORTH", "WH-SOUTH"};
+
+    @Param({"HOT", "SPREAD"})
+    public String distribution;
+
+    private TransferService transferService;
+    private String[] skus;
+    private String[] homes;
+    private String[] others;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transferService = BenchmarkEnvironment.acquire().bean(TransferService.class);
+        int count = "HOT".equals(distribution) ? 1 : BenchmarkEnvironment.SPREAD_SKU_COUNT;
+        skus = new String[count];
+        homes = new String[count];
+        others = new String[count];
+        for (int i = 0; i < count; i++) {
+            skus[i] = String.format("BENCH-%04d", i);
+            homes[i] = WAREHOUSES[i % 4];
+            others[i] = WAREHOUSES[(i + 1) % 4];
+            // Stock both ends so that neither direction runs dry.
+            transferService.transfer(new TransferRequest(skus[i], homes[i], others[i], 400_000));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkEnvironment.release();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public TransferResponse transfer(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = skus.length == 1 ? 0 : random.nextInt(skus.length);
+        boolean outbound = random.nextBoolean();
+        try {
+            return transferService.transfer(new TransferRequest(skus[i],
+                    outbound ? homes[i] : others[i], outbound ? others[i] : homes[i], 1));
+        } catch (InsufficientStockException e) {
+            outcomes.rejected++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.inventory.engine.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.inventory.engine.config.WireFormatConfig;
+import com.inventory.engine.dto.BatchMode;
+import com.inventory.engine.dto.BatchStockUpdateRequest;
+import com.inventory.engine.dto.InventoryItemSnapshot;
+import com.inventory.engine.dto.ItemStock;
+import com.inventory.engine.dto.StockUpdateRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The negotiated wire formats against each other: encoding an item listing in
+ * its full and {@code view=STOCK} shapes, and decoding single and batched
+ * stock update requests. Mappers are built like the application's, from the
+ * same factories. Payload sizes are printed once per trial; the runner adds
+ * the GC profiler, whose {@code gc.alloc.rate.norm} is the allocation per call.
+ * No database is involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    public enum Format { JSON, CBOR, SMILE }
+
+    private static final int BATCH_LINES = 100;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Format format;
+
+    @Param({"1000"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private List<InventoryItemSnapshot> snapshots;
+    private byte[] update;
+    private byte[] batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper = switch (format) {
+            case JSON -> builder.build();
+            case CBOR -> builder.factory(new CBORFactory()).build();
+            case SMILE -> builder.factory(WireFormatConfig.smileFactory()).build();
+        };
+
+        Instant created = Instant.parse("2026-01-01T00:00:00Z");
+        snapshots = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            snapshots.add(new InventoryItemSnapshot((long) i, String.format("BENCH-%05d", i),
+                    "Benchmark Item " + i, 1000 + i, i % 10, i % 2 == 0 ? "WH-EAST" : "WH-WEST", i % 7,
+                    created, created.plusSeconds(i)));
+        }
+        update = objectMapper.writeValueAsBytes(new StockUpdateRequest("BENCH-00042", -3));
+        List<StockUpdateRequest> lines = new ArrayList<>(BATCH_LINES);
+        for (int i = 0; i < BATCH_LINES; i++) {
+            lines.add(new StockUpdateRequest(String.format("BENCH-%05d", i), i % 2 == 0 ? -1 : 5));
+        }
+        batch = objectMapper.writeValueAsBytes(new BatchStockUpdateRequest(lines, BatchMode.BEST_EFFORT));
+
+        System.out.printf("%s payload bytes: listing=%d stockListing=%d update=%d batch=%d%n", format,
+                encodeListing().length, encodeStockListing().length, update.length, batch.length);
+    }
+
+    @Benchmark
+    public byte[] encodeListing() throws IOException {
+        return objectMapper.writeValueAsBytes(snapshots);
+    }
+
+    /** Includes building the projection, as the controller does per request. */
+    @Benchmark
+    public byte[] encodeStockListing() throws IOException {
+        return objectMapper.writeValueAsBytes(snapshots.stream().map(ItemStock::from).toList());
+    }
+
+    @Benchmark
+    public StockUpdateRequest decodeUpdate() throws IOException {
+        return objectMapper.readValue(update, StockUpdateRequest.class);
+    }
+
+    @Benchmark
+    public BatchStockUpdateRequest decodeBatch() throws IOException {
+        return objectMapper.readValue(batch, BatchStockUpdateRequest.class);
+    }
+}
@@ -8,24 +8,117 @@ CREATE TABLE IF NOT EXISTS inventory_items (
     sku           VARCHAR(50)  NOT NULL UNIQUE,
     product_name  VARCHAR(255) NOT NULL,
     quantity      INTEGER      NOT NULL DEFAULT 0 CHECK (quantity >= 0),
+    reserved_quantity INTEGER  NOT NULL DEFAULT 0 CHECK (reserved_quantity >= 0),
     warehouse_id  VARCHAR(20)  NOT NULL,
+    low_stock_threshold INTEGER CHECK (low_stock_threshold >= 0),
     version       BIGINT       NOT NULL DEFAULT 0,
     created_at    TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
     updated_at    TIMESTAMPTZ  NOT NULL DEFAULT NOW()
 );
 
 -- 2. Inventory Logs table (audit trail for every stock movement)
+--    Range-partitioned by timestamp. The application (LogPartitionManager)
+--    creates daily/monthly partitions ahead of time and detaches or drops
+--    those past the retention window; the default partition only catches
+--    rows that arrive before their partition exists.
 CREATE TABLE IF NOT EXISTS inventory_logs (
-    id                BIGSERIAL    PRIMARY KEY,
+    id                BIGSERIAL,
     warehouse_id      VARCHAR(20)  NOT NULL,
     sku               VARCHAR(50)  NOT NULL,
     action            VARCHAR(20)  NOT NULL,
     quantity_change   INTEGER      NOT NULL,
     resulting_quantity INTEGER,
     timestamp         TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
-    details           TEXT
+    details           TEXT,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE IF NOT EXISTS inventory_logs_default
+    PARTITION OF inventory_logs DEFAULT;
+
+-- 3. Audit outbox (written in the stock transaction, drained into inventory_logs)
+--    Primary key only: keeps the write-path insert as cheap as possible.
+CREATE TABLE IF NOT EXISTS inventory_log_outbox (
+    id                 BIGSERIAL    PRIMARY KEY,
+    warehouse_id       VARCHAR(20)  NOT NULL,
+    sku                VARCHAR(50)  NOT NULL,
+    action             VARCHAR(20)  NOT NULL,
+    quantity_change    INTEGER      NOT NULL,
+    resulting_quantity INTEGER,
+    created_at         TIMESTAMPTZ  NOT NULL,
+    details            TEXT
+);
+
+-- 4. Hourly stock movement rollups (maintained as log rows are written)
+--    One row per (warehouse, hour, SKU); analytics read these instead of
+--    scanning inventory_logs. units_out holds deductions as a positive number.
+CREATE TABLE IF NOT EXISTS stock_movement_rollups (
+    warehouse_id           VARCHAR(20)  NOT NULL,
+    sku                    VARCHAR(50)  NOT NULL,
+    bucket_start           TIMESTAMPTZ  NOT NULL,
+    movement_count         BIGINT       NOT NULL,
+    units_in               BIGINT       NOT NULL,
+    units_out              BIGINT       NOT NULL,
+    net_change             BIGINT       NOT NULL,
+    min_resulting_quantity INTEGER,
+    max_resulting_quantity INTEGER,
+    PRIMARY KEY (warehouse_id, bucket_start, sku)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rollups_bucket
+    ON stock_movement_rollups (bucket_start);
+
+-- 5. Stock reservations (holds counted in inventory_items.reserved_quantity)
+--    Expiry runs from an in-memory timer wheel; the (status, expires_at) index
+--    only serves startup and the sweep for overdue holds of another node.
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id            BIGSERIAL    PRIMARY KEY,
+    sku           VARCHAR(50)  NOT NULL,
+    warehouse_id  VARCHAR(20)  NOT NULL,
+    quantity      INTEGER      NOT NULL CHECK (quantity > 0),
+    status        VARCHAR(20)  NOT NULL,
+    created_at    TIMESTAMPTZ  NOT NULL,
+    expires_at    TIMESTAMPTZ  NOT NULL,
+    resolved_at   TIMESTAMPTZ
 );
 
+CREATE INDEX IF NOT EXISTS idx_reservations_status_expiry
+    ON stock_reservations (status, expires_at);
+
+-- 6. Idempotency keys of stock updates (claimed in the stock transaction)
+--    new_quantity/version are filled in before the claiming transaction
+--    commits; only LEDGER writes, which have no transaction, leave them
+--    NULL while running. Expired rows are purged on expires_at.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key  VARCHAR(100) PRIMARY KEY,
+    sku              VARCHAR(50)  NOT NULL,
+    quantity_change  INTEGER      NOT NULL,
+    new_quantity     INTEGER,
+    version          BIGINT,
+    created_at       TIMESTAMPTZ  NOT NULL,
+    expires_at       TIMESTAMPTZ  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expiry
+    ON idempotency_keys (expires_at);
+
+-- 7. Stock positions: an item's stock outside its home warehouse
+--    (the home warehouse's stock is the inventory_items row). Created empty
+--    on the first transfer in; only transfers change them.
+CREATE TABLE IF NOT EXISTS stock_positions (
+    sku           VARCHAR(50)  NOT NULL,
+    warehouse_id  VARCHAR(20)  NOT NULL,
+    quantity      INTEGER      NOT NULL CHECK (quantity >= 0),
+    version       BIGINT,
+    created_at    TIMESTAMPTZ  NOT NULL,
+    updated_at    TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (sku, warehouse_id)
+);
+
+-- Hibernate allocates log ids 50 at a time so inserts can be JDBC-batched;
+-- the sequence increment must match the entity's allocationSize.
+ALTER SEQUENCE inventory_logs_id_seq INCREMENT BY 50;
+
 -- ============================================================
 -- COMPOSITE INDEX
 -- Accelerates the most common analytical query pattern:
@@ -33,9 +126,10 @@ CREATE TABLE IF NOT EXISTS inventory_logs (
 --
 -- PostgreSQL uses a B-tree on (warehouse_id, timestamp), which
 -- lets the planner do an index-only scan when both columns
--- appear in the WHERE clause.
+-- appear in the WHERE clause. Declared on the partitioned table,
+-- so every partition gets its own (small) copy.
 -- ============================================================
-CREATE INDEX IF NOT EXISTS idx_inventory_logs_warehouse_timestamp
+CREATE INDEX IF NOT EXISTS idx_warehouse_timestamp
     ON inventory_logs (warehouse_id, timestamp);
 
 -- Additional supporting index for SKU-based log lookups
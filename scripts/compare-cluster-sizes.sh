@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Measures write throughput of SKU-partitioned clusters of increasing size.
+#
+# For each size N, starts N backend nodes on consecutive ports of this machine
+# against the running PostgreSQL (docker compose up -d), all with the same
+# static membership, then runs the same open-loop write-only workload on every
+# node at once. Each node draws only the SKUs it owns (ownedSkusOnly), as a
+# client routing by owner would, so no request is forwarded; the summed
+# achieved rate is the cluster's throughput. Nodes share the CPU of this
+# machine, so expect near-linear scaling only when each node has its own cores.
+#
+# Usage: scripts/compare-cluster-sizes.sh [sizes] [ops-per-second-per-node] [seconds]
+set -euo pipefail
+
+SIZES=${1:-"1 2 3"}
+RATE=${2:-2000}
+DURATION=${3:-20}
+WRITE_MODE=${WRITE_MODE:-COALESCED}
+BASE_PORT=${BASE_PORT:-8080}
+JAR=${JAR:-backend/target/distributed-inventory-engine-1.0.0-exec.jar}
+HEAP=${HEAP:-256m}
+
+command -v jq >/dev/null || { echo "jq is required" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "Build first: (cd backend && mvn package)" >&2; exit 1; }
+
+PIDS=()
+stop_nodes() {
+  for pid in "${PIDS[@]}"; do kill "$pid" 2>/dev/null || true; done
+  for pid in "${PIDS[@]}"; do wait "$pid" 2>/dev/null || true; done
+  PIDS=()
+}
+trap stop_nodes EXIT
+
+run() {
+  local size=$1 nodes="" i
+  for ((i = 0; i < size; i++)); do
+    nodes+="${nodes:+,}node-$i=http://localhost:$((BASE_PORT + i))"
+  done
+  for ((i = 0; i < size; i++)); do
+    java -Xmx"$HEAP" -jar "$JAR" --server.port=$((BASE_PORT + i)) \
+        --inventory.cluster.enabled=true --inventory.cluster.node-id="node-$i" \
+        --inventory.cluster.nodes="$nodes" --inventory.cluster.write-mode="$WRITE_MODE" \
+        > "${TMPDIR:-/tmp}/cluster-$size-node-$i.log" 2>&1 &
+    PIDS+=($!)
+  done
+  for ((i = 0; i < size; i++)); do
+    until curl -sf "http://localhost:$((BASE_PORT + i))/api/inventory/cluster/stats" >/dev/null; do
+      kill -0 "${PIDS[$i]}" 2>/dev/null || { echo "node-$i failed to start" >&2; return 1; }
+      sleep 1
+    done
+  done
+
+  local spec="{\"readRatio\":0,\"zipfExponent\":0,\"targetOpsPerSecond\":$RATE,\"durationSeconds\":$DURATION,\"ownedSkusOnly\":true,\"seed\":42}"
+  local results=() loads=()
+  for ((i = 0; i < size; i++)); do
+    results+=("${TMPDIR:-/tmp}/cluster-$size-node-$i.json")
+    curl -sf -X POST "http://localhost:$((BASE_PORT + i))/api/inventory/load-test" \
+        -H 'Content-Type: application/json' -d "$spec" > "${results[$i]}" &
+    loads+=($!)
+  done
+  for pid in "${loads[@]}"; do wait "$pid"; done
+
+  jq -rs --arg size "$size" '
+    "\($size)\t\(map(.totalRequests) | add)\t\(map(.achievedOpsPerSecond) | add | floor)\t"
+    + "\(map(.latency.p50Micros) | max)\t\(map(.latency.p99Micros) | max)\t"
+    + "\(map(.errorCount + .conflictCount) | add)\t\(map(.droppedCount) | add)"' "${results[@]}"
+  stop_nodes
+}
+
+printf 'nodes\tops\tops/s\tp50_us\tp99_us\terrors\tdropped\n'
+for size in $SIZES; do
+  run "$size"
+done
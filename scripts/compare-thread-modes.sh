@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Compares platform and virtual threads on the load simulator.
+#
+# Starts the backend twice against the running PostgreSQL (docker compose up -d),
+# once per thread mode, fires the same simulated burst at each, and prints
+# throughput plus attempt-latency percentiles. Virtual threads need a Java 21
+# runtime and a -Pjava21 build; on older runtimes both runs report PLATFORM.
+#
+# Usage: scripts/compare-thread-modes.sh [requests] [write-mode]
+set -euo pipefail
+
+REQUESTS=${1:-2000}
+WRITE_MODE=${2:-ATOMIC}
+SKU=${SKU:-SKU-001}
+PORT=${PORT:-8080}
+JAR=${JAR:-backend/target/distributed-inventory-engine-1.0.0-exec.jar}
+BASE="http://localhost:${PORT}/api/inventory"
+
+command -v jq >/dev/null || { echo "jq is required" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "Build first: (cd backend && mvn -Pjava21 package)" >&2; exit 1; }
+
+run() {
+  local virtual=$1
+  java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+      > "${TMPDIR:-/tmp}/thread-mode-${virtual}.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+
+  until curl -sf "$BASE/cache/stats" >/dev/null; do
+    kill -0 "$pid" 2>/dev/null || { echo "backend failed to start" >&2; return 1; }
+    sleep 1
+  done
+
+  # Enough stock for the warm-up and the measured burst.
+  curl -sf -X PUT "$BASE/update-stock" -H 'Content-Type: application/json' \
+      -d "{\"sku\":\"$SKU\",\"quantityChange\":$((REQUESTS * 2))}" >/dev/null
+  curl -sf -X POST "$BASE/simulate-load?sku=$SKU&requests=$REQUESTS&mode=$WRITE_MODE" >/dev/null
+
+  curl -sf -X POST "$BASE/simulate-load?sku=$SKU&requests=$REQUESTS&mode=$WRITE_MODE" | jq -r '
+    (.attemptLatenciesMicros | sort) as $l
+    | def pct(p): $l[(($l | length) * p | floor)] // 0;
+    "\(.threading)\t\(.totalRequests)\t\(.successCount)\t\(.durationMs)\t"
+    + "\(if .durationMs > 0 then (.totalRequests * 1000 / .durationMs | floor) else "-" end)\t"
+    + "\(pct(0.5))\t\(pct(0.99))\t\(pct(0.999))"'
+}
+
+printf 'threads\trequests\tsuccess\tms\treq/s\tp50_us\tp99_us\tp999_us\n'
+run false
+run true